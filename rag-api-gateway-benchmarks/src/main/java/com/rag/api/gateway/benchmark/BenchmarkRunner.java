@@ -0,0 +1,34 @@
+package com.rag.api.gateway.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Delegates to the JMH command line, but unless told
+ * otherwise writes machine-readable results to {@code jmh-result.json} and enables the GC
+ * profiler, so every run reports bytes allocated per operation alongside the time. The result
+ * file has the same format as the chat-storage benchmarks, so {@code BenchmarkComparison}
+ * there can diff it against a previous release.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+
+        if (!options.contains("-rf")) {
+            options.addAll(List.of("-rf", "json"));
+        }
+        if (!options.contains("-rff")) {
+            options.addAll(List.of("-rff", "jmh-result.json"));
+        }
+        if (!options.contains("-prof")) {
+            options.addAll(List.of("-prof", "gc"));
+        }
+
+        org.openjdk.jmh.Main.main(options.toArray(String[]::new));
+    }
+}
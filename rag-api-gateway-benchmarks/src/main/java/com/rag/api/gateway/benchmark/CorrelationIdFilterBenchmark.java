@@ -0,0 +1,149 @@
+package com.rag.api.gateway.benchmark;
+
+import com.rag.api.gateway.filter.CorrelationIdFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.i18n.LocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import org.springframework.web.server.session.WebSessionManager;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link CorrelationIdFilter}, against {@link DecoratingCorrelationIdFilter},
+ * the previous implementation that copied every header on each {@code getHeaders()} call.
+ *
+ * The downstream chain reads the request headers {@code headerReads} times, as the gateway's
+ * routing, rate limiting and Netty forwarding filters do. {@link #noFilter()} is the cost of
+ * the mock exchange and the chain alone, to subtract from the other results. Run with
+ * {@code -prof gc} (the default of {@link BenchmarkRunner}) to see bytes allocated per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelationIdFilterBenchmark {
+
+    private static final String CORRELATION_ID = "X-Correlation-Id";
+
+    /** Whether the client already sent a correlation ID. */
+    @Param({"true", "false"})
+    private boolean correlationHeader;
+
+    /** How many times the filters behind this one read the request headers. */
+    @Param({"10"})
+    private int headerReads;
+
+    private WebFilter correlationIdFilter;
+    private WebFilter decoratingFilter;
+    private WebFilterChain chain;
+
+    // Shared like the application's singletons; MockServerWebExchange would build new codecs per request
+    private final WebSessionManager sessionManager = new DefaultWebSessionManager();
+    private final ServerCodecConfigurer codecConfigurer = ServerCodecConfigurer.create();
+    private final LocaleContextResolver localeContextResolver = new AcceptHeaderLocaleContextResolver();
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        // As in the gateway (spring.reactor.context-propagation=auto)
+        Hooks.enableAutomaticContextPropagation();
+
+        correlationIdFilter = new CorrelationIdFilter();
+        decoratingFilter = new DecoratingCorrelationIdFilter();
+        chain = exchange -> {
+            for (int i = 0; i < headerReads; i++) {
+                blackhole.consume(exchange.getRequest().getHeaders().getFirst(CORRELATION_ID));
+            }
+            return Mono.empty();
+        };
+    }
+
+    @Benchmark
+    public ServerWebExchange noFilter() {
+        ServerWebExchange exchange = exchange();
+        chain.filter(exchange).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public ServerWebExchange correlationIdFilter() {
+        ServerWebExchange exchange = exchange();
+        correlationIdFilter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public ServerWebExchange decoratingFilter() {
+        ServerWebExchange exchange = exchange();
+        decoratingFilter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    /** A routed API call with the headers a typical client sends. */
+    private ServerWebExchange exchange() {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/v1/sessions/user/user-42")
+                .header(HttpHeaders.HOST, "localhost:8085")
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .header(HttpHeaders.USER_AGENT, "rag-client/1.0")
+                .header("X-API-KEY", "benchmark-gateway-key");
+        if (correlationHeader) {
+            request.header(CORRELATION_ID, "3f1c2a9e-5b7d-4e8f-9a0b-1c2d3e4f5a6b");
+        }
+        return new DefaultServerWebExchange(request.build(), new MockServerHttpResponse(),
+                sessionManager, codecConfigurer, localeContextResolver);
+    }
+
+    /** The previous filter: a decorator that rebuilds the headers on every {@code getHeaders()} call. */
+    static final class DecoratingCorrelationIdFilter implements WebFilter {
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+            String correlationId = exchange.getRequest().getHeaders().getFirst(CORRELATION_ID);
+            if (correlationId == null) {
+                correlationId = UUID.randomUUID().toString();
+            }
+
+            String finalCorrelationId = correlationId;
+
+            ServerHttpRequest mutatedRequest = new ServerHttpRequestDecorator(exchange.getRequest()) {
+                @Override
+                public HttpHeaders getHeaders() {
+                    HttpHeaders headers = new HttpHeaders();
+                    // addAll, not putAll: putAll shares the read-only value lists, and add() below would throw
+                    headers.addAll(super.getHeaders());
+                    headers.add(CORRELATION_ID, finalCorrelationId);
+                    return headers;
+                }
+            };
+
+            return chain.filter(exchange.mutate().request(mutatedRequest).build());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.rag.api.gateway.benchmark;
+
+import com.rag.api.gateway.ratelimit.LocalRateLimiter;
+import com.rag.api.gateway.ratelimit.RateLimitKey;
+import com.rag.api.gateway.ratelimit.RateLimitTiers;
+import com.rag.api.gateway.ratelimit.TieredRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one rate-limit decision, as {@code RequestRateLimiter} makes it for every routed
+ * request: {@link TieredRateLimiter}, which runs the token-bucket script in Redis per request,
+ * against {@link LocalRateLimiter}, which decides in memory and syncs with Redis every 200 ms
+ * in the background. Both run against an embedded Redis on this host, so the Redis figure is a
+ * lower bound: a networked Redis adds its round trip to every request.
+ *
+ * Requests are spread over {@code keys} clients with a limit high enough that none is
+ * rejected, so the result is the cost of the check rather than of the rejection path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final String ROUTE_ID = "chat-storage";
+
+    /** Distinct clients (rate-limit keys) the requests are spread over. */
+    @Param({"1000"})
+    private int keys;
+
+    private RedisServer redis;
+    private LettuceConnectionFactory connectionFactory;
+    private TieredRateLimiter tieredRateLimiter;
+    private LocalRateLimiter localRateLimiter;
+    private String[] clientKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        int port = freePort();
+        redis = new RedisServer(port);
+        redis.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        ReactiveStringRedisTemplate redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+
+        RateLimitTiers tiers = new RateLimitTiers(new MockEnvironment()
+                .withProperty("app.rate-limit.tiers.standard.replenish-rate", "1000000")
+                .withProperty("app.rate-limit.tiers.standard.burst-capacity", "1000000"));
+
+        // The script and arguments the gateway's Redis auto-configuration uses
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        RedisScript<List<Long>> script = (RedisScript) RedisScript.of(
+                new ClassPathResource("META-INF/scripts/request_rate_limiter.lua"), List.class);
+
+        // No ConfigurationService: every route uses the default config
+        tieredRateLimiter = new TieredRateLimiter(tiers, redisTemplate, script, null, new SimpleMeterRegistry(),
+                Duration.ofSeconds(1), Duration.ofSeconds(5), 100_000);
+        localRateLimiter = new LocalRateLimiter(tiers, redisTemplate, null, new SimpleMeterRegistry(),
+                100_000, true, Duration.ofMillis(200), 500, Duration.ofSeconds(60));
+        localRateLimiter.start();
+
+        clientKeys = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            clientKeys[i] = RateLimitKey.of(RateLimitTiers.DEFAULT_TIER, "key", "client-" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        localRateLimiter.stop();
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @Benchmark
+    public RateLimiter.Response redis() {
+        return tieredRateLimiter.isAllowed(ROUTE_ID, randomClient()).block();
+    }
+
+    @Benchmark
+    public RateLimiter.Response local() {
+        return localRateLimiter.isAllowed(ROUTE_ID, randomClient()).block();
+    }
+
+    private String randomClient() {
+        return clientKeys[ThreadLocalRandom.current().nextInt(clientKeys.length)];
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
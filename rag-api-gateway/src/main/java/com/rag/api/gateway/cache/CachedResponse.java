@@ -0,0 +1,22 @@
+package com.rag.api.gateway.cache;
+
+// One message history page as chat-storage returned it (status 200 with an ETag)
+// ✔ sequence: ResponseCache.sequence() when the request that fetched or last revalidated it was forwarded;
+//   a write to the session that completed after that point makes the entry unusable
+// ✔ validatedAtNanos: when chat-storage last confirmed it; served without asking again until fresh-ttl has passed
+// ✔ lastModified: epoch millis, or -1 for a session without messages
+public record CachedResponse(String sessionId,
+                             byte[] body,
+                             String contentType,
+                             String cacheControl,
+                             String eTag,
+                             long lastModified,
+                             long sequence,
+                             long validatedAtNanos) {
+
+    // The same page, confirmed unchanged by a 304 from chat-storage
+    public CachedResponse revalidated(long sequence, long validatedAtNanos) {
+        return new CachedResponse(sessionId, body, contentType, cacheControl, eTag, lastModified,
+                sequence, validatedAtNanos);
+    }
+}
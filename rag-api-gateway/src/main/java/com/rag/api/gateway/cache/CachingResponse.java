@@ -0,0 +1,190 @@
+package com.rag.api.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Response of a cacheable history request, stored on the exchange under ATTR
+// ✔ Passes everything through until store() or revalidate() arms it for a forwarded request
+// ✔ Armed, a 200 with an ETag is buffered and stored; a 304 to the revalidation serves the cached entry
+// ✔ Either way the client's own If-None-Match / If-Modified-Since decide between the body and a 304
+public class CachingResponse extends ServerHttpResponseDecorator {
+
+    public static final String ATTR = CachingResponse.class.getName();
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCache cache;
+    private final String key;
+    private final String sessionId;
+    // The client's own conditional headers; the forwarded request gets different ones
+    private final HttpHeaders conditionalHeaders = new HttpHeaders();
+
+    // Set before the request is forwarded; read when its response is written
+    private boolean armed;
+    private long sequence;
+    private CachedResponse revalidating;
+
+    public CachingResponse(ServerHttpResponse delegate, ResponseCache cache, String key, String sessionId,
+                           HttpHeaders requestHeaders) {
+        super(delegate);
+        this.cache = cache;
+        this.key = key;
+        this.sessionId = sessionId;
+        copyHeader(requestHeaders, HttpHeaders.IF_NONE_MATCH);
+        copyHeader(requestHeaders, HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    public String key() {
+        return key;
+    }
+
+    // Nothing usable is cached: store the page chat-storage returns
+    public void store(long sequence) {
+        this.armed = true;
+        this.sequence = sequence;
+    }
+
+    // entry is older than fresh-ttl: chat-storage is asked with its ETag and may confirm it with a 304
+    public void revalidate(CachedResponse entry, long sequence) {
+        this.armed = true;
+        this.sequence = sequence;
+        this.revalidating = entry;
+    }
+
+    // Answers from entry: 304 if the client already holds it, otherwise the cached page
+    public Mono<Void> serve(CachedResponse entry, String cacheStatus) {
+        return write(getDelegate(), entry, cacheStatus);
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!armed) {
+            return super.writeWith(body);
+        }
+
+        HttpStatusCode status = getStatusCode();
+        if (revalidating != null && status == HttpStatus.NOT_MODIFIED) {
+            CachedResponse entry = revalidating.revalidated(sequence, System.nanoTime());
+            cache.put(key, entry);
+            cache.recordRevalidation();
+            return Flux.from(body)
+                    .doOnNext(DataBufferUtils::release)
+                    .then(Mono.defer(() -> write(getDelegate(), entry, "REVALIDATED")));
+        }
+
+        if (status == HttpStatus.OK && isStorable(getHeaders())) {
+            return DataBufferUtils.join(body)
+                    .map(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .flatMap(bytes -> {
+                        CachedResponse entry = newEntry(bytes);
+                        cache.put(key, entry);
+                        if (revalidating != null) {
+                            cache.recordUpdate();
+                        }
+                        return write(getDelegate(), entry, "MISS");
+                    });
+        }
+
+        return super.writeWith(body);
+    }
+
+    private CachedResponse newEntry(byte[] body) {
+        HttpHeaders headers = getHeaders();
+        return new CachedResponse(
+                sessionId,
+                body,
+                headers.getFirst(HttpHeaders.CONTENT_TYPE),
+                headers.getCacheControl(),
+                headers.getETag(),
+                headers.getLastModified(),
+                sequence,
+                System.nanoTime());
+    }
+
+    // Pages of one encoding meant for anyone; chat-storage sends no-cache, which asks clients to revalidate
+    // and is honoured here through fresh-ttl
+    private static boolean isStorable(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return headers.getETag() != null
+                && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                && (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, CachedResponse entry, String cacheStatus) {
+        HttpHeaders headers = response.getHeaders();
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.setETag(entry.eTag());
+        if (entry.lastModified() >= 0) {
+            headers.setLastModified(entry.lastModified());
+        }
+        if (entry.cacheControl() != null) {
+            headers.setCacheControl(entry.cacheControl());
+        }
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+        if (isNotModified(entry)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        if (entry.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, entry.contentType());
+        }
+        headers.setContentLength(entry.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(entry.body())));
+    }
+
+    // Same rules as chat-storage: If-None-Match (weak comparison) wins over If-Modified-Since
+    private boolean isNotModified(CachedResponse entry) {
+        List<String> ifNoneMatch;
+        try {
+            ifNoneMatch = conditionalHeaders.getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (!ifNoneMatch.isEmpty()) {
+            String eTag = opaqueTag(entry.eTag());
+            for (String candidate : ifNoneMatch) {
+                if ("*".equals(candidate) || opaqueTag(candidate).equals(eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long ifModifiedSince = conditionalHeaders.getIfModifiedSince();
+        return ifModifiedSince >= 0 && entry.lastModified() >= 0
+                && entry.lastModified() / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private void copyHeader(HttpHeaders requestHeaders, String name) {
+        List<String> values = requestHeaders.get(name);
+        if (values != null) {
+            conditionalHeaders.put(name, List.copyOf(values));
+        }
+    }
+
+    private static String opaqueTag(String eTag) {
+        return StringUtils.startsWithIgnoreCase(eTag, "W/") ? eTag.substring(2) : eTag;
+    }
+}
@@ -0,0 +1,146 @@
+package com.rag.api.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded in-memory cache of message history pages (GET /api/v1/sessions/{id}/messages[/cursor])
+// ✔ Keyed by tenant, path and query; bounded by total body size (max-size) and age (max-age)
+// ✔ An entry younger than fresh-ttl is served without contacting chat-storage; an older one is revalidated
+//   with If-None-Match, and a 304 keeps serving the cached body
+// ✔ Writes through this instance invalidate at once: each completed write stamps its session (or everything,
+//   for batch and per-user writes) with the next sequence number, and an entry fetched before that stamp is dropped.
+//   Writes through another gateway instance are picked up by the revalidation, i.e. within fresh-ttl
+// ✔ Metrics: gateway.response-cache.requests{result=hit|revalidated|updated|miss} and the Caffeine cache.* meters
+@Component
+public class ResponseCache {
+
+    public static final String REQUESTS_METRIC = "gateway.response-cache.requests";
+
+    private static final String CACHE_NAME = "gateway.response-cache";
+
+    // Sessions with a recent write whose stamp is still kept; older stamps fold into invalidatedAllAt
+    private static final int MAX_SESSION_STAMPS = 100_000;
+
+    private final boolean enabled;
+    private final long freshTtlNanos;
+    private final long maxEntryBytes;
+
+    private final Cache<String, CachedResponse> entries;
+    private final Cache<String, Long> sessionStamps;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong invalidatedAllAt = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter revalidations;
+    private final Counter updates;
+    private final Counter misses;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${app.response-cache.enabled:true}") boolean enabled,
+                         @Value("${app.response-cache.fresh-ttl:2s}") Duration freshTtl,
+                         @Value("${app.response-cache.max-age:60s}") Duration maxAge,
+                         @Value("${app.response-cache.max-size:64MB}") DataSize maxSize,
+                         @Value("${app.response-cache.max-entry-size:256KB}") DataSize maxEntrySize) {
+        this.enabled = enabled;
+        this.freshTtlNanos = freshTtl.toNanos();
+        this.maxEntryBytes = maxEntrySize.toBytes();
+
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse entry) -> key.length() + entry.body().length)
+                .expireAfterWrite(maxAge)
+                .recordStats()
+                .build();
+
+        // A stamp outlives every entry it can invalidate: entries are only stored while no newer stamp exists
+        // and expire after max-age too. A stamp evicted for space invalidates everything up to it instead
+        this.sessionStamps = Caffeine.newBuilder()
+                .maximumSize(MAX_SESSION_STAMPS)
+                .expireAfterWrite(maxAge)
+                .evictionListener((String sessionId, Long stamp, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE && stamp != null) {
+                        invalidatedAllAt.accumulateAndGet(stamp, Math::max);
+                    }
+                })
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, CACHE_NAME);
+        this.hits = meterRegistry.counter(REQUESTS_METRIC, "result", "hit");
+        this.revalidations = meterRegistry.counter(REQUESTS_METRIC, "result", "revalidated");
+        this.updates = meterRegistry.counter(REQUESTS_METRIC, "result", "updated");
+        this.misses = meterRegistry.counter(REQUESTS_METRIC, "result", "miss");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Read before a request is forwarded, and stored with the entry it fetches
+    public long sequence() {
+        return sequence.get();
+    }
+
+    // Entry for key that no write has invalidated since it was fetched, fresh or not; null if none
+    public CachedResponse get(String key) {
+        CachedResponse entry = entries.getIfPresent(key);
+        if (entry != null && !isCurrent(entry)) {
+            entries.asMap().remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    public boolean isFresh(CachedResponse entry, long nowNanos) {
+        return nowNanos - entry.validatedAtNanos() < freshTtlNanos;
+    }
+
+    public void put(String key, CachedResponse entry) {
+        if (entry.body().length <= maxEntryBytes && isCurrent(entry)) {
+            entries.put(key, entry);
+        }
+    }
+
+    // After a write to the session has completed downstream
+    public void invalidateSession(String sessionId) {
+        sessionStamps.put(sessionId, sequence.incrementAndGet());
+    }
+
+    // After a write that may touch any session (batch inserts, deleting all sessions of a user)
+    public void invalidateAll() {
+        invalidatedAllAt.accumulateAndGet(sequence.incrementAndGet(), Math::max);
+    }
+
+    private boolean isCurrent(CachedResponse entry) {
+        if (entry.sequence() < invalidatedAllAt.get()) {
+            return false;
+        }
+        Long stamp = sessionStamps.getIfPresent(entry.sessionId());
+        return stamp == null || entry.sequence() >= stamp;
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    public void recordUpdate() {
+        updates.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+}
@@ -1,15 +1,101 @@
 package com.rag.api.gateway.config;
 
+import com.rag.api.gateway.filter.ApiKeyFilter;
+import com.rag.api.gateway.ratelimit.RateLimitKey;
+import com.rag.api.gateway.ratelimit.RateLimitTiers;
+import com.rag.api.gateway.security.ApiKey;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.security.Principal;
+
+// Rate-limit key resolvers, selected per route with RequestRateLimiter's key-resolver: "#{@<bean>}"
+// ✔ apiKeyKeyResolver (default): one bucket per client API key
+// ✔ tenantKeyResolver: one bucket shared by all keys of a tenant
+// ✔ userKeyResolver: one bucket per user within a tenant, for the authenticated principal; X-User-Id is used
+//   only with app.rate-limit.trust-user-id-header, i.e. behind a proxy that authenticates the user and sets it.
+//   Otherwise a caller could send a new value per request for a fresh bucket, so it falls back to the key bucket
+// ✔ routeKeyResolver: one bucket per route, shared by every client of the same tier
+// ✔ ipKeyResolver: one bucket per client address
+// ✔ Every key carries the tier of the caller's API key (RateLimitKey); requests without one (keys not enforced)
+//   are limited by client address in the default tier
 @Configuration
 public class GatewayConfig {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+
+    @Bean
+    @Primary
+    public KeyResolver apiKeyKeyResolver() {
+        return exchange -> {
+            ApiKey apiKey = exchange.getAttribute(ApiKeyFilter.API_KEY_ATTR);
+            return Mono.just(apiKey != null
+                    ? RateLimitKey.of(apiKey.tier(), "key", apiKey.id())
+                    : anonymousKey(exchange));
+        };
+    }
+
+    @Bean
+    public KeyResolver tenantKeyResolver() {
+        return exchange -> {
+            ApiKey apiKey = exchange.getAttribute(ApiKeyFilter.API_KEY_ATTR);
+            return Mono.just(apiKey != null
+                    ? RateLimitKey.of(apiKey.tier(), "tenant", apiKey.tenant())
+                    : anonymousKey(exchange));
+        };
+    }
+
+    @Bean
+    public KeyResolver userKeyResolver(
+            @Value("${app.rate-limit.trust-user-id-header:false}") boolean trustUserIdHeader) {
+        return exchange -> {
+            ApiKey apiKey = exchange.getAttribute(ApiKeyFilter.API_KEY_ATTR);
+            String tier = apiKey != null ? apiKey.tier() : RateLimitTiers.DEFAULT_TIER;
+            String tenant = apiKey != null ? apiKey.tenant() : "";
+
+            return exchange.getPrincipal()
+                    .map(Principal::getName)
+                    .switchIfEmpty(trustUserIdHeader
+                            ? Mono.justOrEmpty(exchange.getRequest().getHeaders().getFirst(USER_ID_HEADER))
+                            : Mono.empty())
+                    .map(user -> RateLimitKey.of(tier, "user", tenant + '/' + user))
+                    .defaultIfEmpty(apiKey != null
+                            ? RateLimitKey.of(tier, "key", apiKey.id())
+                            : anonymousKey(exchange));
+        };
+    }
+
+    @Bean
+    public KeyResolver routeKeyResolver() {
+        return exchange -> {
+            ApiKey apiKey = exchange.getAttribute(ApiKeyFilter.API_KEY_ATTR);
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            return Mono.just(RateLimitKey.of(
+                    apiKey != null ? apiKey.tier() : RateLimitTiers.DEFAULT_TIER, "route", route.getId()));
+        };
+    }
+
     @Bean
     public KeyResolver ipKeyResolver() {
-        return exchange -> Mono.just(
-                exchange.getRequest().getRemoteAddress().getAddress().getHostAddress());
+        return exchange -> {
+            ApiKey apiKey = exchange.getAttribute(ApiKeyFilter.API_KEY_ATTR);
+            return Mono.just(RateLimitKey.of(
+                    apiKey != null ? apiKey.tier() : RateLimitTiers.DEFAULT_TIER, "ip", remoteAddress(exchange)));
+        };
+    }
+
+    private static String anonymousKey(ServerWebExchange exchange) {
+        return RateLimitKey.of(RateLimitTiers.DEFAULT_TIER, "ip", remoteAddress(exchange));
+    }
+
+    private static String remoteAddress(ServerWebExchange exchange) {
+        return exchange.getRequest().getRemoteAddress().getAddress().getHostAddress();
     }
 }
@@ -0,0 +1,20 @@
+package com.rag.api.gateway.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Span export for the gateway's server and route spans
+// ✔ OTLP to a collector when management.otlp.tracing.endpoint is set (Spring Boot auto-configuration)
+// ✔ OTLP JSON lines to the TRACES log file when app.tracing.file-export.enabled=true (runs without a collector)
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.file-export.enabled", havingValue = "true")
+    public SpanExporter fileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
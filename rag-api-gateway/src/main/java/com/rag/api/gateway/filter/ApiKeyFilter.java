@@ -1,6 +1,8 @@
 package com.rag.api.gateway.filter;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.rag.api.gateway.security.ApiKey;
+import com.rag.api.gateway.security.ApiKeyRegistry;
+import com.rag.api.gateway.security.PathPrefixMatcher;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -9,53 +11,51 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Set;
-
 // API Gateway (WebFlux)
-// ✔ Validate external client using X-API-KEY
+// ✔ Validate external client using X-API-KEY against the live keys in ApiKeyRegistry
+// ✔ Expose the matched key (tenant, rate tier) to later filters as the API_KEY_ATTR exchange attribute
 // ✔ Add X-INTERNAL-KEY for downstream services
 @Component
 public class ApiKeyFilter implements GlobalFilter, Ordered {
 
-    @Value("${GATEWAY_API_KEY:}")
-    private String gatewayApiKey;
-
-    @Value("${APP_INTERNAL_SERVICE_KEY}")
-    private String internalServiceKey;
+    public static final String API_KEY_ATTR = ApiKeyFilter.class.getName() + ".apiKey";
 
-    private static final Set<String> EXCLUDED_PREFIXES = Set.of(
+    private static final PathPrefixMatcher EXCLUDED_PATHS = new PathPrefixMatcher(
             "/actuator",
             "/v3/api-docs",
             "/swagger-ui",
             "/swagger-ui.html"
     );
 
+    private final ApiKeyRegistry apiKeyRegistry;
+
+    public ApiKeyFilter(ApiKeyRegistry apiKeyRegistry) {
+        this.apiKeyRegistry = apiKeyRegistry;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
 
-        String path = exchange.getRequest().getURI().getPath();
-
         // Skip API key validation for public endpoints
-        for (String prefix : EXCLUDED_PREFIXES) {
-            if (path.startsWith(prefix)) {
-                return chain.filter(exchange);
-            }
+        if (EXCLUDED_PATHS.matches(exchange.getRequest().getPath().value())) {
+            return chain.filter(exchange);
         }
 
         // Validate external API KEY
-        String providedKey = exchange.getRequest().getHeaders().getFirst("X-API-KEY");
-
-        if (gatewayApiKey != null && !gatewayApiKey.isBlank()) {
-            if (providedKey == null || !providedKey.equals(gatewayApiKey)) {
+        if (apiKeyRegistry.isEnforced()) {
+            ApiKey apiKey = apiKeyRegistry.find(exchange.getRequest().getHeaders().getFirst("X-API-KEY"));
+            if (apiKey == null) {
                 exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
                 return exchange.getResponse().setComplete();
             }
+            exchange.getAttributes().put(API_KEY_ATTR, apiKey);
         }
 
         // ***** ADD INTERNAL KEY TO DOWNSTREAM MICROSERVICE *****
+        String internalKey = apiKeyRegistry.internalKey();
         exchange = exchange.mutate()
                 .request(req -> req.headers(headers ->
-                        headers.add("X-INTERNAL-KEY", internalServiceKey)))
+                        headers.add("X-INTERNAL-KEY", internalKey)))
                 .build();
 
         return chain.filter(exchange);
@@ -65,4 +65,4 @@ public class ApiKeyFilter implements GlobalFilter, Ordered {
     public int getOrder() {
         return -100;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.rag.api.gateway.filter;
 
+import io.micrometer.context.ContextRegistry;
+import org.slf4j.MDC;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
@@ -8,34 +10,63 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
+// Correlation id for every request
+// ✔ Reuses the caller's X-Correlation-Id; for requests without one the headers are copied once per exchange
+//   (the old decorator copied every header on each of the many getHeaders() calls per request)
+// ✔ New ids are version 4 UUIDs drawn from ThreadLocalRandom rather than SecureRandom
+// ✔ The id is written to the Reactor context, and from there to the MDC for every log line of the request
 @Component
 public class CorrelationIdFilter implements WebFilter {
 
-    private static final String CORRELATION_ID = "correlation-id";
+    // Same header chat-storage reads, echoes and puts in its MDC
+    static final String CORRELATION_ID = "X-Correlation-Id";
+
+    static {
+        // With spring.reactor.context-propagation=auto, Reactor restores this MDC entry from the context on every operator
+        ContextRegistry.getInstance().registerThreadLocalAccessor(CORRELATION_ID,
+                () -> MDC.get(CORRELATION_ID),
+                value -> MDC.put(CORRELATION_ID, value),
+                () -> MDC.remove(CORRELATION_ID));
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
 
         String correlationId = exchange.getRequest().getHeaders().getFirst(CORRELATION_ID);
-        if (correlationId == null) {
-            correlationId = UUID.randomUUID().toString();
+
+        if (correlationId == null || correlationId.isBlank()) {
+            correlationId = newCorrelationId();
+            exchange = exchange.mutate().request(withCorrelationId(exchange.getRequest(), correlationId)).build();
         }
 
-        String finalCorrelationId = correlationId;
+        return chain.filter(exchange).contextWrite(Context.of(CORRELATION_ID, correlationId));
+    }
+
+    // Copies the headers once; request.mutate() cannot be used here, as the headers it would
+    // modify are still read-only views of the incoming request's
+    private static ServerHttpRequest withCorrelationId(ServerHttpRequest request, String correlationId) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.addAll(request.getHeaders());
+        copy.set(CORRELATION_ID, correlationId);
+        HttpHeaders headers = HttpHeaders.readOnlyHttpHeaders(copy);
 
-        ServerHttpRequest mutatedRequest = new ServerHttpRequestDecorator(exchange.getRequest()) {
+        return new ServerHttpRequestDecorator(request) {
             @Override
             public HttpHeaders getHeaders() {
-                HttpHeaders headers = new HttpHeaders();
-                headers.putAll(super.getHeaders()); // copy original headers
-                headers.add(CORRELATION_ID, finalCorrelationId); // add correlation id
                 return headers;
             }
         };
+    }
 
-        return chain.filter(exchange.mutate().request(mutatedRequest).build());
+    private static String newCorrelationId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;                            // version 4
+        long leastSigBits = (random.nextLong() & ~0xC000000000000000L) | 0x8000000000000000L;  // IETF variant
+        return new UUID(mostSigBits, leastSigBits).toString();
     }
 }
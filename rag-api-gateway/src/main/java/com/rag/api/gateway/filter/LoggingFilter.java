@@ -1,32 +1,121 @@
 package com.rag.api.gateway.filter;
 
+import io.micrometer.tracing.handler.TracingObservationHandler.TracingContext;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import java.time.Instant;
+import reactor.core.publisher.SignalType;
 
+import java.util.concurrent.ThreadLocalRandom;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+// Access log for routed requests
+// ✔ One structured line per request: route, method, path, status, latency, bytes, correlation id, trace id
+// ✔ Written to the "access" logger, whose async appender never blocks the event loop (logback-spring.xml)
+// ✔ Successful requests can be sampled; failures and slow requests are always logged
 @Component
 public class LoggingFilter implements GlobalFilter, Ordered {
 
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access");
+
+    /** Fraction of successful requests to log, from 0.0 (none) to 1.0 (all). */
+    @Value("${app.access-log.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${app.access-log.slow-threshold-ms:1000}")
+    private long slowThresholdMs;
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        Instant start = Instant.now();
-        String path = exchange.getRequest().getURI().getPath();
-        String method = exchange.getRequest().getMethod().name();
-
-        return chain.filter(exchange).then(Mono.fromRunnable(() -> {
-            long time = java.time.Duration.between(start, Instant.now()).toMillis();
-            int status = exchange.getResponse().getStatusCode().value();
-            System.out.printf("%s %s → %d (%d ms)%n", method, path, status, time);
-        }));
+        if (!ACCESS_LOG.isInfoEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        ByteCountingResponse response = new ByteCountingResponse(exchange.getResponse());
+
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> log(exchange, response, start, signal));
+    }
+
+    private void log(ServerWebExchange exchange, ByteCountingResponse response, long start, SignalType signal) {
+        long latencyMs = (System.nanoTime() - start) / 1_000_000;
+        HttpStatusCode status = response.getStatusCode();
+        int statusCode = status != null ? status.value() : 0;
+
+        boolean alwaysLog = signal != SignalType.ON_COMPLETE || statusCode >= 500 || latencyMs >= slowThresholdMs;
+        if (!alwaysLog && sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        ACCESS_LOG.info("{} {} {} {} {} {} {} {}",
+                kv("route", route != null ? route.getId() : null),
+                kv("method", request.getMethod().name()),
+                kv("path", request.getPath().value()),
+                kv("status", statusCode),
+                kv("latency_ms", latencyMs),
+                kv("bytes", response.bytes),
+                kv("correlation_id", request.getHeaders().getFirst(CorrelationIdFilter.CORRELATION_ID)),
+                kv("trace_id", traceId(exchange)));
+    }
+
+    // Trace of the server span around this request, so a slow line leads straight to its spans
+    private static String traceId(ServerWebExchange exchange) {
+        return ServerRequestObservationContext.findCurrent(exchange.getAttributes())
+                .map(context -> context.<TracingContext>get(TracingContext.class))
+                .map(TracingContext::getSpan)
+                .map(span -> span.context().traceId())
+                .orElse(null);
     }
 
     @Override
     public int getOrder() {
-        return 0;
+        // Outermost global filter, so latency covers the API key check and rate limiter, and the
+        // response is wrapped before NettyWriteResponseFilter writes the downstream body to it
+        return Ordered.HIGHEST_PRECEDENCE;
     }
-}
 
+    /**
+     * Counts response body bytes as they are written. Only the event loop writing the response
+     * updates the count, and it is read after the write completes.
+     */
+    private static final class ByteCountingResponse extends ServerHttpResponseDecorator {
+
+        private long bytes;
+
+        ByteCountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes += buffer.readableByteCount()));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(chunk ->
+                    Flux.from(chunk).doOnNext(buffer -> bytes += buffer.readableByteCount())));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.rag.api.gateway.filter;
+
+import com.rag.api.gateway.cache.CachedResponse;
+import com.rag.api.gateway.cache.CachingResponse;
+import com.rag.api.gateway.cache.ResponseCache;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+// Response cache, second half: answers message history pages from ResponseCache where it can
+// ✔ Fresh entry: served (or 304 to a matching If-None-Match / If-Modified-Since) without contacting chat-storage
+// ✔ Stale entry: forwarded with the entry's ETag as If-None-Match, so an unchanged page costs chat-storage
+//   one index lookup and no body
+// ✔ No entry: forwarded without the client's conditional headers, so the full page comes back to be stored
+// ✔ Runs after the default filters, so cache hits still count against the rate limit
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private final ResponseCache cache;
+
+    public ResponseCacheFilter(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        CachingResponse response = exchange.getAttribute(CachingResponse.ATTR);
+        if (response == null) {
+            return chain.filter(exchange);
+        }
+
+        long sequence = cache.sequence();
+        CachedResponse entry = cache.get(response.key());
+        if (entry != null && cache.isFresh(entry, System.nanoTime())) {
+            cache.recordHit();
+            return response.serve(entry, "HIT");
+        }
+
+        if (entry != null) {
+            response.revalidate(entry, sequence);
+        } else {
+            cache.recordMiss();
+            response.store(sequence);
+        }
+
+        ServerWebExchange forwarded = exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    if (entry != null) {
+                        headers.setIfNoneMatch(entry.eTag());
+                    }
+                }))
+                .build();
+        return chain.filter(forwarded);
+    }
+
+    @Override
+    public int getOrder() {
+        // Default filters such as RequestRateLimiter are ordered 1, 2, ... by their position in the config
+        return 10;
+    }
+}
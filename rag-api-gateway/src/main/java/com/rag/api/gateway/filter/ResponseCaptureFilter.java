@@ -0,0 +1,111 @@
+package com.rag.api.gateway.filter;
+
+import com.rag.api.gateway.cache.CachingResponse;
+import com.rag.api.gateway.cache.ResponseCache;
+import com.rag.api.gateway.security.ApiKey;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+// Response cache, first half: ties requests to ResponseCache before anything is routed
+// ✔ GET of a message history page (/api/v1/sessions/{id}/messages or .../messages/cursor): the response is
+//   wrapped in a CachingResponse; ResponseCacheFilter then serves or forwards it after the rate limiter
+// ✔ Any other write under /api/v1/sessions/{id}: that session's pages are invalidated once the write completes
+// ✔ Writes to /api/v1/messages/** or /api/v1/sessions/user/** can touch any session and invalidate every page
+@Component
+public class ResponseCaptureFilter implements GlobalFilter, Ordered {
+
+    private static final String SESSIONS_PREFIX = "/api/v1/sessions/";
+    private static final String MESSAGES_PREFIX = "/api/v1/messages";
+    private static final String USER_SEGMENT = "user";
+
+    private final ResponseCache cache;
+
+    public ResponseCaptureFilter(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!cache.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        HttpMethod method = request.getMethod();
+        String path = request.getPath().value();
+
+        if (method == HttpMethod.GET) {
+            String sessionId = historySessionId(path);
+            if (sessionId == null) {
+                return chain.filter(exchange);
+            }
+            CachingResponse response = new CachingResponse(exchange.getResponse(), cache,
+                    key(exchange, path), sessionId, request.getHeaders());
+            exchange.getAttributes().put(CachingResponse.ATTR, response);
+            return chain.filter(exchange.mutate().response(response).build());
+        }
+
+        if (method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
+            return chain.filter(exchange);
+        }
+
+        // Invalidated on completion, so a page fetched while the write was in flight is not kept either
+        if (path.startsWith(MESSAGES_PREFIX)) {
+            return chain.filter(exchange).doFinally(signal -> cache.invalidateAll());
+        }
+        String segment = sessionSegment(path);
+        if (USER_SEGMENT.equals(segment)) {
+            return chain.filter(exchange).doFinally(signal -> cache.invalidateAll());
+        }
+        if (segment != null) {
+            // Lower-cased like the stored pages, so every spelling of a UUID shares one stamp
+            String sessionId = segment.toLowerCase(Locale.ROOT);
+            return chain.filter(exchange).doFinally(signal -> cache.invalidateSession(sessionId));
+        }
+        return chain.filter(exchange);
+    }
+
+    // {id} of a message history page path, or null for any other path
+    private static String historySessionId(String path) {
+        String sessionId = sessionSegment(path);
+        if (sessionId == null) {
+            return null;
+        }
+        String rest = path.substring(SESSIONS_PREFIX.length() + sessionId.length());
+        return rest.equals("/messages") || rest.equals("/messages/cursor")
+                ? sessionId.toLowerCase(Locale.ROOT)
+                : null;
+    }
+
+    // {id} of /api/v1/sessions/{id}[/...], or null
+    private static String sessionSegment(String path) {
+        if (!path.startsWith(SESSIONS_PREFIX) || path.length() == SESSIONS_PREFIX.length()) {
+            return null;
+        }
+        int end = path.indexOf('/', SESSIONS_PREFIX.length());
+        return end < 0 ? path.substring(SESSIONS_PREFIX.length()) : path.substring(SESSIONS_PREFIX.length(), end);
+    }
+
+    // Pages are shared within a tenant only
+    private static String key(ServerWebExchange exchange, String path) {
+        ApiKey apiKey = exchange.getAttribute(ApiKeyFilter.API_KEY_ATTR);
+        String query = exchange.getRequest().getURI().getRawQuery();
+        return (apiKey != null ? apiKey.tenant() : "") + ' ' + path + (query != null ? '?' + query : "");
+    }
+
+    @Override
+    public int getOrder() {
+        // After ApiKeyFilter, which sets the tenant, and before NettyWriteResponseFilter, which writes the
+        // downstream body to the response it is given
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+}
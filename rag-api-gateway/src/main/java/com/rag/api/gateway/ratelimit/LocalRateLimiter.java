@@ -0,0 +1,241 @@
+package com.rag.api.gateway.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.route.RouteDefinitionRouteLocator;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// RequestRateLimiter backend that decides every request from in-memory buckets, selected with
+// rate-limiter: "#{@localRateLimiter}"; same per-tier limits as TieredRateLimiter (RateLimitTiers)
+// ✔ No Redis round trip per request: a lock-free token bucket per key (LocalTokenBucket)
+// ✔ With app.rate-limit.local.sync.enabled, every sync.interval the tokens each instance used are added to
+//   shared per-key totals in Redis in batched script calls; what the other instances used is then taken
+//   from the local bucket. Instances can together overshoot a limit by about one interval's worth of traffic
+// ✔ Redis Cluster: a script call may only touch keys of one hash slot, so the totals are spread over
+//   SYNC_SHARDS hash tags and every batch holds keys of a single tag; the batches run concurrently
+// ✔ If a sync fails or takes longer than a few intervals, limits stay per instance until Redis answers again;
+//   the tokens it carried are reported again with the next round
+// ✔ Per route: local-rate-limiter.requested-tokens (tokens one request costs, default 1)
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalRateLimiter.class);
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    private static final Config DEFAULT_CONFIG = new Config();
+
+    // A sync round that has not finished after this many intervals is abandoned
+    private static final int SYNC_TIMEOUT_INTERVALS = 5;
+
+    // Hash tags the per-key totals are spread over (at most this many Redis Cluster slots)
+    static final int SYNC_SHARDS = 16;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Long>> SYNC_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/local_rate_limiter_sync.lua"), List.class);
+
+    private final RateLimitTiers tiers;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final LocalTokenBuckets buckets;
+    private final boolean syncEnabled;
+    private final Duration syncInterval;
+    private final Duration syncTimeout;
+    private final int syncBatchSize;
+    private final String syncTtlMillis;
+
+    private volatile Disposable syncLoop;
+    private volatile boolean syncFailing;
+
+    public LocalRateLimiter(RateLimitTiers tiers,
+                            ReactiveStringRedisTemplate redisTemplate,
+                            ConfigurationService configurationService,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.rate-limit.local.max-buckets:100000}") int maxBuckets,
+                            @Value("${app.rate-limit.local.sync.enabled:true}") boolean syncEnabled,
+                            @Value("${app.rate-limit.local.sync.interval:200ms}") Duration syncInterval,
+                            @Value("${app.rate-limit.local.sync.batch-size:500}") int syncBatchSize,
+                            @Value("${app.rate-limit.local.sync.ttl:60s}") Duration syncTtl) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.tiers = tiers;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.buckets = new LocalTokenBuckets(maxBuckets);
+        this.syncEnabled = syncEnabled;
+        this.syncInterval = syncInterval;
+        this.syncTimeout = syncInterval.multipliedBy(SYNC_TIMEOUT_INTERVALS);
+        this.syncBatchSize = syncBatchSize;
+        this.syncTtlMillis = Long.toString(syncTtl.toMillis());
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        RateLimitTier tier = tiers.forKey(id);
+        int requested = loadConfiguration(routeId).getRequestedTokens();
+
+        LocalTokenBucket bucket = buckets.get(id);
+        long remaining = bucket.tryConsume(tier, requested, System.nanoTime());
+        if (remaining < 0) {
+            meterRegistry.counter(TieredRateLimiter.REJECTED_METRIC,
+                    "route", routeId, "tier", tier.name(), "limiter", "local").increment();
+        } else if (syncEnabled) {
+            bucket.unsynced.addAndGet(requested);
+        }
+        return Mono.just(TieredRateLimiter.response(tier, requested, remaining >= 0, Math.max(remaining, 0)));
+    }
+
+    // One sync round: report and pull totals for every key used since the last round or not yet refilled
+    Mono<Void> sync() {
+        long now = System.nanoTime();
+        List<SyncShard> shards = new ArrayList<>(SYNC_SHARDS);
+        for (int i = 0; i < SYNC_SHARDS; i++) {
+            shards.add(new SyncShard());
+        }
+
+        buckets.forEach((key, bucket) -> {
+            if (bucket.tier != null && (bucket.unsynced.get() > 0 || !bucket.isFull(now))) {
+                SyncShard shard = shards.get(shard(key));
+                shard.keys.add(syncKey(key));
+                shard.synced.add(bucket);
+                shard.deltas.add(bucket.unsynced.getAndSet(0));
+            }
+        });
+
+        List<Mono<Void>> batches = new ArrayList<>();
+        for (SyncShard shard : shards) {
+            for (int from = 0; from < shard.keys.size(); from += syncBatchSize) {
+                int to = Math.min(from + syncBatchSize, shard.keys.size());
+                batches.add(syncBatch(shard.keys.subList(from, to), shard.synced.subList(from, to),
+                        shard.deltas.subList(from, to)));
+            }
+        }
+        return Mono.when(batches);
+    }
+
+    // Redis key of a rate-limit key's shared total; keys with the same hash tag share a Redis Cluster slot
+    static String syncKey(String key) {
+        return "local_rate_limiter.{" + shard(key) + "}." + key + ".tokens_used";
+    }
+
+    private static int shard(String key) {
+        return Math.floorMod(key.hashCode(), SYNC_SHARDS);
+    }
+
+    private Mono<Void> syncBatch(List<String> keys, List<LocalTokenBucket> synced, List<Long> deltas) {
+        List<String> args = new ArrayList<>(deltas.size() + 1);
+        deltas.forEach(delta -> args.add(Long.toString(delta)));
+        args.add(syncTtlMillis);
+
+        return redisTemplate.execute(SYNC_SCRIPT, keys, args)
+                .next()
+                .timeout(syncTimeout)
+                .doOnNext(totals -> {
+                    long now = System.nanoTime();
+                    for (int i = 0; i < totals.size(); i++) {
+                        applyTotal(synced.get(i), totals.get(i), deltas.get(i), now);
+                    }
+                    if (syncFailing) {
+                        syncFailing = false;
+                        log.info("Rate limit sync with Redis resumed");
+                    }
+                })
+                .then()
+                .onErrorResume(error -> {
+                    // Report the tokens again next round. After a timeout Redis may have counted them already,
+                    // which only makes the other instances stricter for a moment
+                    for (int i = 0; i < synced.size(); i++) {
+                        synced.get(i).unsynced.addAndGet(deltas.get(i));
+                    }
+                    if (!syncFailing) {
+                        syncFailing = true;
+                        log.warn("Rate limit sync with Redis failed, limiting per instance: {}", error.toString());
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    // The total grew by our own delta plus what other instances used since our last sync
+    static void applyTotal(LocalTokenBucket bucket, long total, long delta, long now) {
+        long previous = bucket.syncedTotal;
+        bucket.syncedTotal = total;
+
+        // First sync of this key here, or its counter expired: nothing to attribute yet
+        if (previous < 0 || total < previous + delta) {
+            return;
+        }
+
+        long remote = total - previous - delta;
+        if (remote > 0) {
+            bucket.consumeRemote(remote, now);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (syncEnabled) {
+            syncLoop = Flux.interval(syncInterval)
+                    .onBackpressureDrop()
+                    .concatMap(tick -> sync(), 1)
+                    .subscribe();
+        }
+    }
+
+    @Override
+    public void stop() {
+        Disposable loop = syncLoop;
+        if (loop != null) {
+            loop.dispose();
+            syncLoop = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return syncLoop != null;
+    }
+
+    private Config loadConfiguration(String routeId) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            config = getConfig().get(RouteDefinitionRouteLocator.DEFAULT_FILTERS);
+        }
+        return config != null ? config : DEFAULT_CONFIG;
+    }
+
+    // Keys, buckets and deltas of one hash tag, in the same order
+    private static final class SyncShard {
+        final List<String> keys = new ArrayList<>();
+        final List<LocalTokenBucket> synced = new ArrayList<>();
+        final List<Long> deltas = new ArrayList<>();
+    }
+
+    public static class Config {
+
+        private int requestedTokens = 1;
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.rag.api.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free in-memory token bucket, kept as a single "theoretical arrival time" (GCRA)
+// ✔ Each token pushes the time at which the bucket is full again one refill interval (1 s / replenish rate) further;
+//   a request is admitted while that time stays within burstCapacity intervals of now
+// ✔ Same limits as the Redis script (continuous refill, capped at the burst capacity, a new bucket starts full),
+//   updated with one compare-and-set and no allocation
+// ✔ Also carries the bookkeeping for LocalRateLimiter's Redis sync
+final class LocalTokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NEW = Long.MIN_VALUE;
+
+    // Time (System.nanoTime) at which the bucket is full again; NEW if never used
+    private final AtomicLong fullAt = new AtomicLong(NEW);
+
+    // Tokens taken here since the last Redis sync
+    final AtomicLong unsynced = new AtomicLong();
+
+    // Total reported by Redis at the last sync; only touched by the sync loop
+    long syncedTotal = -1;
+
+    volatile RateLimitTier tier;
+
+    // Remaining tokens after taking requested ones, or -1 if there are not enough.
+    // Tier limits are checked when the bucket first sees the tier (or a reloaded one), not on every request
+    long tryConsume(RateLimitTier tier, int requested, long nowNanos) {
+        if (tier != this.tier) {
+            this.tier = tier.requireValid();
+        }
+        long interval = NANOS_PER_SECOND / tier.replenishRate();
+        long window = interval * tier.burstCapacity();
+
+        while (true) {
+            long current = fullAt.get();
+            long base = Math.max(current, nowNanos);
+            long next = base + interval * requested;
+            if (next - nowNanos > window) {
+                return -1;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return (window - (next - nowNanos)) / interval;
+            }
+        }
+    }
+
+    // Takes tokens used elsewhere (other gateway instances). May overdraw the bucket, by at most one burst, so
+    // traffic admitted elsewhere while this bucket was already empty still delays its next admissions
+    void consumeRemote(long tokens, long nowNanos) {
+        RateLimitTier tier = this.tier;
+        long interval = NANOS_PER_SECOND / tier.replenishRate();
+        long limit = nowNanos + 2 * interval * tier.burstCapacity();
+        long charged = interval * Math.min(tokens, 2L * tier.burstCapacity());
+
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.min(Math.max(current, nowNanos) + charged, limit);
+            if (next <= current || fullAt.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    // A full bucket behaves exactly like a missing one, so it can be dropped once nothing is left to sync
+    boolean isFull(long nowNanos) {
+        return fullAt.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,40 @@
+package com.rag.api.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.function.BiConsumer;
+
+// Token buckets kept in this gateway instance, one per rate-limit key
+// ✔ Bounded Caffeine cache: past maxBuckets, the least used keys are dropped in Caffeine's maintenance
+//   (amortized, off the request path) instead of by a scan of every bucket. A dropped bucket starts full
+//   again, like a bucket that has been idle; tokens it had not synced yet are lost
+// ✔ Limits are per instance unless LocalRateLimiter syncs them through Redis
+final class LocalTokenBuckets {
+
+    private final Cache<String, LocalTokenBucket> buckets;
+
+    LocalTokenBuckets(int maxBuckets) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .build();
+    }
+
+    LocalTokenBucket get(String key) {
+        return buckets.get(key, k -> new LocalTokenBucket());
+    }
+
+    // Remaining tokens after taking requested ones, or -1 if there are not enough
+    long tryConsume(String key, RateLimitTier tier, int requested) {
+        return get(key).tryConsume(tier, requested, System.nanoTime());
+    }
+
+    void forEach(BiConsumer<String, LocalTokenBucket> action) {
+        buckets.asMap().forEach(action);
+    }
+
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
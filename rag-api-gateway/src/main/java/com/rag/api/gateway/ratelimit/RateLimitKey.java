@@ -0,0 +1,14 @@
+package com.rag.api.gateway.ratelimit;
+
+// Rate-limit keys produced by the key resolvers in GatewayConfig: "<tier>:<dimension>:<value>"
+// ✔ The tier travels in the key because RateLimiter.isAllowed only receives the route id and the key
+// ✔ e.g. "standard:key:default", "premium:tenant:acme", "standard:ip:10.0.0.7"
+public final class RateLimitKey {
+
+    private RateLimitKey() {
+    }
+
+    public static String of(String tier, String dimension, String value) {
+        return tier + ':' + dimension + ':' + value;
+    }
+}
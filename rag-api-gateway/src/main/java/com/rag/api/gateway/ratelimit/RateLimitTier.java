@@ -0,0 +1,14 @@
+package com.rag.api.gateway.ratelimit;
+
+// One entry of app.rate-limit.tiers: a token bucket refilled at replenishRate tokens/s, holding at most burstCapacity
+public record RateLimitTier(String name, int replenishRate, int burstCapacity) {
+
+    // Limits a token bucket can enforce: at least one token per second and room for one second's worth
+    RateLimitTier requireValid() {
+        if (replenishRate < 1 || burstCapacity < replenishRate) {
+            throw new IllegalArgumentException("Invalid rate limit for tier " + name
+                    + ": replenish-rate must be at least 1 and burst-capacity at least replenish-rate");
+        }
+        return this;
+    }
+}
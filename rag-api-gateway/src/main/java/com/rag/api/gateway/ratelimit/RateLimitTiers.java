@@ -0,0 +1,80 @@
+package com.rag.api.gateway.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Rate limits per tier, bound from app.rate-limit.tiers and re-read on every EnvironmentChangeEvent
+// ✔ A key's tier is the prefix of its rate-limit key (RateLimitKey); unknown tiers get the "standard" limits
+// ✔ "standard" defaults to 10 requests/s with bursts of 20 (the previous gateway-wide limit) when not configured
+@Component
+public class RateLimitTiers {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitTiers.class);
+
+    public static final String DEFAULT_TIER = "standard";
+
+    static final String PROPERTY = "app.rate-limit.tiers";
+
+    private static final RateLimitTier DEFAULT_LIMITS = new RateLimitTier(DEFAULT_TIER, 10, 20);
+
+    private final Environment environment;
+
+    // Replaced as a whole on reload; never modified in place
+    private volatile RateLimitTier[] tiers;
+    private volatile RateLimitTier defaultTier;
+
+    public RateLimitTiers(Environment environment) {
+        this.environment = environment;
+        reload();
+    }
+
+    // Tier named by the key's "<tier>:" prefix, without allocating
+    public RateLimitTier forKey(String key) {
+        for (RateLimitTier tier : tiers) {
+            String name = tier.name();
+            if (key.length() > name.length() && key.charAt(name.length()) == ':' && key.startsWith(name)) {
+                return tier;
+            }
+        }
+        return defaultTier;
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith(PROPERTY))) {
+            reload();
+        }
+    }
+
+    private void reload() {
+        Map<String, RateLimitTier> configured = Binder.get(environment)
+                .bind(PROPERTY, Bindable.mapOf(String.class, RateLimitTier.class))
+                .orElseGet(Map::of);
+
+        List<RateLimitTier> compiled = new ArrayList<>();
+        RateLimitTier standard = DEFAULT_LIMITS;
+        for (Map.Entry<String, RateLimitTier> entry : configured.entrySet()) {
+            RateLimitTier tier = new RateLimitTier(
+                    entry.getKey(), entry.getValue().replenishRate(), entry.getValue().burstCapacity()).requireValid();
+            if (tier.name().equals(DEFAULT_TIER)) {
+                standard = tier;
+            }
+            compiled.add(tier);
+        }
+
+        tiers = compiled.toArray(RateLimitTier[]::new);
+        defaultTier = standard;
+        log.info("Loaded rate limit tiers {}", Arrays.toString(tiers));
+    }
+}
@@ -0,0 +1,158 @@
+package com.rag.api.gateway.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.route.RouteDefinitionRouteLocator;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// RequestRateLimiter backend with per-tier limits (RateLimitTiers), selected with rate-limiter: "#{@tieredRateLimiter}"
+// ✔ Shared token buckets in Redis, using the gateway's own request_rate_limiter.lua script and key layout
+// ✔ If Redis fails or is slower than app.rate-limit.redis-timeout, the request is decided by in-memory buckets
+//   (per gateway instance) instead of being let through; Redis is retried after app.rate-limit.redis-retry-interval
+// ✔ Metrics: gateway.ratelimit.rejected{route,tier,limiter} and gateway.ratelimit.fallback{route}
+// ✔ Per route: tiered-rate-limiter.requested-tokens (tokens one request costs, default 1)
+// ✔ Primary over the auto-configured redisRateLimiter, so RequestRateLimiter uses it when rate-limiter is not set
+@Component
+@Primary
+public class TieredRateLimiter extends AbstractRateLimiter<TieredRateLimiter.Config> {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredRateLimiter.class);
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "tiered-rate-limiter";
+
+    static final String REJECTED_METRIC = "gateway.ratelimit.rejected";
+    static final String FALLBACK_METRIC = "gateway.ratelimit.fallback";
+
+    private static final Config DEFAULT_CONFIG = new Config();
+
+    private final RateLimitTiers tiers;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RedisScript<List<Long>> script;
+    private final LocalTokenBuckets localBuckets;
+    private final MeterRegistry meterRegistry;
+    private final Duration redisTimeout;
+    private final long redisRetryIntervalNanos;
+
+    // While Redis is considered down, requests skip it until this time (System.nanoTime)
+    private volatile boolean redisDown;
+    private volatile long redisRetryAtNanos;
+
+    public TieredRateLimiter(RateLimitTiers tiers,
+                             ReactiveStringRedisTemplate redisTemplate,
+                             @Qualifier(RedisRateLimiter.REDIS_SCRIPT_NAME) RedisScript<List<Long>> script,
+                             ConfigurationService configurationService,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.rate-limit.redis-timeout:100ms}") Duration redisTimeout,
+                             @Value("${app.rate-limit.redis-retry-interval:5s}") Duration redisRetryInterval,
+                             @Value("${app.rate-limit.local.max-buckets:100000}") int maxLocalBuckets) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.tiers = tiers;
+        this.redisTemplate = redisTemplate;
+        this.script = script;
+        this.localBuckets = new LocalTokenBuckets(maxLocalBuckets);
+        this.meterRegistry = meterRegistry;
+        this.redisTimeout = redisTimeout;
+        this.redisRetryIntervalNanos = redisRetryInterval.toNanos();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        RateLimitTier tier = tiers.forKey(id);
+        int requested = loadConfiguration(routeId).getRequestedTokens();
+
+        if (redisDown && System.nanoTime() - redisRetryAtNanos < 0) {
+            return Mono.just(decideLocally(routeId, id, tier, requested));
+        }
+
+        // Same keys and arguments as RedisRateLimiter; the empty "now" makes the script use Redis time
+        List<String> keys = List.of("request_rate_limiter.{" + id + "}.tokens", "request_rate_limiter.{" + id + "}.timestamp");
+        List<String> args = List.of(Integer.toString(tier.replenishRate()), Integer.toString(tier.burstCapacity()),
+                "", Integer.toString(requested));
+
+        return redisTemplate.execute(script, keys, args)
+                .next()
+                .timeout(redisTimeout)
+                .map(result -> {
+                    redisAvailable();
+                    return decided(routeId, tier, requested, result.get(0) == 1L, result.get(1), "redis");
+                })
+                .onErrorResume(error -> {
+                    redisFailed(error);
+                    return Mono.just(decideLocally(routeId, id, tier, requested));
+                });
+    }
+
+    private Response decideLocally(String routeId, String id, RateLimitTier tier, int requested) {
+        meterRegistry.counter(FALLBACK_METRIC, "route", routeId).increment();
+        long remaining = localBuckets.tryConsume(id, tier, requested);
+        return decided(routeId, tier, requested, remaining >= 0, Math.max(remaining, 0), "local");
+    }
+
+    private Response decided(String routeId, RateLimitTier tier, int requested,
+                             boolean allowed, long remaining, String limiter) {
+        if (!allowed) {
+            meterRegistry.counter(REJECTED_METRIC, "route", routeId, "tier", tier.name(), "limiter", limiter).increment();
+        }
+        return response(tier, requested, allowed, remaining);
+    }
+
+    // Same X-RateLimit-* headers as RedisRateLimiter
+    static Response response(RateLimitTier tier, int requested, boolean allowed, long remaining) {
+        return new Response(allowed, Map.of(
+                RedisRateLimiter.REMAINING_HEADER, Long.toString(remaining),
+                RedisRateLimiter.REPLENISH_RATE_HEADER, Integer.toString(tier.replenishRate()),
+                RedisRateLimiter.BURST_CAPACITY_HEADER, Integer.toString(tier.burstCapacity()),
+                RedisRateLimiter.REQUESTED_TOKENS_HEADER, Integer.toString(requested)));
+    }
+
+    private void redisFailed(Throwable error) {
+        redisRetryAtNanos = System.nanoTime() + redisRetryIntervalNanos;
+        if (!redisDown) {
+            redisDown = true;
+            log.warn("Redis rate limiter unavailable, using in-memory buckets: {}", error.toString());
+        }
+    }
+
+    private void redisAvailable() {
+        if (redisDown) {
+            redisDown = false;
+            log.info("Redis rate limiter available again");
+        }
+    }
+
+    private Config loadConfiguration(String routeId) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            config = getConfig().get(RouteDefinitionRouteLocator.DEFAULT_FILTERS);
+        }
+        return config != null ? config : DEFAULT_CONFIG;
+    }
+
+    public static class Config {
+
+        private int requestedTokens = 1;
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
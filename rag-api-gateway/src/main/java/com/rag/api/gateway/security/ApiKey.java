@@ -0,0 +1,6 @@
+package com.rag.api.gateway.security;
+
+// The client key a request authenticated with, without its secret
+// ✔ Stored on the exchange under ApiKeyFilter.API_KEY_ATTR for the filters behind it
+public record ApiKey(String id, String tenant, String tier) {
+}
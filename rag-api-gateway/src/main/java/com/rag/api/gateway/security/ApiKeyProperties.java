@@ -0,0 +1,10 @@
+package com.rag.api.gateway.security;
+
+import java.time.Instant;
+
+// One entry of app.api-keys
+// ✔ key: secret the client sends in X-API-KEY
+// ✔ tenant / tier: who the key belongs to and which rate tier applies to it (default: the id, "standard")
+// ✔ expiresAt: optional; the key stops working after this instant, so a rotated-out key can retire itself
+public record ApiKeyProperties(String id, String key, String tenant, String tier, Instant expiresAt) {
+}
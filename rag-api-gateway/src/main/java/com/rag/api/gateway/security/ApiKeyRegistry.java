@@ -0,0 +1,127 @@
+package com.rag.api.gateway.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Client API keys (X-API-KEY) and the internal key sent downstream (X-INTERNAL-KEY)
+// ✔ Several live keys per tenant, so keys rotate without downtime: add the successor, move the client, drop or expire the old one
+// ✔ Bound from app.api-keys (falls back to GATEWAY_API_KEY) and re-read on every EnvironmentChangeEvent,
+//   i.e. after POST /actuator/refresh pulls new values from the config server
+// ✔ find() compares against every live key in constant time and allocates nothing
+// ✔ With no non-blank key configured, client keys are not checked (same as an unset GATEWAY_API_KEY before)
+@Component
+public class ApiKeyRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiKeyRegistry.class);
+
+    static final String PROPERTY = "app.api-keys";
+    static final String LEGACY_PROPERTY = "GATEWAY_API_KEY";
+    static final String INTERNAL_KEY_PROPERTY = "APP_INTERNAL_SERVICE_KEY";
+
+    private static final String DEFAULT_ID = "default";
+    private static final String DEFAULT_TIER = "standard";
+
+    private final Environment environment;
+
+    // Replaced as a whole on reload; never modified in place
+    private volatile Entry[] entries;
+    private volatile String internalKey;
+
+    public ApiKeyRegistry(Environment environment) {
+        this.environment = environment;
+        reload();
+    }
+
+    // Key whose secret equals providedKey and has not expired, or null
+    public ApiKey find(String providedKey) {
+        if (providedKey == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        ApiKey match = null;
+
+        // Every key is compared, so the time taken does not reveal which one matched
+        for (Entry entry : entries) {
+            if (constantTimeEquals(entry.key(), providedKey) && now < entry.expiresAtMillis()) {
+                match = entry.apiKey();
+            }
+        }
+        return match;
+    }
+
+    public boolean isEnforced() {
+        return entries.length > 0;
+    }
+
+    public String internalKey() {
+        return internalKey;
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        boolean keysChanged = event.getKeys().stream().anyMatch(key -> key.startsWith(PROPERTY)
+                || key.equals(LEGACY_PROPERTY)
+                || key.equals(INTERNAL_KEY_PROPERTY));
+        if (keysChanged) {
+            reload();
+        }
+    }
+
+    private void reload() {
+        List<ApiKeyProperties> keys = Binder.get(environment)
+                .bind(PROPERTY, Bindable.listOf(ApiKeyProperties.class))
+                .orElseGet(this::legacyKey);
+
+        entries = compile(keys);
+        internalKey = environment.getRequiredProperty(INTERNAL_KEY_PROPERTY);
+
+        if (entries.length == 0) {
+            log.warn("No client API keys configured ({} or {}); X-API-KEY is not checked", PROPERTY, LEGACY_PROPERTY);
+        } else {
+            log.info("Loaded client API keys {}", Arrays.stream(entries).map(entry -> entry.apiKey().id()).toList());
+        }
+    }
+
+    private List<ApiKeyProperties> legacyKey() {
+        String key = environment.getProperty(LEGACY_PROPERTY);
+        return key == null ? List.of() : List.of(new ApiKeyProperties(DEFAULT_ID, key, null, null, null));
+    }
+
+    private static Entry[] compile(List<ApiKeyProperties> keys) {
+        return keys.stream()
+                .filter(properties -> properties.key() != null && !properties.key().isBlank())
+                .map(properties -> {
+                    String id = properties.id() != null ? properties.id() : DEFAULT_ID;
+                    String tenant = properties.tenant() != null ? properties.tenant() : id;
+                    String tier = properties.tier() != null ? properties.tier() : DEFAULT_TIER;
+                    long expiresAtMillis = properties.expiresAt() != null
+                            ? properties.expiresAt().toEpochMilli()
+                            : Long.MAX_VALUE;
+                    return new Entry(properties.key(), expiresAtMillis, new ApiKey(id, tenant, tier));
+                })
+                .toArray(Entry[]::new);
+    }
+
+    // Compares every character of expected, whether or not an earlier one differed
+    static boolean constantTimeEquals(String expected, String provided) {
+        int diff = expected.length() ^ provided.length();
+        for (int i = 0; i < expected.length(); i++) {
+            char actual = i < provided.length() ? provided.charAt(i) : 0;
+            diff |= expected.charAt(i) ^ actual;
+        }
+        return diff == 0;
+    }
+
+    private record Entry(String key, long expiresAtMillis, ApiKey apiKey) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.rag.api.gateway.security;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Precompiled set of path prefixes, matched on whole segments
+// ✔ "/actuator" matches "/actuator" and "/actuator/health", not "/actuators"
+// ✔ Prefixes are bucketed by the character after the leading '/', so a lookup checks one small bucket
+// ✔ Nothing is allocated per match
+public final class PathPrefixMatcher {
+
+    private final String[][] buckets = new String[128][];
+
+    public PathPrefixMatcher(String... prefixes) {
+        List<List<String>> grouped = new ArrayList<>();
+        for (int i = 0; i < buckets.length; i++) {
+            grouped.add(new ArrayList<>());
+        }
+
+        for (String prefix : prefixes) {
+            if (prefix.length() < 2 || prefix.charAt(0) != '/' || prefix.charAt(1) >= buckets.length) {
+                throw new IllegalArgumentException("Unsupported path prefix: " + prefix);
+            }
+            grouped.get(prefix.charAt(1)).add(prefix);
+        }
+
+        for (int i = 0; i < buckets.length; i++) {
+            if (!grouped.get(i).isEmpty()) {
+                buckets[i] = grouped.get(i).toArray(String[]::new);
+            }
+        }
+    }
+
+    public boolean matches(String path) {
+        if (path.length() < 2 || path.charAt(1) >= buckets.length) {
+            return false;
+        }
+
+        String[] candidates = buckets[path.charAt(1)];
+        if (candidates == null) {
+            return false;
+        }
+
+        for (String prefix : candidates) {
+            if (path.startsWith(prefix)
+                    && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
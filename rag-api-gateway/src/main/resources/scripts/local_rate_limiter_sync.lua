@@ -0,0 +1,12 @@
+-- Batched sync for LocalRateLimiter: adds each instance's unsynced token count to the shared
+-- per-key total and returns the new totals, from which every instance derives what the others used.
+-- KEYS: per-key total counters; ARGV: tokens to add for each key, then the counters' TTL in milliseconds
+local ttl = tonumber(ARGV[#KEYS + 1])
+local totals = {}
+
+for i, key in ipairs(KEYS) do
+  totals[i] = redis.call('incrby', key, ARGV[i])
+  redis.call('pexpire', key, ttl)
+end
+
+return totals
@@ -0,0 +1,173 @@
+package com.rag.api.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingResponseTest {
+
+    private static final String SESSION = "4b2d1a1e-82cf-4f87-9f1f-9a3d8e6d52a2";
+    private static final String KEY = "tenant-a /api/v1/sessions/" + SESSION + "/messages";
+    private static final long LAST_MODIFIED = 1_731_445_735_000L;
+
+    private ResponseCache cache;
+    private MockServerHttpResponse delegate;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCache(new SimpleMeterRegistry(), true, Duration.ofSeconds(2), Duration.ofSeconds(60),
+                DataSize.ofMegabytes(64), DataSize.ofKilobytes(256));
+        delegate = new MockServerHttpResponse();
+    }
+
+    // -----------------------------------------------------------
+    // serve()
+    // -----------------------------------------------------------
+    @Test
+    void serve_ShouldWriteCachedPage_WhenClientHasNoCopy() {
+        CachingResponse response = new CachingResponse(delegate, cache, KEY, SESSION, new HttpHeaders());
+
+        response.serve(entry("\"3-0\"", "[1,2,3]"), "HIT").block();
+
+        assertEquals(HttpStatus.OK, delegate.getStatusCode());
+        assertEquals("[1,2,3]", delegate.getBodyAsString().block());
+        assertEquals("\"3-0\"", delegate.getHeaders().getETag());
+        assertEquals(LAST_MODIFIED, delegate.getHeaders().getLastModified());
+        assertEquals("HIT", delegate.getHeaders().getFirst(CachingResponse.CACHE_STATUS_HEADER));
+    }
+
+    @Test
+    void serve_ShouldAnswerNotModified_WhenIfNoneMatchMatches() {
+        HttpHeaders request = new HttpHeaders();
+        request.setIfNoneMatch("W/\"3-0\"");
+        CachingResponse response = new CachingResponse(delegate, cache, KEY, SESSION, request);
+
+        response.serve(entry("\"3-0\"", "[1,2,3]"), "HIT").block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, delegate.getStatusCode());
+        assertEquals("", delegate.getBodyAsString().defaultIfEmpty("").block());
+        assertEquals("\"3-0\"", delegate.getHeaders().getETag());
+    }
+
+    @Test
+    void serve_ShouldPreferIfNoneMatch_OverIfModifiedSince() {
+        HttpHeaders request = new HttpHeaders();
+        request.setIfNoneMatch("\"2-0\"");
+        request.setIfModifiedSince(LAST_MODIFIED);
+        CachingResponse response = new CachingResponse(delegate, cache, KEY, SESSION, request);
+
+        response.serve(entry("\"3-0\"", "[1,2,3]"), "HIT").block();
+
+        assertEquals(HttpStatus.OK, delegate.getStatusCode());
+    }
+
+    @Test
+    void serve_ShouldAnswerNotModified_WhenUnchangedSinceIfModifiedSince() {
+        HttpHeaders request = new HttpHeaders();
+        request.setIfModifiedSince(LAST_MODIFIED);
+        CachingResponse response = new CachingResponse(delegate, cache, KEY, SESSION, request);
+
+        response.serve(entry("\"3-0\"", "[1,2,3]"), "HIT").block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, delegate.getStatusCode());
+    }
+
+    // -----------------------------------------------------------
+    // writeWith()
+    // -----------------------------------------------------------
+    @Test
+    void writeWith_ShouldPassThrough_UntilArmed() {
+        CachingResponse response = new CachingResponse(delegate, cache, KEY, SESSION, new HttpHeaders());
+
+        downstream(response, HttpStatus.OK, "\"3-0\"", "[1,2,3]").block();
+
+        assertEquals("[1,2,3]", delegate.getBodyAsString().block());
+        assertNull(cache.get(KEY));
+    }
+
+    @Test
+    void writeWith_ShouldStorePage_WhenArmed() {
+        CachingResponse response = new CachingResponse(delegate, cache, KEY, SESSION, new HttpHeaders());
+        response.store(cache.sequence());
+
+        downstream(response, HttpStatus.OK, "\"3-0\"", "[1,2,3]").block();
+
+        assertEquals("[1,2,3]", delegate.getBodyAsString().block());
+        assertEquals("MISS", delegate.getHeaders().getFirst(CachingResponse.CACHE_STATUS_HEADER));
+        CachedResponse stored = cache.get(KEY);
+        assertNotNull(stored);
+        assertArrayEquals("[1,2,3]".getBytes(StandardCharsets.UTF_8), stored.body());
+        assertEquals("\"3-0\"", stored.eTag());
+    }
+
+    @Test
+    void writeWith_ShouldNotStore_PrivateOrUntaggedPages() {
+        CachingResponse privatePage = new CachingResponse(delegate, cache, KEY, SESSION, new HttpHeaders());
+        privatePage.store(cache.sequence());
+        privatePage.getHeaders().setCacheControl("private");
+        downstream(privatePage, HttpStatus.OK, "\"3-0\"", "[1,2,3]").block();
+
+        CachingResponse untagged = new CachingResponse(new MockServerHttpResponse(), cache, KEY, SESSION, new HttpHeaders());
+        untagged.store(cache.sequence());
+        downstream(untagged, HttpStatus.OK, null, "[1,2,3]").block();
+
+        assertNull(cache.get(KEY));
+    }
+
+    @Test
+    void writeWith_ShouldServeCachedPage_WhenRevalidationAnswersNotModified() {
+        CachedResponse stale = new CachedResponse(SESSION, bytes("[1,2,3]"), "application/json", "no-cache",
+                "\"3-0\"", LAST_MODIFIED, cache.sequence(), System.nanoTime() - Duration.ofMinutes(1).toNanos());
+        cache.put(KEY, stale);
+
+        CachingResponse response = new CachingResponse(delegate, cache, KEY, SESSION, new HttpHeaders());
+        response.revalidate(stale, cache.sequence());
+        downstream(response, HttpStatus.NOT_MODIFIED, "\"3-0\"", null).block();
+
+        assertEquals(HttpStatus.OK, delegate.getStatusCode());
+        assertEquals("[1,2,3]", delegate.getBodyAsString().block());
+        assertEquals("REVALIDATED", delegate.getHeaders().getFirst(CachingResponse.CACHE_STATUS_HEADER));
+        assertTrue(cache.isFresh(cache.get(KEY), System.nanoTime()));
+    }
+
+    // ---------- Helpers ----------
+
+    // Writes a response the way NettyWriteResponseFilter does, body or not
+    private static Mono<Void> downstream(CachingResponse response, HttpStatus status, String eTag, String body) {
+        response.setStatusCode(status);
+        if (eTag != null) {
+            response.getHeaders().setETag(eTag);
+        }
+        response.getHeaders().setLastModified(LAST_MODIFIED);
+        Flux<DataBuffer> buffers = body != null
+                ? Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes(body)))
+                : Flux.empty();
+        return response.writeWith(buffers);
+    }
+
+    private static CachedResponse entry(String eTag, String body) {
+        return new CachedResponse(SESSION, bytes(body), "application/json", "no-cache", eTag, LAST_MODIFIED,
+                0, System.nanoTime());
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,127 @@
+package com.rag.api.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+
+    private static final String SESSION = "4b2d1a1e-82cf-4f87-9f1f-9a3d8e6d52a2";
+    private static final String OTHER_SESSION = "0d6f4c9a-5c1b-4d8e-a2f7-3b9e1c7d5a40";
+
+    private ResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = newCache(Duration.ofSeconds(2), DataSize.ofMegabytes(64), DataSize.ofKilobytes(256));
+    }
+
+    // -----------------------------------------------------------
+    // put() / get() / isFresh()
+    // -----------------------------------------------------------
+    @Test
+    void get_ShouldReturnStoredEntry() {
+        CachedResponse entry = entry(SESSION, 10, cache.sequence(), System.nanoTime());
+        cache.put("t /a", entry);
+
+        assertEquals(entry, cache.get("t /a"));
+        assertNull(cache.get("t /b"));
+    }
+
+    @Test
+    void isFresh_ShouldExpire_AfterFreshTtl() {
+        long now = System.nanoTime();
+        CachedResponse entry = entry(SESSION, 10, cache.sequence(), now);
+
+        assertTrue(cache.isFresh(entry, now + Duration.ofMillis(1999).toNanos()));
+        assertFalse(cache.isFresh(entry, now + Duration.ofSeconds(2).toNanos()));
+    }
+
+    // -----------------------------------------------------------
+    // invalidateSession() / invalidateAll()
+    // -----------------------------------------------------------
+    @Test
+    void invalidateSession_ShouldDropEntriesFetchedBeforeTheWrite() {
+        long before = cache.sequence();
+        cache.put("t /a", entry(SESSION, 10, before, System.nanoTime()));
+        cache.put("t /b", entry(OTHER_SESSION, 10, before, System.nanoTime()));
+
+        cache.invalidateSession(SESSION);
+
+        assertNull(cache.get("t /a"));
+        assertNotNull(cache.get("t /b"));
+    }
+
+    @Test
+    void put_ShouldRejectEntryFetchedBeforeALaterWrite() {
+        // The request was forwarded, then a write to the session completed before its response arrived
+        long forwardedAt = cache.sequence();
+        cache.invalidateSession(SESSION);
+
+        cache.put("t /a", entry(SESSION, 10, forwardedAt, System.nanoTime()));
+        assertNull(cache.get("t /a"));
+
+        cache.put("t /a", entry(SESSION, 10, cache.sequence(), System.nanoTime()));
+        assertNotNull(cache.get("t /a"));
+    }
+
+    @Test
+    void invalidateAll_ShouldDropEveryEntry() {
+        long before = cache.sequence();
+        cache.put("t /a", entry(SESSION, 10, before, System.nanoTime()));
+        cache.put("t /b", entry(OTHER_SESSION, 10, before, System.nanoTime()));
+
+        cache.invalidateAll();
+
+        assertNull(cache.get("t /a"));
+        assertNull(cache.get("t /b"));
+    }
+
+    // -----------------------------------------------------------
+    // Eviction
+    // -----------------------------------------------------------
+    @Test
+    void put_ShouldSkipEntriesAboveMaxEntrySize() {
+        ResponseCache small = newCache(Duration.ofSeconds(2), DataSize.ofMegabytes(1), DataSize.ofBytes(100));
+
+        small.put("t /a", entry(SESSION, 101, small.sequence(), System.nanoTime()));
+        small.put("t /b", entry(SESSION, 100, small.sequence(), System.nanoTime()));
+
+        assertNull(small.get("t /a"));
+        assertNotNull(small.get("t /b"));
+    }
+
+    @Test
+    void put_ShouldEvict_OnceMaxSizeIsExceeded() {
+        ResponseCache small = newCache(Duration.ofSeconds(2), DataSize.ofBytes(1000), DataSize.ofBytes(1000));
+
+        IntStream.range(0, 10).forEach(i ->
+                small.put("t /" + i, entry(SESSION, 300, small.sequence(), System.nanoTime())));
+
+        // Caffeine evicts in its maintenance cycle; at most three 300-byte pages fit in 1000 bytes
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                IntStream.range(0, 10).filter(i -> small.get("t /" + i) != null).count() <= 3);
+    }
+
+    // ---------- Helpers ----------
+
+    private static ResponseCache newCache(Duration freshTtl, DataSize maxSize, DataSize maxEntrySize) {
+        return new ResponseCache(new SimpleMeterRegistry(), true, freshTtl, Duration.ofSeconds(60), maxSize, maxEntrySize);
+    }
+
+    private static CachedResponse entry(String sessionId, int bodyLength, long sequence, long validatedAtNanos) {
+        return new CachedResponse(sessionId, new byte[bodyLength], "application/json", "no-cache",
+                "\"1-0\"", -1, sequence, validatedAtNanos);
+    }
+}
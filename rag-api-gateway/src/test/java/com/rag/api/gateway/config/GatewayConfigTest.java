@@ -0,0 +1,61 @@
+package com.rag.api.gateway.config;
+
+import com.rag.api.gateway.filter.ApiKeyFilter;
+import com.rag.api.gateway.ratelimit.RateLimitKey;
+import com.rag.api.gateway.security.ApiKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GatewayConfigTest {
+
+    private static final ApiKey API_KEY = new ApiKey("key-a", "tenant-a", "standard");
+
+    private final GatewayConfig config = new GatewayConfig();
+
+    // -----------------------------------------------------------
+    // userKeyResolver()
+    // -----------------------------------------------------------
+    @Test
+    void userKeyResolver_ShouldUseKeyBucket_ForUntrustedUserIdHeader() {
+        MockServerWebExchange exchange = exchange("spoofed-user");
+
+        String key = config.userKeyResolver(false).resolve(exchange).block();
+
+        assertEquals(RateLimitKey.of("standard", "key", "key-a"), key);
+    }
+
+    @Test
+    void userKeyResolver_ShouldUseUserIdHeader_WhenTrusted() {
+        MockServerWebExchange exchange = exchange("user-1");
+
+        String key = config.userKeyResolver(true).resolve(exchange).block();
+
+        assertEquals(RateLimitKey.of("standard", "user", "tenant-a/user-1"), key);
+    }
+
+    @Test
+    void userKeyResolver_ShouldPreferPrincipal_OverUserIdHeader() {
+        Principal principal = () -> "user-2";
+        ServerWebExchange exchange = exchange("user-1").mutate().principal(Mono.just(principal)).build();
+
+        String key = config.userKeyResolver(true).resolve(exchange).block();
+
+        assertEquals(RateLimitKey.of("standard", "user", "tenant-a/user-2"), key);
+    }
+
+    // ---------- Helpers ----------
+
+    private static MockServerWebExchange exchange(String userId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/sessions")
+                .header(GatewayConfig.USER_ID_HEADER, userId));
+        exchange.getAttributes().put(ApiKeyFilter.API_KEY_ATTR, API_KEY);
+        return exchange;
+    }
+}
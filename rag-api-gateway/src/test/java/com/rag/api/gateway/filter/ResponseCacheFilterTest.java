@@ -0,0 +1,234 @@
+package com.rag.api.gateway.filter;
+
+import com.rag.api.gateway.cache.CachingResponse;
+import com.rag.api.gateway.cache.ResponseCache;
+import com.rag.api.gateway.security.ApiKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Both halves of the response cache, with a stand-in for chat-storage behind them
+class ResponseCacheFilterTest {
+
+    private static final String SESSION = "4b2d1a1e-82cf-4f87-9f1f-9a3d8e6d52a2";
+    private static final String HISTORY = "/api/v1/sessions/" + SESSION + "/messages?page=0&size=20";
+
+    private final List<HttpHeaders> forwarded = new ArrayList<>();
+
+    // Current page in chat-storage
+    private String eTag = "\"3-0\"";
+    private String body = "[1,2,3]";
+    private String contentEncoding;
+
+    private ResponseCaptureFilter captureFilter;
+    private ResponseCacheFilter cacheFilter;
+
+    @BeforeEach
+    void setUp() {
+        useCache(Duration.ofSeconds(60));
+    }
+
+    // -----------------------------------------------------------
+    // Fresh entries
+    // -----------------------------------------------------------
+    @Test
+    void get_ShouldServeFromCache_AfterFirstMiss() {
+        MockServerWebExchange first = get("tenant-a", HISTORY, new HttpHeaders());
+        MockServerWebExchange second = get("tenant-a", HISTORY, new HttpHeaders());
+
+        assertEquals(1, forwarded.size());
+        assertEquals("MISS", cacheStatus(first));
+        assertEquals("HIT", cacheStatus(second));
+        assertEquals(body, second.getResponse().getBodyAsString().block());
+        assertEquals(eTag, second.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void get_ShouldAnswerNotModified_WhenClientHoldsCachedPage() {
+        get("tenant-a", HISTORY, new HttpHeaders());
+
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(eTag);
+        MockServerWebExchange second = get("tenant-a", HISTORY, conditional);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getResponse().getStatusCode());
+        assertEquals(1, forwarded.size());
+    }
+
+    @Test
+    void get_ShouldForwardWithoutClientConditionals_OnMiss() {
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(eTag);
+        conditional.setIfModifiedSince(0);
+
+        MockServerWebExchange exchange = get("tenant-a", HISTORY, conditional);
+
+        // chat-storage returns the full page to store; the client still gets its 304
+        assertEquals(List.of(), forwarded.get(0).getIfNoneMatch());
+        assertEquals(-1, forwarded.get(0).getIfModifiedSince());
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+    }
+
+    // -----------------------------------------------------------
+    // Revalidation (200 -> 304)
+    // -----------------------------------------------------------
+    @Test
+    void get_ShouldRevalidateStaleEntry_WithItsETag() {
+        useCache(Duration.ZERO);
+        get("tenant-a", HISTORY, new HttpHeaders());
+
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch("\"1-0\"");
+        MockServerWebExchange second = get("tenant-a", HISTORY, conditional);
+
+        assertEquals(2, forwarded.size());
+        assertEquals(List.of(eTag), forwarded.get(1).getIfNoneMatch());
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals("REVALIDATED", cacheStatus(second));
+        assertEquals(body, second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void get_ShouldReplaceStaleEntry_WhenPageChanged() {
+        useCache(Duration.ZERO);
+        get("tenant-a", HISTORY, new HttpHeaders());
+
+        // A streamed reply grew: the page and its tag changed
+        eTag = "\"3-1e\"";
+        body = "[1,2,3,\"partial\"]";
+        MockServerWebExchange second = get("tenant-a", HISTORY, new HttpHeaders());
+        MockServerWebExchange third = get("tenant-a", HISTORY, new HttpHeaders());
+
+        assertEquals(body, second.getResponse().getBodyAsString().block());
+        assertEquals("REVALIDATED", cacheStatus(third));
+        assertEquals(body, third.getResponse().getBodyAsString().block());
+        assertEquals(eTag, third.getResponse().getHeaders().getETag());
+    }
+
+    // -----------------------------------------------------------
+    // Isolation
+    // -----------------------------------------------------------
+    @Test
+    void get_ShouldNotShareEntries_AcrossTenants() {
+        get("tenant-a", HISTORY, new HttpHeaders());
+        MockServerWebExchange other = get("tenant-b", HISTORY, new HttpHeaders());
+        MockServerWebExchange anonymous = get(null, HISTORY, new HttpHeaders());
+
+        assertEquals(3, forwarded.size());
+        assertEquals("MISS", cacheStatus(other));
+        assertEquals("MISS", cacheStatus(anonymous));
+    }
+
+    @Test
+    void get_ShouldNotStore_EncodedPages() {
+        // An encoded body only suits clients that sent the same Accept-Encoding
+        contentEncoding = "gzip";
+        get("tenant-a", HISTORY, new HttpHeaders());
+        MockServerWebExchange second = get("tenant-a", HISTORY, new HttpHeaders());
+
+        assertEquals(2, forwarded.size());
+        assertNull(cacheStatus(second));
+    }
+
+    @Test
+    void get_ShouldPassThrough_OtherPaths() {
+        get("tenant-a", "/api/v1/sessions/" + SESSION, new HttpHeaders());
+        MockServerWebExchange second = get("tenant-a", "/api/v1/sessions/" + SESSION, new HttpHeaders());
+
+        assertEquals(2, forwarded.size());
+        assertNull(cacheStatus(second));
+    }
+
+    // -----------------------------------------------------------
+    // Invalidation
+    // -----------------------------------------------------------
+    @Test
+    void write_ShouldInvalidateSessionPages() {
+        get("tenant-a", HISTORY, new HttpHeaders());
+
+        MockServerWebExchange post = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/v1/sessions/" + SESSION.toUpperCase() + "/messages").build());
+        captureFilter.filter(post, exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.CREATED);
+            return exchange.getResponse().setComplete();
+        }).block();
+
+        MockServerWebExchange after = get("tenant-a", HISTORY, new HttpHeaders());
+        assertEquals(2, forwarded.size());
+        assertEquals("MISS", cacheStatus(after));
+    }
+
+    @Test
+    void write_ShouldInvalidateEveryPage_ForBatchWrites() {
+        get("tenant-a", HISTORY, new HttpHeaders());
+
+        MockServerWebExchange batch = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/messages/batch").build());
+        captureFilter.filter(batch, exchange -> exchange.getResponse().setComplete()).block();
+
+        get("tenant-a", HISTORY, new HttpHeaders());
+        assertEquals(2, forwarded.size());
+    }
+
+    // ---------- Helpers ----------
+
+    private void useCache(Duration freshTtl) {
+        ResponseCache cache = new ResponseCache(new SimpleMeterRegistry(), true, freshTtl, Duration.ofSeconds(60),
+                DataSize.ofMegabytes(64), DataSize.ofKilobytes(256));
+        captureFilter = new ResponseCaptureFilter(cache);
+        cacheFilter = new ResponseCacheFilter(cache);
+    }
+
+    private MockServerWebExchange get(String tenant, String path, HttpHeaders headers) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).headers(headers).build());
+        if (tenant != null) {
+            exchange.getAttributes().put(ApiKeyFilter.API_KEY_ATTR, new ApiKey("key-" + tenant, tenant, "standard"));
+        }
+        captureFilter.filter(exchange, captured -> cacheFilter.filter(captured, this::chatStorage)).block();
+        return exchange;
+    }
+
+    // Answers like chat-storage, and writes like NettyWriteResponseFilter (a body publisher even for a 304)
+    private Mono<Void> chatStorage(ServerWebExchange exchange) {
+        HttpHeaders request = exchange.getRequest().getHeaders();
+        forwarded.add(HttpHeaders.readOnlyHttpHeaders(request));
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setETag(eTag);
+        response.getHeaders().setCacheControl("no-cache");
+        if (request.getIfNoneMatch().contains(eTag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.writeWith(Flux.empty());
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+        if (contentEncoding != null) {
+            response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Flux.just(buffer));
+    }
+
+    private static String cacheStatus(MockServerWebExchange exchange) {
+        return exchange.getResponse().getHeaders().getFirst(CachingResponse.CACHE_STATUS_HEADER);
+    }
+}
@@ -0,0 +1,210 @@
+package com.rag.api.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+import redis.embedded.RedisServer;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Sync of the in-memory buckets through an embedded Redis, as between two gateway instances
+class LocalRateLimiterTest {
+
+    private static final String ROUTE = "chat-storage";
+    private static final String KEY = "standard:key:client";
+
+    private static RedisServer redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate redisTemplate;
+
+    // One token per second, up to 20: nothing refills while a test runs
+    private final RateLimitTiers tiers = new RateLimitTiers(new MockEnvironment()
+            .withProperty("app.rate-limit.tiers.standard.replenish-rate", "1")
+            .withProperty("app.rate-limit.tiers.standard.burst-capacity", "20"));
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port = freePort();
+        redis = new RedisServer(port);
+        redis.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @BeforeEach
+    void flushRedis() {
+        redisTemplate.execute(connection -> connection.serverCommands().flushAll()).blockLast();
+    }
+
+    // -----------------------------------------------------------
+    // sync()
+    // -----------------------------------------------------------
+    @Test
+    void sync_ShouldTakeTokensUsedByOtherInstances() {
+        LocalRateLimiter first = newLimiter(redisTemplate);
+        LocalRateLimiter second = newLimiter(redisTemplate);
+
+        allow(second, 1);
+        second.sync().block();
+        allow(first, 5);
+        first.sync().block();
+        allow(first, 5);
+        first.sync().block();
+
+        // The second instance learns of the first one's 10 tokens (the first 5 went in before its own sync)
+        second.sync().block();
+
+        assertEquals("11", redisTemplate.opsForValue().get(LocalRateLimiter.syncKey(KEY)).block());
+        assertEquals("8", remaining(second.isAllowed(ROUTE, KEY).block()));
+    }
+
+    @Test
+    void sync_ShouldNotChargeOwnTokensTwice() {
+        LocalRateLimiter limiter = newLimiter(redisTemplate);
+
+        allow(limiter, 3);
+        limiter.sync().block();
+        allow(limiter, 3);
+        limiter.sync().block();
+        limiter.sync().block();
+
+        assertEquals("13", remaining(limiter.isAllowed(ROUTE, KEY).block()));
+    }
+
+    @Test
+    void sync_ShouldReportTokensAgain_AfterAFailedRound() {
+        ReactiveStringRedisTemplate failing = mock(ReactiveStringRedisTemplate.class);
+        List<List<String>> sent = new ArrayList<>();
+        when(failing.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.error(new RedisConnectionFailureException("down")))
+                .thenAnswer(invocation -> {
+                    sent.add(invocation.getArgument(2));
+                    return Flux.just(List.of(3L));
+                });
+        LocalRateLimiter limiter = newLimiter(failing);
+
+        allow(limiter, 3);
+        limiter.sync().block();
+        limiter.sync().block();
+
+        // Tokens of the failed round, then the TTL
+        assertEquals(List.of(List.of("3", "60000")), sent);
+    }
+
+    @Test
+    void sync_ShouldSendEachBatch_ToOneHashTag() {
+        ReactiveStringRedisTemplate recording = mock(ReactiveStringRedisTemplate.class);
+        List<List<String>> batches = new ArrayList<>();
+        when(recording.execute(any(RedisScript.class), anyList(), anyList())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(1);
+            batches.add(keys);
+            return Flux.just(keys.stream().map(key -> 1L).toList());
+        });
+        LocalRateLimiter limiter = newLimiter(recording);
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.isAllowed(ROUTE, "standard:key:client-" + i).block();
+        }
+        limiter.sync().block();
+
+        assertTrue(batches.size() <= LocalRateLimiter.SYNC_SHARDS);
+        assertEquals(1_000, batches.stream().mapToInt(List::size).sum());
+        for (List<String> batch : batches) {
+            Set<String> tags = new HashSet<>();
+            batch.forEach(key -> tags.add(key.substring(key.indexOf('{'), key.indexOf('}') + 1)));
+            assertEquals(1, tags.size(), "hash tags in one batch: " + tags);
+        }
+    }
+
+    // -----------------------------------------------------------
+    // applyTotal()
+    // -----------------------------------------------------------
+    @Test
+    void applyTotal_ShouldChargeOnlyWhatOthersAdded() {
+        LocalTokenBucket bucket = usedBucket(4);
+        bucket.syncedTotal = 10;
+
+        // 10 + our 4 + 6 from elsewhere
+        LocalRateLimiter.applyTotal(bucket, 20, 4, 0);
+
+        assertEquals(20, bucket.syncedTotal);
+        assertEquals(9, bucket.tryConsume(bucket.tier, 1, 0));
+    }
+
+    @Test
+    void applyTotal_ShouldChargeNothing_OnFirstSyncOrExpiredCounter() {
+        LocalTokenBucket first = usedBucket(4);
+        LocalRateLimiter.applyTotal(first, 50, 4, 0);
+
+        LocalTokenBucket expired = usedBucket(4);
+        expired.syncedTotal = 100;
+        LocalRateLimiter.applyTotal(expired, 4, 4, 0);
+
+        assertEquals(15, first.tryConsume(first.tier, 1, 0));
+        assertEquals(4, expired.syncedTotal);
+        assertEquals(15, expired.tryConsume(expired.tier, 1, 0));
+    }
+
+    // ---------- Helpers ----------
+
+    // Sync enabled but not started: the tests run each round themselves
+    private LocalRateLimiter newLimiter(ReactiveStringRedisTemplate template) {
+        return new LocalRateLimiter(tiers, template, null, new SimpleMeterRegistry(),
+                1_000, true, Duration.ofMillis(200), 500, Duration.ofSeconds(60));
+    }
+
+    private static void allow(LocalRateLimiter limiter, int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertTrue(limiter.isAllowed(ROUTE, KEY).block().isAllowed());
+        }
+    }
+
+    private static LocalTokenBucket usedBucket(int tokens) {
+        LocalTokenBucket bucket = new LocalTokenBucket();
+        bucket.tryConsume(new RateLimitTier("standard", 1, 20), tokens, 0);
+        return bucket;
+    }
+
+    private static String remaining(RateLimiter.Response response) {
+        return response.getHeaders().get(RedisRateLimiter.REMAINING_HEADER);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.rag.api.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalTokenBucketTest {
+
+    private static final long MILLIS = 1_000_000L;
+    private static final long SECOND = 1_000 * MILLIS;
+
+    // One token every 100 ms, up to 20 (a 2 s window)
+    private static final RateLimitTier TIER = new RateLimitTier("standard", 10, 20);
+
+    private final LocalTokenBucket bucket = new LocalTokenBucket();
+    private final long t0 = 5 * SECOND;
+
+    // -----------------------------------------------------------
+    // tryConsume()
+    // -----------------------------------------------------------
+    @Test
+    void tryConsume_ShouldAdmitBurst_FromNewBucket() {
+        for (int i = 19; i >= 0; i--) {
+            assertEquals(i, bucket.tryConsume(TIER, 1, t0));
+        }
+        assertEquals(-1, bucket.tryConsume(TIER, 1, t0));
+    }
+
+    @Test
+    void tryConsume_ShouldTakeRequestedTokens() {
+        assertEquals(15, bucket.tryConsume(TIER, 5, t0));
+        assertEquals(-1, bucket.tryConsume(TIER, 16, t0));
+        assertEquals(0, bucket.tryConsume(TIER, 15, t0));
+    }
+
+    @Test
+    void tryConsume_ShouldRefillOneTokenPerInterval() {
+        bucket.tryConsume(TIER, 20, t0);
+
+        assertEquals(-1, bucket.tryConsume(TIER, 1, t0 + 99 * MILLIS));
+        assertEquals(0, bucket.tryConsume(TIER, 1, t0 + 100 * MILLIS));
+        assertEquals(-1, bucket.tryConsume(TIER, 1, t0 + 100 * MILLIS));
+        // Three more intervals: three tokens, one of them taken now
+        assertEquals(2, bucket.tryConsume(TIER, 1, t0 + 400 * MILLIS));
+    }
+
+    @Test
+    void tryConsume_ShouldNotRefillPastBurstCapacity() {
+        bucket.tryConsume(TIER, 20, t0);
+
+        assertEquals(19, bucket.tryConsume(TIER, 1, t0 + 60 * SECOND));
+    }
+
+    @Test
+    void tryConsume_ShouldRejectInvalidTier() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bucket.tryConsume(new RateLimitTier("broken", 0, 20), 1, t0));
+        assertThrows(IllegalArgumentException.class,
+                () -> bucket.tryConsume(new RateLimitTier("broken", 10, 5), 1, t0));
+    }
+
+    // -----------------------------------------------------------
+    // isFull()
+    // -----------------------------------------------------------
+    @Test
+    void isFull_ShouldHold_OnceEveryTakenTokenIsRefilled() {
+        assertTrue(bucket.isFull(t0));
+
+        bucket.tryConsume(TIER, 3, t0);
+
+        assertFalse(bucket.isFull(t0 + 299 * MILLIS));
+        assertTrue(bucket.isFull(t0 + 300 * MILLIS));
+    }
+
+    // -----------------------------------------------------------
+    // consumeRemote()
+    // -----------------------------------------------------------
+    @Test
+    void consumeRemote_ShouldTakeTokensUsedElsewhere() {
+        bucket.tryConsume(TIER, 1, t0);
+
+        bucket.consumeRemote(10, t0);
+
+        assertEquals(8, bucket.tryConsume(TIER, 1, t0));
+    }
+
+    @Test
+    void consumeRemote_ShouldOverdrawByAtMostOneBurst() {
+        bucket.tryConsume(TIER, 1, t0);
+
+        bucket.consumeRemote(1_000, t0);
+
+        // Two bursts (4 s) to wait before the bucket is full, and one burst before the next admission
+        assertFalse(bucket.isFull(t0 + 4 * SECOND - 1));
+        assertTrue(bucket.isFull(t0 + 4 * SECOND));
+        assertEquals(-1, bucket.tryConsume(TIER, 1, t0 + 2 * SECOND - 1));
+        assertEquals(0, bucket.tryConsume(TIER, 1, t0 + 2 * SECOND + 100 * MILLIS));
+    }
+}
@@ -0,0 +1,37 @@
+package com.rag.api.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalTokenBucketsTest {
+
+    private static final RateLimitTier TIER = new RateLimitTier("standard", 10, 20);
+
+    @Test
+    void get_ShouldKeepOneBucketPerKey() {
+        LocalTokenBuckets buckets = new LocalTokenBuckets(100);
+
+        assertSame(buckets.get("standard:a"), buckets.get("standard:a"));
+        assertEquals(19, buckets.tryConsume("standard:a", TIER, 1));
+        assertEquals(19, buckets.tryConsume("standard:b", TIER, 1));
+        assertEquals(18, buckets.tryConsume("standard:a", TIER, 1));
+    }
+
+    @Test
+    void get_ShouldStayBounded_ByMaxBuckets() {
+        LocalTokenBuckets buckets = new LocalTokenBuckets(100);
+
+        IntStream.range(0, 10_000).forEach(i -> buckets.tryConsume("standard:" + i, TIER, 1));
+
+        assertTrue(buckets.size() <= 100, "size " + buckets.size());
+        AtomicInteger visited = new AtomicInteger();
+        buckets.forEach((key, bucket) -> visited.incrementAndGet());
+        assertTrue(visited.get() <= 100);
+    }
+}
@@ -0,0 +1,141 @@
+package com.rag.chatstorage.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (e.g. the last release against the current build) and
+ * exits with status 1 if any benchmark got slower, or allocates more per operation, by more
+ * than the threshold.
+ *
+ * <pre>
+ * java -cp benchmarks.jar com.rag.chatstorage.benchmark.BenchmarkComparison \
+ *     baseline.json jmh-result.json [thresholdPercent]
+ * </pre>
+ */
+public final class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    /** Allocation differences below this many bytes per op are noise (TLAB and escape analysis jitter). */
+    private static final double ALLOCATION_TOLERANCE_BYTES = 16.0;
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <candidate.json> [thresholdPercent]");
+            System.exit(2);
+        }
+
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(new File(args[0])));
+        Map<String, JsonNode> candidate = index(objectMapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %s%n", entry.getKey());
+                continue;
+            }
+            JsonNode after = entry.getValue();
+
+            if (!compareScore(entry.getKey(), before, after, threshold)) {
+                regressions++;
+            }
+            if (!compareAllocation(entry.getKey(), before, after, threshold)) {
+                regressions++;
+            }
+        }
+
+        System.out.printf("%d regression(s) above %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean compareScore(String key, JsonNode before, JsonNode after, double threshold) {
+        JsonNode beforeMetric = before.path("primaryMetric");
+        JsonNode afterMetric = after.path("primaryMetric");
+
+        double old = beforeMetric.path("score").asDouble();
+        double current = afterMetric.path("score").asDouble();
+        String unit = afterMetric.path("scoreUnit").asText();
+
+        // Throughput: higher is better; average/sample/single-shot time: lower is better
+        boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+        double change = percentChange(old, current);
+        boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+
+        System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n",
+                regressed ? "REGRESSED" : "ok", key, old, current, unit, change);
+        return !regressed;
+    }
+
+    private static boolean compareAllocation(String key, JsonNode before, JsonNode after, double threshold) {
+        JsonNode oldAlloc = secondaryMetric(before);
+        JsonNode newAlloc = secondaryMetric(after);
+        if (oldAlloc == null || newAlloc == null) {
+            return true;
+        }
+
+        double old = oldAlloc.path("score").asDouble();
+        double current = newAlloc.path("score").asDouble();
+        double change = percentChange(old, current);
+        boolean regressed = current - old > ALLOCATION_TOLERANCE_BYTES && change > threshold;
+
+        System.out.printf("%-10s %s [alloc]: %.0f -> %.0f B/op (%+.1f%%)%n",
+                regressed ? "REGRESSED" : "ok", key, old, current, change);
+        return !regressed;
+    }
+
+    private static JsonNode secondaryMetric(JsonNode result) {
+        var fields = result.path("secondaryMetrics").fields();
+        while (fields.hasNext()) {
+            var field = fields.next();
+            if (field.getKey().endsWith(ALLOCATION_METRIC)) {
+                return field.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static double percentChange(double old, double current) {
+        if (old == 0) {
+            return current == 0 ? 0 : 100;
+        }
+        return (current - old) / old * 100;
+    }
+
+    /**
+     * Keys results by benchmark method, mode and parameter values so the same benchmark matches
+     * across runs regardless of ordering.
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText())
+                    .append(" [").append(result.path("mode").asText()).append(']');
+
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+            if (!params.isEmpty()) {
+                key.append(' ').append(params);
+            }
+            byKey.put(key.toString(), result);
+        }
+        return byKey;
+    }
+}
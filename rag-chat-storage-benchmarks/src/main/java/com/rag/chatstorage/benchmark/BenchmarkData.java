@@ -0,0 +1,116 @@
+package com.rag.chatstorage.benchmark;
+
+import com.rag.chatstorage.dto.MessageRequest;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.entity.Message;
+import com.rag.chatstorage.entity.Session;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Realistic fixtures shared by the benchmarks: a typical chat turn with a RAG context payload.
+ */
+final class BenchmarkData {
+
+    static final String CONTENT = "Can you summarise the key findings of the attached quarterly report "
+            + "and list the three biggest risks mentioned in it?";
+
+    static final String CONTEXT = """
+            {"retrieval":{"query":"quarterly report risks","topK":5,"documents":[\
+            {"id":"doc-1","score":0.91,"source":"reports/q3.pdf","page":4},\
+            {"id":"doc-2","score":0.87,"source":"reports/q3.pdf","page":9},\
+            {"id":"doc-3","score":0.79,"source":"reports/q2.pdf","page":2}]},\
+            "model":"gpt-4o-mini","promptTokens":1843,"completionTokens":212}""";
+
+    private static final String[] WORDS = ("revenue quarter growth margin risk supplier currency exposure forecast "
+            + "guidance churn pipeline backlog headcount capex liquidity covenant debt hedge inflation demand "
+            + "pricing region segment customer contract renewal audit compliance litigation outlook").split(" ");
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Context of an assistant turn with full retrieval results: {@code documents} chunks of
+     * 1 KB with scores and source metadata, cut at random offsets from 8 KB of report text,
+     * so chunks overlap the way top-k results from one report do. The same seed gives the
+     * same payload in every run; different seeds give different chunks and document IDs.
+     */
+    static String largeContext(int documents, long seed) {
+        Random random = new Random(seed);
+        StringBuilder report = new StringBuilder();
+        while (report.length() < 8000) {
+            report.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(10) == 0 ? ". " : " ");
+        }
+
+        StringBuilder json = new StringBuilder("{\"retrieval\":{\"query\":\"quarterly report risks\",\"documents\":[");
+        for (int i = 0; i < documents; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int start = random.nextInt(report.length() - 1000);
+            json.append("{\"id\":\"").append(new UUID(random.nextLong(), random.nextLong()))
+                    .append("\",\"score\":").append(random.nextDouble())
+                    .append(",\"source\":\"reports/q3.pdf\",\"page\":").append(start / 3000 + 1)
+                    .append(",\"text\":\"").append(report, start, start + 1000).append("\"}");
+        }
+        return json.append("]},\"model\":\"gpt-4o-mini\",\"promptTokens\":6120,\"completionTokens\":412}").toString();
+    }
+
+    static Session session() {
+        Session session = new Session();
+        session.setId(UUID.randomUUID());
+        session.setUserId("user-42");
+        session.setTitle("Quarterly report review");
+        session.setFavorite(true);
+        session.setCreatedAt(OffsetDateTime.now().minusDays(3));
+        session.setUpdatedAt(OffsetDateTime.now());
+        return session;
+    }
+
+    static List<Session> sessions(int count) {
+        List<Session> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sessions.add(session());
+        }
+        return sessions;
+    }
+
+    static MessageRequest messageRequest() {
+        MessageRequest request = new MessageRequest();
+        request.setSender("user");
+        request.setContent(CONTENT);
+        request.setContext(CONTEXT);
+        return request;
+    }
+
+    static Message message(Session session) {
+        Message message = new Message();
+        message.setId(UUID.randomUUID());
+        message.setSession(session);
+        message.setSender("assistant");
+        message.setContent(CONTENT);
+        message.setContext(CONTEXT);
+        message.setCreatedAt(OffsetDateTime.now());
+        return message;
+    }
+
+    static List<MessageResponse> messageResponses(int count) {
+        UUID sessionId = UUID.randomUUID();
+        List<MessageResponse> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MessageResponse response = new MessageResponse();
+            response.setId(UUID.randomUUID());
+            response.setSessionId(sessionId);
+            response.setSender(i % 2 == 0 ? "user" : "assistant");
+            response.setContent(CONTENT);
+            response.setContext(CONTEXT);
+            response.setCreatedAt(OffsetDateTime.now());
+            responses.add(response);
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,33 @@
+package com.rag.chatstorage.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Delegates to the JMH command line, but unless told
+ * otherwise writes machine-readable results to {@code jmh-result.json} and enables the GC
+ * profiler, so every run produces a file {@link BenchmarkComparison} can diff against the
+ * previous release (time and bytes allocated per operation).
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+
+        if (!options.contains("-rf")) {
+            options.addAll(List.of("-rf", "json"));
+        }
+        if (!options.contains("-rff")) {
+            options.addAll(List.of("-rff", "jmh-result.json"));
+        }
+        if (!options.contains("-prof")) {
+            options.addAll(List.of("-prof", "gc"));
+        }
+
+        org.openjdk.jmh.Main.main(options.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,85 @@
+package com.rag.chatstorage.benchmark;
+
+import com.rag.chatstorage.filter.CorrelationIdFilter;
+import com.rag.chatstorage.security.ApiKeyFilter;
+import com.rag.chatstorage.security.ApiKeyProperties;
+import com.rag.chatstorage.security.ApiKeyRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of the servlet filters every API call passes through:
+ * {@link CorrelationIdFilter} followed by {@link ApiKeyFilter}. {@link #noFilters()} is the
+ * cost of the mock request/response plumbing alone, to subtract from the other results.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterChainBenchmark {
+
+    private static final String INTERNAL_KEY = "benchmark-internal-key";
+
+    /** Whether the caller (normally the gateway) already sent a correlation ID. */
+    @Param({"true", "false"})
+    private boolean correlationHeader;
+
+    private final HttpServlet servlet = new HttpServlet() {
+    };
+
+    private Filter correlationIdFilter;
+    private Filter apiKeyFilter;
+
+    @Setup
+    public void setUp() {
+        correlationIdFilter = new CorrelationIdFilter();
+        apiKeyFilter = new ApiKeyFilter(new ApiKeyRegistry(List.of(new ApiKeyProperties("gateway", INTERNAL_KEY, null))));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse noFilters() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(servlet).doFilter(request(), response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse correlationAndApiKey() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            new MockFilterChain(servlet, correlationIdFilter, apiKeyFilter).doFilter(request(), response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/sessions/user/user-42");
+        request.addHeader("X-INTERNAL-KEY", INTERNAL_KEY);
+        if (correlationHeader) {
+            request.addHeader("X-Correlation-Id", "3f1c2a9e-5b7d-4e8f-9a0b-1c2d3e4f5a6b");
+        }
+        return request;
+    }
+}
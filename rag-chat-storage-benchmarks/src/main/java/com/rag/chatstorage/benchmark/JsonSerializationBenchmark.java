@@ -0,0 +1,72 @@
+package com.rag.chatstorage.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rag.chatstorage.dto.MessageResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@code Page<MessageResponse>}, the body of
+ * {@code GET /sessions/{sessionId}/messages}, with the same ObjectMapper defaults as Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter messageWriter;
+    private MessageResponse message;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        messageWriter = objectMapper.writerFor(MessageResponse.class);
+        message = BenchmarkData.messageResponses(1).get(0);
+    }
+
+    @Benchmark
+    public byte[] page(MessagePage messagePage) throws Exception {
+        return objectMapper.writeValueAsBytes(messagePage.page);
+    }
+
+    @Benchmark
+    public byte[] singleMessage() throws Exception {
+        return messageWriter.writeValueAsBytes(message);
+    }
+
+    @State(Scope.Benchmark)
+    public static class MessagePage {
+
+        @Param({"20", "200"})
+        private int pageSize;
+
+        private Page<MessageResponse> page;
+
+        @Setup
+        public void setUp() {
+            List<MessageResponse> messages = BenchmarkData.messageResponses(pageSize);
+            page = new PageImpl<>(messages, PageRequest.of(0, pageSize), 10_000);
+        }
+    }
+}
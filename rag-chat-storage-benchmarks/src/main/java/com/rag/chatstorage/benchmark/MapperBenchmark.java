@@ -0,0 +1,89 @@
+package com.rag.chatstorage.benchmark;
+
+import com.rag.chatstorage.dto.MessageRequest;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.SessionResponse;
+import com.rag.chatstorage.entity.Message;
+import com.rag.chatstorage.entity.Session;
+import com.rag.chatstorage.mapper.MessageMapper;
+import com.rag.chatstorage.mapper.SessionMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct conversions done on every request: entity to response, request to entity,
+ * and the session list mapping behind {@code GET /sessions/user/{userId}}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private MessageMapper messageMapper;
+    private SessionMapper sessionMapper;
+
+    private Session session;
+    private Message message;
+    private MessageRequest request;
+
+    @Setup
+    public void setUp() {
+        messageMapper = Mappers.getMapper(MessageMapper.class);
+        sessionMapper = Mappers.getMapper(SessionMapper.class);
+
+        session = BenchmarkData.session();
+        message = BenchmarkData.message(session);
+        request = BenchmarkData.messageRequest();
+    }
+
+    @Benchmark
+    public MessageResponse messageToResponse() {
+        return messageMapper.toResponse(message);
+    }
+
+    @Benchmark
+    public Message messageRequestToEntity() {
+        return messageMapper.toEntity(request, session);
+    }
+
+    @Benchmark
+    public SessionResponse sessionToResponse() {
+        return sessionMapper.toResponse(session);
+    }
+
+    @Benchmark
+    public List<SessionResponse> sessionListToResponse(SessionList list) {
+        return sessionMapper.toResponseList(list.sessions);
+    }
+
+    /** Kept separate so only the list benchmark is repeated per size. */
+    @State(Scope.Benchmark)
+    public static class SessionList {
+
+        @Param({"20", "200"})
+        private int sessionCount;
+
+        private List<Session> sessions;
+
+        @Setup
+        public void setUp() {
+            sessions = BenchmarkData.sessions(sessionCount);
+        }
+    }
+}
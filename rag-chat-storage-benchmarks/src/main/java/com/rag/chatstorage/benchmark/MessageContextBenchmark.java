@@ -0,0 +1,192 @@
+package com.rag.chatstorage.benchmark;
+
+import com.rag.chatstorage.RagChatStorageApplication;
+import com.rag.chatstorage.dto.BatchMessageItem;
+import com.rag.chatstorage.dto.BatchMessageRequest;
+import com.rag.chatstorage.dto.CreateSessionRequest;
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageRequest;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.service.MessageService;
+import com.rag.chatstorage.service.SessionService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage size and latency of messages carrying large RAG contexts in the {@code jsonb}
+ * column, and of searching them by document ID, with the GIN index on {@code context}
+ * ({@code gin}) and without it ({@code none}, every row's context is read and matched).
+ *
+ * Each trial prints the average stored size of a context and the on-disk size of
+ * {@code chat_messages} and of the index after seeding, next to the latencies JMH reports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageContextBenchmark {
+
+    private static final int SEEDED_MESSAGES = 5000;
+    private static final int PAGE_SIZE = 20;
+
+    /** Retrieved chunks of about 1 KB each per context, i.e. roughly this many KB of JSON. */
+    private static final int CONTEXT_DOCUMENTS = 20;
+
+    /** Owner of both sessions; searches are scoped to this user's sessions. */
+    private static final String USER_ID = "user-42";
+
+    @Param({"gin", "none"})
+    private String contextIndex;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+
+    private MessageService messageService;
+    private MessageRequest request;
+
+    /** Seeded session the read benchmark pages through; never written to during measurement. */
+    private UUID sessionId;
+
+    /** Separate session for {@link #addMessage()} so its inserts don't grow the read fixture. */
+    private UUID writeSessionId;
+
+    /** Matches the one seeded message that retrieved a given document. */
+    private String docIdFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(RagChatStorageApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.cloud.config.enabled=false",
+                        "eureka.client.enabled=false",
+                        "APP_INTERNAL_SERVICE_KEY=benchmark",
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+                        "spring.jpa.hibernate.ddl-auto=validate",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.flyway.baseline-on-migrate=true",
+                        "spring.flyway.postgresql.transactional-lock=false",
+                        "spring.autoconfigure.exclude="
+                                + "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration")
+                .run();
+
+        SessionService sessionService = context.getBean(SessionService.class);
+        messageService = context.getBean(MessageService.class);
+
+        request = new MessageRequest();
+        request.setSender("assistant");
+        request.setContent(BenchmarkData.CONTENT);
+        request.setContext(BenchmarkData.largeContext(CONTEXT_DOCUMENTS, SEEDED_MESSAGES));
+
+        // Every seeded message retrieved its own documents; search for one in the middle
+        String searched = BenchmarkData.largeContext(CONTEXT_DOCUMENTS, SEEDED_MESSAGES / 2);
+        int idStart = searched.indexOf("\"id\":\"") + 6;
+        docIdFilter = "$.retrieval.documents[*].id == \"" + searched.substring(idStart, idStart + 36) + "\"";
+
+        sessionId = createSession(sessionService);
+        writeSessionId = createSession(sessionService);
+        if ("none".equals(contextIndex)) {
+            context.getBean(JdbcTemplate.class).execute("drop index idx_chat_messages_context");
+        }
+        seedMessages();
+        printStorage(request.getContext().length());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public CursorPageResponse<MessageResponse> readSlice() {
+        return messageService.getMessagesBySessionIdAfter(sessionId, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPageResponse<MessageResponse> searchByDocId() {
+        return messageService.searchMessages(docIdFilter, USER_ID, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public MessageResponse addMessage() {
+        return messageService.addMessage(writeSessionId, request);
+    }
+
+    private static UUID createSession(SessionService sessionService) {
+        CreateSessionRequest request = new CreateSessionRequest();
+        request.setUserId(USER_ID);
+        request.setTitle("Quarterly report review");
+        return sessionService.createSession(request).getId();
+    }
+
+    private void seedMessages() {
+        List<BatchMessageItem> batch = new ArrayList<>();
+        for (int i = 0; i < SEEDED_MESSAGES; i++) {
+            BatchMessageItem item = new BatchMessageItem();
+            item.setSessionId(sessionId);
+            item.setSender("assistant");
+            item.setContent(BenchmarkData.CONTENT);
+            item.setContext(BenchmarkData.largeContext(CONTEXT_DOCUMENTS, i));
+            batch.add(item);
+
+            if (batch.size() == BatchMessageRequest.MAX_BATCH_SIZE) {
+                messageService.addMessages(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            messageService.addMessages(batch);
+        }
+    }
+
+    private void printStorage(int contextLength) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("vacuum analyze chat_messages");
+
+        Map<String, Object> stats = jdbcTemplate.queryForMap("""
+                select avg(pg_column_size(context))::int as context_bytes,
+                       (select sum(pg_total_relation_size(relid)) from pg_partition_tree('chat_messages')) as table_bytes,
+                       (select coalesce(sum(pg_relation_size(relid)), 0) from pg_partition_tree(to_regclass('idx_chat_messages_context'))) as index_bytes
+                from chat_messages
+                """);
+        System.out.printf("%n[%s] context: %d chars as JSON, %s bytes stored on average; chat_messages: %s bytes for %d messages, "
+                        + "%s bytes of them in the context index%n",
+                contextIndex, contextLength, stats.get("context_bytes"), stats.get("table_bytes"), SEEDED_MESSAGES,
+                stats.get("index_bytes"));
+    }
+}
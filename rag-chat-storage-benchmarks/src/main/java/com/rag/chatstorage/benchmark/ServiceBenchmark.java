@@ -0,0 +1,154 @@
+package com.rag.chatstorage.benchmark;
+
+import com.rag.chatstorage.RagChatStorageApplication;
+import com.rag.chatstorage.dto.BatchMessageItem;
+import com.rag.chatstorage.dto.BatchMessageRequest;
+import com.rag.chatstorage.dto.CreateSessionRequest;
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.SessionResponse;
+import com.rag.chatstorage.service.MessageService;
+import com.rag.chatstorage.service.SessionService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service layer against a real Postgres (embedded, started once per fork) with the same
+ * Flyway schema, Hibernate batching and session cache settings as the deployed service.
+ * Covers the write path and the three read paths the UI hits most.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int SEEDED_MESSAGES = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+
+    private SessionService sessionService;
+    private MessageService messageService;
+
+    /** Seeded session the read benchmarks page through; never written to during measurement. */
+    private UUID sessionId;
+
+    /** Separate session for {@link #addMessage()} so its inserts don't grow the read fixture. */
+    private UUID writeSessionId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(RagChatStorageApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.cloud.config.enabled=false",
+                        "eureka.client.enabled=false",
+                        "APP_INTERNAL_SERVICE_KEY=benchmark",
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+                        "spring.jpa.hibernate.ddl-auto=validate",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.flyway.baseline-on-migrate=true",
+                        "spring.flyway.postgresql.transactional-lock=false",
+                        "spring.cache.type=caffeine",
+                        "spring.cache.cache-names=sessions",
+                        "spring.cache.caffeine.spec=maximumSize=10000,expireAfterWrite=10m",
+                        "spring.autoconfigure.exclude="
+                                + "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration")
+                .run();
+
+        sessionService = context.getBean(SessionService.class);
+        messageService = context.getBean(MessageService.class);
+
+        sessionId = createSession();
+        writeSessionId = createSession();
+
+        seedMessages();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public MessageResponse addMessage() {
+        return messageService.addMessage(writeSessionId, BenchmarkData.messageRequest());
+    }
+
+    @Benchmark
+    public CursorPageResponse<MessageResponse> firstMessageSlice() {
+        return messageService.getMessagesBySessionIdAfter(sessionId, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<MessageResponse> messagePage() {
+        return messageService.getMessagesBySessionId(sessionId, 10, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public SessionResponse cachedSessionById() {
+        return sessionService.getSessionById(sessionId);
+    }
+
+    private UUID createSession() {
+        CreateSessionRequest request = new CreateSessionRequest();
+        request.setUserId("user-42");
+        request.setTitle("Quarterly report review");
+        return sessionService.createSession(request).getId();
+    }
+
+    private void seedMessages() {
+        List<BatchMessageItem> batch = new ArrayList<>();
+        for (int i = 0; i < SEEDED_MESSAGES; i++) {
+            BatchMessageItem item = new BatchMessageItem();
+            item.setSessionId(sessionId);
+            item.setSender(i % 2 == 0 ? "user" : "assistant");
+            item.setContent(BenchmarkData.CONTENT);
+            item.setContext(BenchmarkData.CONTEXT);
+            batch.add(item);
+
+            if (batch.size() == BatchMessageRequest.MAX_BATCH_SIZE) {
+                messageService.addMessages(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            messageService.addMessages(batch);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.rag.chatstorage.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Enables the in-process Caffeine cache used for session metadata.
+ *
+ * Size, TTL and statistics come from {@code spring.cache.caffeine.spec} in the
+ * config repo; hit/miss/eviction counts are published as {@code cache.*} metrics.
+ * The caching advice is ordered outside the transaction advice so entries are
+ * only written after the surrounding transaction has committed.
+ *
+ * The cache is local to each instance: a rename or delete on one replica refreshes or
+ * evicts only its own entry, so other replicas may serve the old session until the
+ * entry expires. The short {@code expireAfterWrite} bounds that window.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /** Cache of {@link com.rag.chatstorage.dto.SessionResponse} keyed by session ID. */
+    public static final String SESSIONS = "sessions";
+}
@@ -0,0 +1,36 @@
+package com.rag.chatstorage.config;
+
+import com.rag.chatstorage.metrics.StatementCountingInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Names of the custom Micrometer meters, and the Hibernate hook behind the per-request
+ * statement count.
+ *
+ * Histogram buckets for these and for the built-in {@code http.server.requests},
+ * {@code spring.data.repository.invocations} and {@code hikaricp.connections.acquire} meters
+ * are switched on in the config repo ({@code management.metrics.distribution}), so percentiles
+ * can be aggregated across instances from {@code /actuator/prometheus}.
+ */
+@Configuration
+@Profile("!reactive")
+public class MetricsConfig {
+
+    /**
+     * Observation around every public service method: a timer tagged with {@code class},
+     * {@code method} and {@code error}, and a {@code Class#method} span when tracing is on.
+     */
+    public static final String SERVICE_TIMER = "chat.service";
+
+    /** JDBC statements Hibernate prepared while handling one HTTP request; tagged with {@code method} and {@code uri}. */
+    public static final String HIBERNATE_STATEMENTS = "chat.hibernate.statements";
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+    }
+}
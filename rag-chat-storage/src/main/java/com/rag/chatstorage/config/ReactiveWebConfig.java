@@ -0,0 +1,22 @@
+package com.rag.chatstorage.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Runs the {@code reactive} profile on Reactor Netty.
+ *
+ * Tomcat stays on the classpath for the default (blocking) stack, and Spring Boot would
+ * otherwise prefer it as the reactive server too.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,12 @@
+package com.rag.chatstorage.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (e.g. periodic flushing of streamed messages).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,27 @@
+package com.rag.chatstorage.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Span export for Micrometer Tracing.
+ *
+ * Spans are created for every HTTP request, every service method ({@code @Observed} on the
+ * service implementations) and every JDBC connection and statement (datasource-micrometer),
+ * and the incoming W3C {@code traceparent} header set by the gateway makes them children of
+ * the gateway's route span. Spring Boot exports them over OTLP when
+ * {@code management.otlp.tracing.endpoint} is set; this adds an exporter that writes them as
+ * OTLP JSON lines to the {@code TRACES} log file, for runs without a collector.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.file-export.enabled", havingValue = "true")
+    public SpanExporter fileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
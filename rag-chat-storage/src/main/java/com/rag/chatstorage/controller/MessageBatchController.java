@@ -0,0 +1,64 @@
+package com.rag.chatstorage.controller;
+
+import com.rag.chatstorage.dto.BatchMessageRequest;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.service.MessageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for bulk message ingestion across one or many chat sessions.
+ *
+ * @author Sakshi Sehgal
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/messages")
+@RequiredArgsConstructor
+@Tag(name = "Chat Messages", description = "APIs for managing chat messages")
+public class MessageBatchController {
+
+    private final MessageService messageService;
+
+    /**
+     * Stores a batch of messages in a single transaction.
+     *
+     * @param request the {@link BatchMessageRequest} containing the messages.
+     * @return the created messages, in request order.
+     */
+    @Operation(
+            summary = "Add a batch of messages",
+            description = "Stores several messages, possibly for different sessions, in one transaction. "
+                    + "Every referenced session is validated once; if any is missing nothing is stored.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Messages created successfully",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = MessageResponse.class)))),
+                    @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Session not found", content = @Content)
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<List<MessageResponse>> addMessages(@Valid @RequestBody BatchMessageRequest request) {
+
+        List<MessageResponse> response = messageService.addMessages(request.getMessages());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
@@ -1,7 +1,12 @@
 package com.rag.chatstorage.controller;
 
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageContextResponse;
+import com.rag.chatstorage.dto.MessageHistoryVersion;
 import com.rag.chatstorage.dto.MessageRequest;
 import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.MessageSummaryResponse;
+import com.rag.chatstorage.dto.MessageView;
 import com.rag.chatstorage.entity.Message;
 import com.rag.chatstorage.service.MessageService;
 import com.rag.chatstorage.service.impl.MessageServiceImpl;
@@ -16,9 +21,11 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,6 +35,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -38,6 +46,7 @@ import java.util.UUID;
  * @author Sakshi Sehgal
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/sessions/{sessionId}/messages")
 @RequiredArgsConstructor
 @Tag(name = "Chat Messages", description = "APIs for managing chat messages")
@@ -63,7 +72,7 @@ public class MessageController {
                             schema = @Schema(implementation = MessageRequest.class),
                             examples = @ExampleObject(
                                     name = "New message",
-                                    value = "{ \"sender\": \"user123\", \"content\": \"Hello there!\", \"context\": \"greeting\" }"
+                                    value = "{ \"sender\": \"user123\", \"content\": \"Hello there!\", \"context\": \"{\\\"intent\\\": \\\"greeting\\\"}\" }"
                             )
                     )
             ),
@@ -91,11 +100,18 @@ public class MessageController {
      * @param sessionId the session ID whose messages should be retrieved.
      * @param page page number (0-indexed)
      * @param size number of records per page
-     * @return a paginated list of {@link MessageResponse}.
+     * @param view {@code full}, or {@code summary} to leave out the messages' context.
+     * @param webRequest the request, checked against the history's ETag and Last-Modified.
+     * @return a paginated list of {@link MessageResponse} or {@link MessageSummaryResponse},
+     *         or 304 if the history is unchanged.
      */
     @Operation(
             summary = "List messages for a session",
-            description = "Fetches a paginated list of chat messages for the given session ID.",
+            description = "Fetches a paginated list of chat messages for the given session ID. "
+                    + "With view=summary the context of each message is left out and not even read from the database; "
+                    + "fetch it per message from /{messageId}/context. "
+                    + "Responses carry an ETag and Last-Modified from the latest message; send them back in "
+                    + "If-None-Match / If-Modified-Since to get 304 Not Modified while nothing changed.",
             security = {@SecurityRequirement(name = "ApiKeyAuth")},
             responses = {
                     @ApiResponse(
@@ -108,6 +124,16 @@ public class MessageController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "History unchanged since the given ETag or date",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid view",
+                            content = @Content
+                    ),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Session not found",
@@ -116,7 +142,7 @@ public class MessageController {
             }
     )
     @GetMapping
-    public ResponseEntity<Page<MessageResponse>> listMessages(
+    public ResponseEntity<Page<?>> listMessages(
             @Parameter(description = "Session ID", required = true)
             @PathVariable UUID sessionId,
 
@@ -124,12 +150,121 @@ public class MessageController {
             @RequestParam(defaultValue = "0") int page,
 
             @Parameter(description = "Number of messages per page")
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "'full', or 'summary' to leave out the context of each message",
+                    schema = @Schema(allowableValues = {"full", "summary"}))
+            @RequestParam(defaultValue = "full") String view,
+
+            WebRequest webRequest) {
+
+        MessageView messageView = MessageView.fromParameter(view);
+        if (isNotModified(sessionId, webRequest)) {
+            return null;
+        }
+
+        Page<?> messages = messageView == MessageView.SUMMARY
+                ? messageService.getMessageSummariesBySessionId(sessionId, page, size)
+                : messageService.getMessagesBySessionId(sessionId, page, size);
+
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(messages);
+    }
+
+    /**
+     * Retrieves a slice of messages for a session using cursor (keyset) pagination.
+     *
+     * @param sessionId the session ID whose messages should be retrieved.
+     * @param cursor opaque cursor from the previous slice; omit for the first slice
+     * @param size number of records per slice
+     * @param view {@code full}, or {@code summary} to leave out the messages' context.
+     * @param webRequest the request, checked against the history's ETag and Last-Modified.
+     * @return a {@link CursorPageResponse} of {@link MessageResponse} or {@link MessageSummaryResponse},
+     *         or 304 if the history is unchanged.
+     */
+    @Operation(
+            summary = "List messages for a session (cursor pagination)",
+            description = "Fetches messages in creation order after the given cursor. "
+                    + "No total count is computed, so latency does not grow with the depth of the history. "
+                    + "Supports the view parameter and conditional requests like the paginated listing.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Messages retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "History unchanged since the given ETag or date",
+                            content = @Content),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor, size or view", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Session not found", content = @Content)
+            }
+    )
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<?>> listMessagesAfter(
+            @Parameter(description = "Session ID", required = true)
+            @PathVariable UUID sessionId,
 
-        Page<MessageResponse> messages =
-                messageService.getMessagesBySessionId(sessionId, page, size);
+            @Parameter(description = "Opaque cursor returned as 'nextCursor' by the previous call")
+            @RequestParam(required = false) String cursor,
 
-        return ResponseEntity.ok(messages);
+            @Parameter(description = "Number of messages per slice")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "'full', or 'summary' to leave out the context of each message",
+                    schema = @Schema(allowableValues = {"full", "summary"}))
+            @RequestParam(defaultValue = "full") String view,
+
+            WebRequest webRequest) {
+
+        MessageView messageView = MessageView.fromParameter(view);
+        if (isNotModified(sessionId, webRequest)) {
+            return null;
+        }
+
+        CursorPageResponse<?> messages = messageView == MessageView.SUMMARY
+                ? messageService.getMessageSummariesBySessionIdAfter(sessionId, cursor, size)
+                : messageService.getMessagesBySessionIdAfter(sessionId, cursor, size);
+
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(messages);
+    }
+
+    /**
+     * Retrieves the context of a single message.
+     *
+     * @param sessionId the session ID the message belongs to.
+     * @param messageId the message ID.
+     * @return the {@link MessageContextResponse}.
+     */
+    @Operation(
+            summary = "Get the context of a message",
+            description = "Fetches the JSON context of one message, for clients listing history with view=summary.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Context retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = MessageContextResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Session or message not found", content = @Content)
+            }
+    )
+    @GetMapping("/{messageId}/context")
+    public ResponseEntity<MessageContextResponse> getMessageContext(
+            @Parameter(description = "Session ID", required = true)
+            @PathVariable UUID sessionId,
+
+            @Parameter(description = "Message ID", required = true)
+            @PathVariable UUID messageId) {
+
+        return ResponseEntity.ok(messageService.getMessageContext(sessionId, messageId));
+    }
+
+    /**
+     * Sets the history's ETag and Last-Modified on the response and answers 304 if the
+     * client's copy is current. The version is read before the page, so a message added
+     * in between can only make the tag older than the body, which costs one extra 200
+     * later rather than a stale page kept under a new tag.
+     *
+     * @return {@code true} if the response is a 304 and no body should be produced.
+     */
+    private boolean isNotModified(UUID sessionId, WebRequest webRequest) {
+        MessageHistoryVersion version = messageService.getHistoryVersion(sessionId);
+        long lastModified = version.lastModified() != null ? version.lastModified().toEpochMilli() : -1;
+        return webRequest.checkNotModified(version.eTag(), lastModified);
     }
 
 }
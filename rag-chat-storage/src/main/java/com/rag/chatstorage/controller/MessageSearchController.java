@@ -0,0 +1,83 @@
+package com.rag.chatstorage.controller;
+
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.service.MessageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Controller for searching chat messages across sessions by their context.
+ *
+ * @author Sakshi Sehgal
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/messages")
+@RequiredArgsConstructor
+@Tag(name = "Chat Messages", description = "APIs for managing chat messages")
+public class MessageSearchController {
+
+    private final MessageService messageService;
+
+    /**
+     * Searches messages whose context matches a JSON path predicate.
+     *
+     * @param filter SQL/JSON path predicate on the context.
+     * @param userId user whose sessions are searched; this or {@code sessionId} is required.
+     * @param sessionId session to search in; this or {@code userId} is required.
+     * @param cursor opaque cursor from the previous slice; omit for the first slice
+     * @param size number of records per slice
+     * @return a {@link CursorPageResponse} of matching {@link MessageResponse}.
+     */
+    @Operation(
+            summary = "Search messages by context",
+            description = "Finds messages whose JSON context matches a SQL/JSON path predicate, evaluated by Postgres "
+                    + "against the indexed jsonb column, e.g. $.intent == \"greeting\" or $.docIds[*] == \"doc-42\" "
+                    + "(array contains). Equality tests are served by the GIN index on the context; other predicates "
+                    + "(<, like_regex, exists) are still evaluated in the database. The search is limited to the sessions "
+                    + "of userId or to sessionId (one of them is required) and to a statement timeout. "
+                    + "Results are in creation order, paginated with a cursor like the session history.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Matching messages",
+                            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter, cursor or size, no userId or sessionId, "
+                            + "or the search exceeded its statement timeout", content = @Content)
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<MessageResponse>> searchMessages(
+            @Parameter(description = "SQL/JSON path predicate on the message context", required = true,
+                    example = "$.intent == \"greeting\"")
+            @RequestParam String filter,
+
+            @Parameter(description = "Only search the sessions of this user (this or sessionId is required)")
+            @RequestParam(required = false) String userId,
+
+            @Parameter(description = "Only search this session (this or userId is required)")
+            @RequestParam(required = false) UUID sessionId,
+
+            @Parameter(description = "Opaque cursor returned as 'nextCursor' by the previous call")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Number of messages per slice")
+            @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(messageService.searchMessages(filter, userId, sessionId, cursor, size));
+    }
+}
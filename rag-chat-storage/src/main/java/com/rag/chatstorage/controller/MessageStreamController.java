@@ -0,0 +1,125 @@
+package com.rag.chatstorage.controller;
+
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.MessageStreamEvent;
+import com.rag.chatstorage.dto.MessageStreamResponse;
+import com.rag.chatstorage.dto.OpenStreamRequest;
+import com.rag.chatstorage.dto.StreamChunkRequest;
+import com.rag.chatstorage.service.MessageStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * Controller for streaming assistant messages token by token.
+ *
+ * A producer opens a stream, appends chunks and completes it; subscribers
+ * tail the session over Server-Sent Events while the message is generated.
+ *
+ * @author Sakshi Sehgal
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/sessions/{sessionId}/messages/stream")
+@RequiredArgsConstructor
+@Tag(name = "Chat Message Streaming", description = "APIs for streaming messages while they are generated")
+public class MessageStreamController {
+
+    private final MessageStreamService messageStreamService;
+
+    @Operation(
+            summary = "Open a streaming message",
+            description = "Starts a message whose content will be appended in chunks.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Stream opened",
+                            content = @Content(schema = @Schema(implementation = MessageStreamResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Session not found", content = @Content)
+            }
+    )
+    @PostMapping
+    public ResponseEntity<MessageStreamResponse> openStream(
+            @Parameter(description = "Session ID", required = true) @PathVariable UUID sessionId,
+            @Valid @RequestBody OpenStreamRequest request) {
+
+        MessageStreamResponse response = messageStreamService.openStream(sessionId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @Operation(
+            summary = "Append a chunk to a streaming message",
+            description = "Buffers the chunk and forwards it to subscribers. It is stored on the next periodic flush.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Chunk accepted"),
+                    @ApiResponse(responseCode = "404", description = "Stream not found", content = @Content)
+            }
+    )
+    @PostMapping("/{streamId}/chunks")
+    public ResponseEntity<Void> appendChunk(
+            @Parameter(description = "Session ID", required = true) @PathVariable UUID sessionId,
+            @Parameter(description = "Stream ID", required = true) @PathVariable UUID streamId,
+            @Valid @RequestBody StreamChunkRequest request) {
+
+        messageStreamService.appendChunk(sessionId, streamId, request.getDelta());
+        return ResponseEntity.accepted().build();
+    }
+
+    @Operation(
+            summary = "Complete a streaming message",
+            description = "Stores the final content and closes the stream.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Message stored",
+                            content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Stream has no content", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Stream not found", content = @Content)
+            }
+    )
+    @PostMapping("/{streamId}/complete")
+    public ResponseEntity<MessageResponse> completeStream(
+            @Parameter(description = "Session ID", required = true) @PathVariable UUID sessionId,
+            @Parameter(description = "Stream ID", required = true) @PathVariable UUID streamId) {
+
+        return ResponseEntity.ok(messageStreamService.completeStream(sessionId, streamId));
+    }
+
+    @Operation(
+            summary = "Subscribe to streaming messages of a session",
+            description = "Server-Sent Events: 'chunk' events carry a MessageStreamEvent, "
+                    + "'complete' events carry the stored MessageResponse.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream opened",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = MessageStreamEvent.class))),
+                    @ApiResponse(responseCode = "404", description = "Session not found", content = @Content)
+            }
+    )
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @Parameter(description = "Session ID", required = true) @PathVariable UUID sessionId) {
+
+        return messageStreamService.subscribe(sessionId);
+    }
+}
@@ -0,0 +1,103 @@
+package com.rag.chatstorage.controller;
+
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.service.MessageSubscriptionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * Controller for waiting on new messages of a session.
+ *
+ * Clients hand in the cursor of the last slice they read and are answered once newer
+ * messages are stored, either once (long polling) or continuously (Server-Sent Events).
+ * Messages arrive in the order they were committed, and streamed messages once completed.
+ *
+ * @author Sakshi Sehgal
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/sessions/{sessionId}/messages/updates")
+@RequiredArgsConstructor
+@Tag(name = "Chat Message Updates", description = "APIs for waiting on new messages")
+public class MessageSubscriptionController {
+
+    private final MessageSubscriptionService messageSubscriptionService;
+
+    @Operation(
+            summary = "Wait for new messages (long polling)",
+            description = "Answers with the messages stored after the cursor as soon as there are any, "
+                    + "or with an empty slice once the timeout passes. Pass the returned 'nextCursor' to the next call.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "New messages, or an empty slice on timeout",
+                            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor, size or timeout", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Session not found", content = @Content)
+            }
+    )
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<CursorPageResponse<MessageResponse>> awaitMessages(
+            @Parameter(description = "Session ID", required = true)
+            @PathVariable UUID sessionId,
+
+            @Parameter(description = "Cursor of the last slice read; omit to wait for messages after the latest one")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Maximum number of messages to return")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Seconds to wait before answering with an empty slice")
+            @RequestParam(defaultValue = "30") int timeout) {
+
+        return messageSubscriptionService.awaitMessages(sessionId, cursor, size, timeout);
+    }
+
+    @Operation(
+            summary = "Subscribe to new messages",
+            description = "Server-Sent Events: 'messages' events carry a CursorPageResponse of the messages "
+                    + "stored after the cursor; the event ID is the cursor to resume from.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream opened",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = CursorPageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or size", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Session not found", content = @Content)
+            }
+    )
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeMessages(
+            @Parameter(description = "Session ID", required = true)
+            @PathVariable UUID sessionId,
+
+            @Parameter(description = "Cursor to follow from; omit to start after the latest message")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Sent by reconnecting EventSource clients; used when no cursor is given")
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+
+            @Parameter(description = "Maximum number of messages per event")
+            @RequestParam(defaultValue = "20") int size) {
+
+        return messageSubscriptionService.subscribeMessages(sessionId, cursor != null ? cursor : lastEventId, size);
+    }
+}
@@ -0,0 +1,111 @@
+package com.rag.chatstorage.controller;
+
+import com.rag.chatstorage.dto.BatchMessageRequest;
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageContextResponse;
+import com.rag.chatstorage.dto.MessageRequest;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.MessageView;
+import com.rag.chatstorage.service.ReactiveMessageService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * WebFlux variant of {@link MessageController}, {@link MessageBatchController} and
+ * {@link MessageSearchController}, active with the {@code reactive} profile.
+ *
+ * Same paths, parameters, status codes and bodies; see those controllers for the API docs.
+ */
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveMessageController {
+
+    private final ReactiveMessageService messageService;
+
+    @PostMapping("/api/v1/sessions/{sessionId}/messages")
+    public Mono<ResponseEntity<MessageResponse>> addMessage(@PathVariable UUID sessionId,
+                                                            @Valid @RequestBody MessageRequest request) {
+        return messageService.addMessage(sessionId, request)
+                .map(message -> ResponseEntity.status(HttpStatus.CREATED).body(message));
+    }
+
+    @GetMapping("/api/v1/sessions/{sessionId}/messages")
+    public Mono<ResponseEntity<Page<?>>> listMessages(@PathVariable UUID sessionId,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "20") int size,
+                                                      @RequestParam(defaultValue = "full") String view,
+                                                      ServerWebExchange exchange) {
+        MessageView messageView = MessageView.fromParameter(view);
+        Mono<? extends Page<?>> messages = messageView == MessageView.SUMMARY
+                ? messageService.getMessageSummariesBySessionId(sessionId, page, size)
+                : messageService.getMessagesBySessionId(sessionId, page, size);
+        return unlessNotModified(sessionId, exchange, messages);
+    }
+
+    @GetMapping("/api/v1/sessions/{sessionId}/messages/cursor")
+    public Mono<ResponseEntity<CursorPageResponse<?>>> listMessagesAfter(
+            @PathVariable UUID sessionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "full") String view,
+            ServerWebExchange exchange) {
+        MessageView messageView = MessageView.fromParameter(view);
+        Mono<? extends CursorPageResponse<?>> messages = messageView == MessageView.SUMMARY
+                ? messageService.getMessageSummariesBySessionIdAfter(sessionId, cursor, size)
+                : messageService.getMessagesBySessionIdAfter(sessionId, cursor, size);
+        return unlessNotModified(sessionId, exchange, messages);
+    }
+
+    @GetMapping("/api/v1/sessions/{sessionId}/messages/{messageId}/context")
+    public Mono<MessageContextResponse> getMessageContext(@PathVariable UUID sessionId, @PathVariable UUID messageId) {
+        return messageService.getMessageContext(sessionId, messageId);
+    }
+
+    @PostMapping("/api/v1/messages/batch")
+    public Mono<ResponseEntity<List<MessageResponse>>> addMessages(@Valid @RequestBody BatchMessageRequest request) {
+        return messageService.addMessages(request.getMessages())
+                .map(messages -> ResponseEntity.status(HttpStatus.CREATED).body(messages));
+    }
+
+    @GetMapping("/api/v1/messages/search")
+    public Mono<CursorPageResponse<MessageResponse>> searchMessages(@RequestParam String filter,
+                                                                    @RequestParam(required = false) String userId,
+                                                                    @RequestParam(required = false) UUID sessionId,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "20") int size) {
+        return messageService.searchMessages(filter, userId, sessionId, cursor, size);
+    }
+
+    /**
+     * Same conditional handling as {@code MessageController}: the version is read first, and
+     * {@code body} is only subscribed to when the client's copy is out of date.
+     */
+    private <T> Mono<ResponseEntity<T>> unlessNotModified(UUID sessionId, ServerWebExchange exchange,
+                                                          Mono<? extends T> body) {
+        return messageService.getHistoryVersion(sessionId).flatMap(version -> {
+            boolean notModified = version.lastModified() != null
+                    ? exchange.checkNotModified(version.eTag(), version.lastModified())
+                    : exchange.checkNotModified(version.eTag());
+            return notModified
+                    ? Mono.empty()
+                    : body.map(page -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).<T>body(page));
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.rag.chatstorage.controller;
+
+import com.rag.chatstorage.dto.CreateSessionRequest;
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.RenameSessionRequest;
+import com.rag.chatstorage.dto.SessionResponse;
+import com.rag.chatstorage.dto.ToggleFavoriteRequest;
+import com.rag.chatstorage.service.ReactiveSessionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * WebFlux variant of {@link SessionController}, active with the {@code reactive} profile.
+ *
+ * Same paths, parameters, status codes and bodies; see {@link SessionController} for the API docs.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/sessions")
+@RequiredArgsConstructor
+public class ReactiveSessionController {
+
+    private final ReactiveSessionService sessionService;
+
+    @PostMapping
+    public Mono<ResponseEntity<SessionResponse>> createSession(@RequestBody @Valid CreateSessionRequest request) {
+        return sessionService.createSession(request)
+                .map(session -> ResponseEntity.status(HttpStatus.CREATED).body(session));
+    }
+
+    @GetMapping("/user/{userId}")
+    public Flux<SessionResponse> getSessionsForUser(@PathVariable String userId) {
+        return sessionService.getSessionsForUser(userId);
+    }
+
+    @GetMapping("/user/{userId}/cursor")
+    public Mono<CursorPageResponse<SessionResponse>> getSessionsForUserAfter(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "false") boolean favoritesOnly,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return sessionService.getSessionsForUser(userId, favoritesOnly, title, cursor, size);
+    }
+
+    @GetMapping("/all")
+    public Flux<SessionResponse> getAllSessions() {
+        return sessionService.getAllSessions();
+    }
+
+    @GetMapping("/all/cursor")
+    public Mono<CursorPageResponse<SessionResponse>> getAllSessionsAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        return sessionService.getAllSessions(cursor, size);
+    }
+
+    /**
+     * Streams all sessions as newline-delimited JSON; rows are fetched as the client reads them.
+     */
+    @GetMapping(value = "/all/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<SessionResponse> exportAllSessions() {
+        return sessionService.exportAllSessions();
+    }
+
+    @GetMapping("/{sessionId}")
+    public Mono<SessionResponse> getSessionById(@PathVariable UUID sessionId) {
+        return sessionService.getSessionById(sessionId);
+    }
+
+    @PatchMapping("/{sessionId}/rename")
+    public Mono<SessionResponse> renameSession(@PathVariable UUID sessionId,
+                                               @Valid @RequestBody RenameSessionRequest request) {
+        return sessionService.renameSession(sessionId, request);
+    }
+
+    @PatchMapping("/{id}/favorite")
+    public Mono<SessionResponse> favorite(@PathVariable UUID id,
+                                          @Valid @RequestBody ToggleFavoriteRequest request) {
+        return sessionService.toggleFavorite(id, request);
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public Mono<ResponseEntity<Void>> deleteSession(@PathVariable UUID sessionId) {
+        return sessionService.deleteSession(sessionId)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    @DeleteMapping("/user/{userId}")
+    public Mono<ResponseEntity<Void>> deleteSessionsForUser(@PathVariable String userId) {
+        return sessionService.deleteSessionsForUser(userId)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+}
@@ -1,9 +1,13 @@
 package com.rag.chatstorage.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.rag.chatstorage.dto.CreateSessionRequest;
+import com.rag.chatstorage.dto.CursorPageResponse;
 import com.rag.chatstorage.dto.RenameSessionRequest;
 import com.rag.chatstorage.dto.SessionResponse;
 import com.rag.chatstorage.dto.ToggleFavoriteRequest;
+import com.rag.chatstorage.exception.ErrorResponse;
 import com.rag.chatstorage.service.SessionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,7 +18,9 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,10 +29,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Controller for managing chat sessions.
@@ -34,12 +46,14 @@ import java.util.UUID;
  * @author Sakshi Sehgal
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/sessions")
 @RequiredArgsConstructor
 @Tag(name = "Session Management", description = "APIs for managing user chat sessions")
 public class SessionController {
 
     private final SessionService sessionService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new chat session for a user.
@@ -87,6 +101,47 @@ public class SessionController {
         return ResponseEntity.ok(sessions);
     }
 
+    /**
+     * Retrieves a slice of a user's chat sessions, favorites first, using cursor (keyset) pagination.
+     *
+     * @param userId ID of the user whose sessions are to be fetched.
+     * @param favoritesOnly only return favorite sessions
+     * @param title optional substring the title must contain (case-insensitive)
+     * @param cursor opaque cursor from the previous slice; omit for the first slice
+     * @param size number of sessions per slice
+     * @return a {@link CursorPageResponse} of {@link SessionResponse}.
+     */
+    @GetMapping("/user/{userId}/cursor")
+    @Operation(
+            summary = "List sessions for a user (cursor pagination)",
+            description = "Fetches a user's sessions with favorites first, then most recently updated, "
+                    + "optionally filtered by favorite flag and title.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Sessions retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or size", content = @Content)
+            }
+    )
+    public ResponseEntity<CursorPageResponse<SessionResponse>> getSessionsForUserAfter(
+            @Parameter(description = "User ID", required = true)
+            @PathVariable String userId,
+
+            @Parameter(description = "Only return sessions marked as favorite")
+            @RequestParam(defaultValue = "false") boolean favoritesOnly,
+
+            @Parameter(description = "Case-insensitive substring the title must contain")
+            @RequestParam(required = false) String title,
+
+            @Parameter(description = "Opaque cursor returned as 'nextCursor' by the previous call")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Number of sessions per slice")
+            @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(sessionService.getSessionsForUser(userId, favoritesOnly, title, cursor, size));
+    }
+
     /**
      * Retrieves all chat sessions across all users.
      *
@@ -94,7 +149,8 @@ public class SessionController {
      */
     @Operation(
             summary = "Get all sessions (admin)",
-            description = "Fetches all chat sessions across all users. Useful for admin or internal use.",
+            description = "Fetches all chat sessions across all users in one response. Useful for admin or internal use; "
+                    + "prefer /all/cursor or /all/export on large tables.",
             security = {@SecurityRequirement(name = "ApiKeyAuth")},
             responses = {
                     @ApiResponse(responseCode = "200", description = "All sessions retrieved successfully",
@@ -107,6 +163,90 @@ public class SessionController {
         return ResponseEntity.ok(sessions);
     }
 
+    /**
+     * Retrieves a slice of all chat sessions using cursor (keyset) pagination.
+     *
+     * @param cursor opaque cursor from the previous slice; omit for the first slice
+     * @param size number of sessions per slice
+     * @return a {@link CursorPageResponse} of {@link SessionResponse}.
+     */
+    @Operation(
+            summary = "Get all sessions, cursor-paginated (admin)",
+            description = "Fetches sessions across all users, most recently updated first, after the given cursor.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Sessions retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or size", content = @Content)
+            }
+    )
+    @GetMapping("/all/cursor")
+    public ResponseEntity<CursorPageResponse<SessionResponse>> getAllSessionsAfter(
+            @Parameter(description = "Opaque cursor returned as 'nextCursor' by the previous call")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Number of sessions per slice")
+            @RequestParam(defaultValue = "50") int size) {
+
+        return ResponseEntity.ok(sessionService.getAllSessions(cursor, size));
+    }
+
+    /**
+     * Streams all chat sessions as newline-delimited JSON.
+     *
+     * The body is written after the 200 status has been sent, so a failure part way through
+     * ends the stream with an {@link ErrorResponse} line rather than just cutting it short.
+     * The export runs under {@code spring.mvc.async.request-timeout}.
+     *
+     * @return a streamed NDJSON body, one {@link SessionResponse} per line.
+     */
+    @Operation(
+            summary = "Export all sessions as NDJSON (admin)",
+            description = "Streams every session, most recently updated first, one JSON object per line. "
+                    + "Rows are read through a database cursor, so memory use does not depend on table size. "
+                    + "If the export fails part way through, the last line is an error object (status, error, "
+                    + "message) instead of a session.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Export streamed successfully",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = SessionResponse.class)))
+            }
+    )
+    @GetMapping(value = "/all/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllSessions() {
+        ObjectWriter writer = objectMapper.writerFor(SessionResponse.class);
+
+        StreamingResponseBody body = out -> {
+            AtomicLong written = new AtomicLong();
+            try {
+                sessionService.exportAllSessions(session -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(session));
+                        out.write('\n');
+                        written.incrementAndGet();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // The client went away; there is no one left to tell
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                if (written.get() == 0) {
+                    // Nothing sent yet: answered like any other failed request
+                    throw e;
+                }
+                ErrorResponse error = new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Export Failed",
+                        "Export stopped after " + written.get() + " sessions; the list above is incomplete",
+                        OffsetDateTime.now(), null);
+                out.write(objectMapper.writeValueAsBytes(error));
+                out.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Retrieves a single session by its ID.
      *
@@ -200,4 +340,26 @@ public class SessionController {
         sessionService.deleteSession(sessionId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Deletes all chat sessions of a user, together with their messages.
+     *
+     * @param userId ID of the user whose sessions are to be deleted.
+     * @return HTTP 204 No Content.
+     */
+    @Operation(
+            summary = "Delete all chat sessions of a user",
+            description = "Deletes every chat session of the user and all their messages (e.g. for data erasure requests). "
+                    + "Succeeds even if the user has no sessions.",
+            security = {@SecurityRequirement(name = "ApiKeyAuth")},
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Sessions deleted successfully")
+            }
+    )
+    @DeleteMapping("/user/{userId}")
+    public ResponseEntity<Void> deleteSessionsForUser(
+            @Parameter(description = "User ID", required = true) @PathVariable String userId) {
+        sessionService.deleteSessionsForUser(userId);
+        return ResponseEntity.noContent().build();
+    }
 }
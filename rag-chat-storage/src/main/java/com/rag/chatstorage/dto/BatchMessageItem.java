@@ -0,0 +1,27 @@
+package com.rag.chatstorage.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * A single message inside a {@link BatchMessageRequest}, addressed to its own session.
+ */
+@Schema(description = "Message payload within a batch, including the target session")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class BatchMessageItem extends MessageRequest {
+
+    @Schema(
+            description = "Session the message belongs to",
+            example = "c5e0f2c3-dfe1-4c51-9363-345ee35c87ab",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotNull(message = "Session ID is required")
+    private UUID sessionId;
+}
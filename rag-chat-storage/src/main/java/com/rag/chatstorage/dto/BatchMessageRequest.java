@@ -0,0 +1,25 @@
+package com.rag.chatstorage.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO representing a request to store several chat messages at once,
+ * for one or many sessions. Messages are persisted in the given order.
+ */
+@Schema(description = "Request payload for storing multiple chat messages in one call")
+@Data
+public class BatchMessageRequest {
+
+    public static final int MAX_BATCH_SIZE = 500;
+
+    @Schema(description = "Messages to store, in order", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "At least one message is required")
+    @Size(max = MAX_BATCH_SIZE, message = "A batch must not exceed " + MAX_BATCH_SIZE + " messages")
+    private List<@Valid BatchMessageItem> messages;
+}
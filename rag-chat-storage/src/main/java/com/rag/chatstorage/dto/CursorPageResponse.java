@@ -0,0 +1,51 @@
+package com.rag.chatstorage.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice of results fetched with keyset (cursor) pagination.
+ *
+ * Unlike {@link org.springframework.data.domain.Page}, no total count is computed;
+ * clients follow {@code nextCursor} until {@code hasNext} is false.
+ */
+@Schema(description = "Cursor-paginated slice of results")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    @Schema(description = "Items in this slice, in stable order")
+    private List<T> items;
+
+    @Schema(
+            description = "Opaque cursor to pass as 'cursor' to fetch the next slice; null on the last slice",
+            example = "MTczMTQ0NTczNToxMjAwMDAwMDA6NGIyZDFhMWUtODJjZi00Zjg3LTlmMWYtOWEzZDhlNmQ1MmEy"
+    )
+    private String nextCursor;
+
+    @Schema(description = "Whether another slice is available", example = "true")
+    private boolean hasNext;
+
+    /**
+     * Builds a slice from rows fetched with a limit of {@code size + 1}: the extra row,
+     * if present, only signals that another slice exists and is dropped.
+     *
+     * @param rows rows returned by the keyset query, at most {@code size + 1}.
+     * @param size requested slice size.
+     * @param cursorOf encodes the cursor pointing after a row.
+     * @param mapper converts a row into the response item.
+     */
+    public static <E, T> CursorPageResponse<T> fromRows(List<E> rows, int size,
+                                                        Function<E, String> cursorOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> slice = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(slice.get(slice.size() - 1)) : null;
+        return new CursorPageResponse<>(slice.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
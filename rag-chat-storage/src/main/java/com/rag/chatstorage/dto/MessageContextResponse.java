@@ -0,0 +1,37 @@
+package com.rag.chatstorage.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO carrying the context of a single message, for clients that list history with
+ * {@code view=summary} and load the context of a message on demand.
+ */
+@Schema(description = "Response payload carrying the context of a chat message")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageContextResponse {
+
+    @Schema(
+            description = "Unique identifier of the message",
+            example = "4b2d1a1e-82cf-4f87-9f1f-9a3d8e6d52a2"
+    )
+    private UUID id;
+
+    @Schema(
+            description = "Unique identifier of the session this message belongs to",
+            example = "c5e0f2c3-dfe1-4c51-9363-345ee35c87ab"
+    )
+    private UUID sessionId;
+
+    @Schema(
+            description = "Optional JSON context associated with the message (AI metadata, retrieval info, etc.); null if none",
+            example = "{\"intent\": \"greeting\", \"confidence\": 0.95}"
+    )
+    private String context;
+}
@@ -0,0 +1,35 @@
+package com.rag.chatstorage.dto;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * Version of a session's message history, sent as the {@code ETag} and {@code Last-Modified}
+ * of history reads.
+ *
+ * Messages are appended and never edited, except that streamed output grows its row in place
+ * until the stream completes. The session's message sequence number moves on every insert and
+ * every completed stream, and the content of open streams only grows, so the pair of both
+ * changes whenever any history page can - including a streamed row that is not the newest.
+ *
+ * @param messageSeq the session's message sequence number ({@code chat_sessions.message_seq}).
+ * @param streamingLength total content length of the session's open streams, in characters.
+ * @param lastCreatedAt creation time of the latest message, or {@code null} if the session has none.
+ */
+public record MessageHistoryVersion(long messageSeq, long streamingLength, OffsetDateTime lastCreatedAt) {
+
+    /**
+     * Strong entity tag, quoted: sequence number and open stream length.
+     */
+    public String eTag() {
+        return "\"" + Long.toHexString(messageSeq) + "-" + Long.toHexString(streamingLength) + "\"";
+    }
+
+    /**
+     * Creation time of the latest message, or {@code null} if the session has none or a stream
+     * is open (its row changes without a timestamp, so only the tag can tell the versions apart).
+     */
+    public Instant lastModified() {
+        return lastCreatedAt != null && streamingLength == 0 ? lastCreatedAt.toInstant() : null;
+    }
+}
@@ -32,7 +32,7 @@ null, "", " "*/
     private String content;
 
     @Schema(
-            description = "Optional context metadata (e.g., AI context or retrieval info in JSON format)",
+            description = "Optional context metadata (e.g., AI context or retrieval info); text that is not JSON is stored as a JSON string",
             example = "{\"intent\": \"greeting\"}"
     )
     private String context;
@@ -0,0 +1,36 @@
+package com.rag.chatstorage.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Payload of a {@code chunk} server-sent event.
+ *
+ * {@code offset} is the position of {@code delta} in the full content, so a
+ * subscriber that joins late (and receives the buffered content as one chunk
+ * at offset 0) can discard overlaps.
+ */
+@Schema(description = "Chunk of a streaming message, as delivered to SSE subscribers")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageStreamEvent {
+
+    @Schema(description = "Identifier of the stream", example = "0d6f3f4b-3c43-4b43-9d1e-2f1d3a9b7c11")
+    private UUID streamId;
+
+    @Schema(description = "Sender of the message", example = "assistant")
+    private String sender;
+
+    @Schema(description = "Position of this chunk in the full content", example = "36")
+    private int offset;
+
+    @Schema(description = "Appended text", example = " there!")
+    private String delta;
+}
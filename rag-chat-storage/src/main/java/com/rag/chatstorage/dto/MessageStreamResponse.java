@@ -0,0 +1,37 @@
+package com.rag.chatstorage.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Response model describing an open streaming message.
+ */
+@Schema(description = "State of a streaming message")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageStreamResponse {
+
+    @Schema(description = "Identifier of the stream, used to append chunks and complete it",
+            example = "0d6f3f4b-3c43-4b43-9d1e-2f1d3a9b7c11")
+    private UUID streamId;
+
+    @Schema(description = "Session the message belongs to", example = "c5e0f2c3-dfe1-4c51-9363-345ee35c87ab")
+    private UUID sessionId;
+
+    @Schema(description = "Sender of the message", example = "assistant")
+    private String sender;
+
+    @Schema(description = "Identifier of the stored message; absent until the content is first flushed",
+            example = "4b2d1a1e-82cf-4f87-9f1f-9a3d8e6d52a2")
+    private UUID messageId;
+
+    @Schema(description = "Number of characters received so far", example = "42")
+    private int length;
+}
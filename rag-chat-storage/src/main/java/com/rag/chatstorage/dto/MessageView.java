@@ -0,0 +1,30 @@
+package com.rag.chatstorage.dto;
+
+import com.rag.chatstorage.exception.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * Representation of messages in history reads, selected with the {@code view} parameter.
+ */
+public enum MessageView {
+
+    /** Every field, including the context ({@link MessageResponse}). */
+    FULL,
+
+    /** Every field except the context ({@link MessageSummaryResponse}); the context is never read. */
+    SUMMARY;
+
+    /**
+     * Parses the {@code view} request parameter, case-insensitively.
+     *
+     * @throws InvalidRequestException if the value names no view.
+     */
+    public static MessageView fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("View must be 'full' or 'summary'");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.rag.chatstorage.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * DTO representing a request to open a streaming message whose content
+ * arrives later as token chunks.
+ */
+@Schema(description = "Request payload for opening a streaming message")
+@Data
+public class OpenStreamRequest {
+
+    @Schema(
+            description = "Sender of the message (usually 'assistant')",
+            example = "assistant",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotBlank(message = "Sender is required")
+    private String sender;
+
+    @Schema(
+            description = "Optional context metadata (e.g., retrieval info); text that is not JSON is stored as a JSON string",
+            example = "{\"intent\": \"greeting\"}"
+    )
+    private String context;
+}
@@ -0,0 +1,21 @@
+package com.rag.chatstorage.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+/**
+ * DTO carrying one chunk of tokens to append to a streaming message.
+ */
+@Schema(description = "Chunk of generated tokens to append to a streaming message")
+@Data
+public class StreamChunkRequest {
+
+    @Schema(
+            description = "Text to append; whitespace is preserved as sent",
+            example = " there!",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotEmpty(message = "Chunk cannot be empty")
+    private String delta;
+}
@@ -15,7 +15,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.UUID;
 
@@ -38,6 +39,8 @@ public class Message {
 
     /**
      * Unique identifier for the message.
+     * Generated in the application rather than by the database, which keeps
+     * JDBC insert batching available (IDENTITY columns would disable it).
      */
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -69,16 +72,32 @@ public class Message {
 
     /**
      * Optional JSON context, e.g., AI metadata or conversation context.
+     * Stored as {@code jsonb} so searches can filter on it in the database; the text is
+     * passed through unchanged, and read back in Postgres' normalized form.
      */
-    @Column(name = "context", columnDefinition = "text")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "context", columnDefinition = "jsonb")
     private String context;
 
     /**
      * Timestamp when the message was created.
-     * Automatically populated by Hibernate.
+     * Set by {@link com.rag.chatstorage.mapper.MessageMapper}; messages of one batch get
+     * increasing values so history keeps their order.
      */
-    @CreationTimestamp
     @Column(name = "created_at", updatable = false, nullable = false)
     private OffsetDateTime createdAt;
 
+    /**
+     * Position of the message in its session's commit order.
+     * Assigned by the database on insert (see {@code V6__chat_messages_commit_sequence.sql}).
+     */
+    @Column(name = "seq", insertable = false, updatable = false)
+    private Long seq;
+
+    /**
+     * Whether the message is streamed output still being written.
+     */
+    @Column(name = "streaming", nullable = false)
+    private boolean streaming;
+
 }
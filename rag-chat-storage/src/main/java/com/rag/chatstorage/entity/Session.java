@@ -50,6 +50,13 @@ public class Session {
     @UpdateTimestamp
     private OffsetDateTime updatedAt;
 
+    /**
+     * Sequence number of the latest message, maintained by the database on every insert
+     * (see {@code V6__chat_messages_commit_sequence.sql}); never written from here.
+     */
+    @Column(name = "message_seq", insertable = false, updatable = false)
+    private long messageSeq;
+
     @OneToMany(mappedBy = "session", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @OrderBy("createdAt ASC")
     private List<Message> messages = new ArrayList<>();
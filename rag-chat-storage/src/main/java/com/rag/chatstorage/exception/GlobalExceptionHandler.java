@@ -4,9 +4,11 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.time.OffsetDateTime;
 import java.util.HashMap;
@@ -40,18 +42,13 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getFieldErrors()
-                .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+        return buildValidationResponse(ex.getBindingResult());
+    }
 
-        ErrorResponse body = new ErrorResponse(
-                HttpStatus.BAD_REQUEST.value(),
-                "Validation Failed",
-                "One or more fields are invalid.",
-                OffsetDateTime.now(),
-                errors
-        );
-        return ResponseEntity.badRequest().body(body);
+    // Same as above, raised by @Valid request bodies in the reactive (WebFlux) stack
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidation(WebExchangeBindException ex) {
+        return buildValidationResponse(ex.getBindingResult());
     }
 
     // ---------- Database Exceptions ----------
@@ -75,6 +72,21 @@ public class GlobalExceptionHandler {
 
     // ---------- Helper ----------
 
+    private ResponseEntity<ErrorResponse> buildValidationResponse(BindingResult bindingResult) {
+        Map<String, String> errors = new HashMap<>();
+        bindingResult.getFieldErrors()
+                .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+
+        ErrorResponse body = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation Failed",
+                "One or more fields are invalid.",
+                OffsetDateTime.now(),
+                errors
+        );
+        return ResponseEntity.badRequest().body(body);
+    }
+
     private ResponseEntity<ErrorResponse> buildErrorResponse(HttpStatus status, String error, String message) {
         ErrorResponse body = new ErrorResponse(
                 status.value(),
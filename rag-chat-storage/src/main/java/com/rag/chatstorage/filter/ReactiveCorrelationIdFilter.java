@@ -0,0 +1,35 @@
+package com.rag.chatstorage.filter;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * WebFlux counterpart of {@link CorrelationIdFilter}. The ID is echoed on the response and
+ * put in the Reactor context, since MDC is thread-bound and requests hop between threads.
+ */
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveCorrelationIdFilter implements WebFilter {
+
+    private static final String CORRELATION_ID = "X-Correlation-Id";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        String header = exchange.getRequest().getHeaders().getFirst(CORRELATION_ID);
+        String correlationId = header == null || header.isBlank() ? UUID.randomUUID().toString() : header;
+
+        exchange.getResponse().getHeaders().set(CORRELATION_ID, correlationId);
+
+        return chain.filter(exchange).contextWrite(context -> context.put(CORRELATION_ID, correlationId));
+    }
+}
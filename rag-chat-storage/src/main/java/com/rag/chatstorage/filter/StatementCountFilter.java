@@ -0,0 +1,61 @@
+package com.rag.chatstorage.filter;
+
+import com.rag.chatstorage.config.MetricsConfig;
+import com.rag.chatstorage.metrics.StatementCountingInspector;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each API request issued, tagged by the matched route
+ * template (e.g. {@code /api/v1/sessions/{sessionId}/messages}) so N+1 queries show up as a
+ * per-endpoint distribution rather than a global counter.
+ */
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        StatementCountingInspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = StatementCountingInspector.stop();
+
+            // Requests that never reached a handler (403, 404) have no route and ran no SQL
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (route != null) {
+                DistributionSummary.builder(MetricsConfig.HIBERNATE_STATEMENTS)
+                        .baseUnit("statements")
+                        .tag("method", request.getMethod())
+                        .tag("uri", route.toString())
+                        .register(meterRegistry)
+                        .record(statements);
+            }
+        }
+    }
+}
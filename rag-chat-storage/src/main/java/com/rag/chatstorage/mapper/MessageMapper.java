@@ -4,16 +4,18 @@ import com.rag.chatstorage.dto.MessageRequest;
 import com.rag.chatstorage.dto.MessageResponse;
 import com.rag.chatstorage.entity.Message;
 import com.rag.chatstorage.entity.Session;
+import com.rag.chatstorage.validation.ContextJson;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = ContextJson.class)
 public interface MessageMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "session", source = "session")
     @Mapping(target = "createdAt", expression = "java(java.time.OffsetDateTime.now())")
+    @Mapping(target = "context", expression = "java(ContextJson.toJson(request.getContext()))")
     Message toEntity(MessageRequest request, Session session);
 
     /*@Mapping(target = "id", ignore = true)
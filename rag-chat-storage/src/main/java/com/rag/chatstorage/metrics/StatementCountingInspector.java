@@ -0,0 +1,34 @@
+package com.rag.chatstorage.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()}
+ * and {@link #stop()}. A JDBC batch is prepared once, so a batched insert counts as one
+ * statement however many rows it carries. The SQL itself is passed through unchanged.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    /** Starts counting on the current thread. */
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /** Stops counting on the current thread and returns the number of statements seen. */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
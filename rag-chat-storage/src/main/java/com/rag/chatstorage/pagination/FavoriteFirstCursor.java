@@ -0,0 +1,35 @@
+package com.rag.chatstorage.pagination;
+
+import com.rag.chatstorage.exception.InvalidRequestException;
+
+/**
+ * Keyset position in a listing ordered by {@code (favorite desc, updated_at desc, id desc)}.
+ *
+ * Encoded as a one-character favorite flag followed by the encoded {@link KeysetCursor}.
+ */
+public record FavoriteFirstCursor(boolean favorite, KeysetCursor position) {
+
+    private static final char FAVORITE = 'F';
+    private static final char REGULAR = 'R';
+
+    public String encode() {
+        return (favorite ? FAVORITE : REGULAR) + position.encode();
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @return the decoded cursor, or {@code null} when no token was supplied.
+     * @throws InvalidRequestException if the token is malformed.
+     */
+    public static FavoriteFirstCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        char flag = token.charAt(0);
+        if ((flag != FAVORITE && flag != REGULAR) || token.length() == 1) {
+            throw new InvalidRequestException("Invalid cursor: " + token);
+        }
+        return new FavoriteFirstCursor(flag == FAVORITE, KeysetCursor.decode(token.substring(1)));
+    }
+}
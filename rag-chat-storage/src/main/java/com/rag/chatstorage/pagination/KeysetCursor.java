@@ -0,0 +1,71 @@
+package com.rag.chatstorage.pagination;
+
+import com.rag.chatstorage.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row returned by a keyset (seek) query.
+ *
+ * Rows are ordered by a timestamp column with the UUID primary key as tie-breaker,
+ * so {@code (timestamp, id)} identifies a unique position in the result set.
+ * The cursor is handed to clients as an opaque, URL-safe token.
+ */
+public record KeysetCursor(OffsetDateTime timestamp, UUID id) {
+
+    /** Upper bound for the size of a keyset slice. */
+    public static final int MAX_SLICE_SIZE = 200;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static KeysetCursor of(OffsetDateTime timestamp, UUID id) {
+        return new KeysetCursor(timestamp, id);
+    }
+
+    /**
+     * Validates a requested slice size.
+     *
+     * @throws InvalidRequestException if the size is outside {@code 1..MAX_SLICE_SIZE}.
+     */
+    public static void checkSliceSize(int size) {
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new InvalidRequestException("Size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque token (epoch seconds, nanos and id).
+     */
+    public String encode() {
+        Instant instant = timestamp.toInstant();
+        String raw = instant.getEpochSecond() + ":" + instant.getNano() + ":" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor, may be {@code null} or blank for the first page.
+     * @return the decoded cursor, or {@code null} when no token was supplied.
+     * @throws InvalidRequestException if the token is malformed.
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new KeysetCursor(OffsetDateTime.ofInstant(instant, ZoneOffset.UTC), UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.rag.chatstorage.pagination;
+
+import com.rag.chatstorage.exception.InvalidRequestException;
+
+/**
+ * Position in a session's messages in commit order, i.e. the {@code seq} of the last message
+ * seen (see {@code V6__chat_messages_commit_sequence.sql}).
+ *
+ * Encoded as a marker character followed by the decimal sequence number. The marker is not
+ * part of the URL-safe Base64 alphabet, so these tokens never collide with a {@link KeysetCursor}.
+ */
+public record SequenceCursor(long seq) {
+
+    private static final char MARKER = '~';
+
+    public static SequenceCursor of(long seq) {
+        return new SequenceCursor(seq);
+    }
+
+    public String encode() {
+        return MARKER + Long.toString(seq);
+    }
+
+    /**
+     * Whether a token was produced by {@link #encode()} rather than by another cursor type.
+     */
+    public static boolean isSequenceCursor(String token) {
+        return token != null && !token.isEmpty() && token.charAt(0) == MARKER;
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @throws InvalidRequestException if the token is malformed.
+     */
+    public static SequenceCursor decode(String token) {
+        try {
+            long seq = Long.parseLong(token.substring(1));
+            if (!isSequenceCursor(token) || seq < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new SequenceCursor(seq);
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor: " + token);
+        }
+    }
+}
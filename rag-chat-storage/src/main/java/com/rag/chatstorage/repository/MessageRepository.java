@@ -1,12 +1,177 @@
 package com.rag.chatstorage.repository;
 
+import com.rag.chatstorage.dto.MessageContextResponse;
+import com.rag.chatstorage.dto.MessageHistoryVersion;
+import com.rag.chatstorage.dto.MessageSummaryResponse;
 import com.rag.chatstorage.entity.Message;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface MessageRepository extends JpaRepository<Message, UUID> {
+public interface MessageRepository extends JpaRepository<Message, UUID>, MessageSearchRepository {
     Page<Message> findBySessionIdOrderByCreatedAtAsc(UUID sessionId, Pageable pageable);
+
+    /**
+     * First keyset slice of a session's history, ordered by {@code (created_at, id)}.
+     */
+    @Query(value = """
+            select * from chat_messages m
+            where m.session_id = :sessionId
+            order by m.created_at asc, m.id asc
+            limit :limit
+            """, nativeQuery = true)
+    List<Message> findFirstSliceBySessionId(UUID sessionId, int limit);
+
+    /**
+     * Keyset slice of a session's history strictly after {@code (createdAt, id)}.
+     * Uses a row-value comparison so the seek stays a single index range scan.
+     */
+    @Query(value = """
+            select * from chat_messages m
+            where m.session_id = :sessionId
+              and (m.created_at, m.id) > (:createdAt, :id)
+            order by m.created_at asc, m.id asc
+            limit :limit
+            """, nativeQuery = true)
+    List<Message> findSliceBySessionIdAfter(UUID sessionId, OffsetDateTime createdAt, UUID id, int limit);
+
+    /**
+     * Same page as {@link #findBySessionIdOrderByCreatedAtAsc}, projected to summaries so
+     * {@code context} is never read.
+     */
+    @Query(value = """
+            select new com.rag.chatstorage.dto.MessageSummaryResponse(m.id, m.session.id, m.sender, m.content, m.createdAt)
+            from Message m
+            where m.session.id = :sessionId
+            order by m.createdAt asc
+            """,
+            countQuery = "select count(m) from Message m where m.session.id = :sessionId")
+    Page<MessageSummaryResponse> findSummariesBySessionId(UUID sessionId, Pageable pageable);
+
+    /**
+     * Same slice as {@link #findFirstSliceBySessionId}, projected to summaries.
+     */
+    @Query("""
+            select new com.rag.chatstorage.dto.MessageSummaryResponse(m.id, m.session.id, m.sender, m.content, m.createdAt)
+            from Message m
+            where m.session.id = :sessionId
+            order by m.createdAt asc, m.id asc
+            """)
+    List<MessageSummaryResponse> findFirstSummarySliceBySessionId(UUID sessionId, Limit limit);
+
+    /**
+     * Same slice as {@link #findSliceBySessionIdAfter}, projected to summaries. Hibernate
+     * renders the tuple comparison as the same row-value comparison.
+     */
+    @Query("""
+            select new com.rag.chatstorage.dto.MessageSummaryResponse(m.id, m.session.id, m.sender, m.content, m.createdAt)
+            from Message m
+            where m.session.id = :sessionId
+              and (m.createdAt, m.id) > (:createdAt, :id)
+            order by m.createdAt asc, m.id asc
+            """)
+    List<MessageSummaryResponse> findSummarySliceBySessionIdAfter(UUID sessionId, OffsetDateTime createdAt, UUID id,
+                                                                  Limit limit);
+
+    /**
+     * Context of one message, if it belongs to the session.
+     */
+    @Query("""
+            select new com.rag.chatstorage.dto.MessageContextResponse(m.id, m.session.id, m.context)
+            from Message m
+            where m.id = :id and m.session.id = :sessionId
+            """)
+    Optional<MessageContextResponse> findContextByIdAndSessionId(UUID id, UUID sessionId);
+
+    /**
+     * Version of a session's history: its message sequence number, the content length of its
+     * open streams (partial index {@code idx_chat_messages_session_streaming}) and the latest
+     * creation time (one row off the end of the {@code (session_id, created_at, id)} index).
+     * Empty if the session does not exist.
+     */
+    @Query("""
+            select new com.rag.chatstorage.dto.MessageHistoryVersion(s.messageSeq,
+                (select coalesce(sum(length(m.content)), 0) from Message m where m.session = s and m.streaming = true),
+                (select max(m.createdAt) from Message m where m.session = s))
+            from Session s
+            where s.id = :sessionId
+            """)
+    Optional<MessageHistoryVersion> findHistoryVersion(UUID sessionId);
+
+    /**
+     * Messages of a session committed after a sequence number, in commit order. Streamed
+     * messages still being written are left out (partial index {@code idx_chat_messages_session_seq}).
+     */
+    @Query(value = """
+            select * from chat_messages m
+            where m.session_id = :sessionId and not m.streaming
+              and m.seq > :seq
+            order by m.seq asc
+            limit :limit
+            """, nativeQuery = true)
+    List<Message> findCommittedSliceAfter(UUID sessionId, long seq, int limit);
+
+    /**
+     * Sequence number of the latest message committed in a session; empty if the session does not exist.
+     */
+    @Query(value = "select s.message_seq from chat_sessions s where s.id = :sessionId", nativeQuery = true)
+    Optional<Long> findLastSeq(UUID sessionId);
+
+    /**
+     * Sequence number just below every message after the keyset position {@code (createdAt, id)};
+     * empty if there is no such message.
+     */
+    @Query(value = """
+            select min(m.seq) - 1 from chat_messages m
+            where m.session_id = :sessionId
+              and (m.created_at, m.id) > (:createdAt, :id)
+            """, nativeQuery = true)
+    Optional<Long> findSeqBefore(UUID sessionId, OffsetDateTime createdAt, UUID id);
+
+    /**
+     * Rewrites the content of a message without loading it (used when flushing streamed output).
+     */
+    @Transactional
+    @Modifying
+    @Query("update Message m set m.content = :content where m.id = :id")
+    int updateContent(UUID id, String content);
+
+    /**
+     * Stores the final content of a streamed message and ends its streaming state, under a new
+     * sequence number so watchers that moved past the row while it was written still see it.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            with next as (
+                update chat_sessions set message_seq = message_seq + 1 where id = :sessionId
+                returning message_seq
+            )
+            update chat_messages set content = :content, streaming = false, seq = (select message_seq from next)
+            where id = :id
+            """, nativeQuery = true)
+    int completeStreamedContent(UUID id, UUID sessionId, String content);
+
+    /**
+     * Deletes every message of a session with a single set-based statement, without loading them.
+     */
+    @Modifying
+    @Query("delete from Message m where m.session.id = :sessionId")
+    int bulkDeleteBySessionId(UUID sessionId);
+
+    /**
+     * Deletes every message in all sessions of a user with a single set-based statement.
+     */
+    @Modifying
+    @Query("delete from Message m where m.session.id in (select s.id from Session s where s.userId = :userId)")
+    int bulkDeleteByUserId(String userId);
 }
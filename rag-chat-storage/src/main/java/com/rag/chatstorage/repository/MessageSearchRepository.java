@@ -0,0 +1,29 @@
+package com.rag.chatstorage.repository;
+
+import com.rag.chatstorage.entity.Message;
+import com.rag.chatstorage.pagination.KeysetCursor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Search of messages by their JSON context, a fragment of {@link MessageRepository}.
+ */
+public interface MessageSearchRepository {
+
+    /**
+     * Keyset slice of the messages whose context matches a SQL/JSON path predicate, ordered
+     * by {@code (created_at, id)}. The predicate is evaluated by Postgres with the {@code @@}
+     * operator, served by the GIN index on {@code context} for equality tests.
+     *
+     * @param jsonPath predicate such as {@code $.intent == "greeting"}.
+     * @param userId only messages in this user's sessions, or {@code null} for any user.
+     * @param sessionId only messages in this session, or {@code null} for any session.
+     * @param after position to continue after, or {@code null} for the first slice.
+     * @param limit maximum number of rows.
+     * @param statementTimeoutMs {@code statement_timeout} for the rest of the current transaction,
+     *                           which must be open; 0 for none.
+     */
+    List<Message> searchByContext(String jsonPath, String userId, UUID sessionId, KeysetCursor after, int limit,
+                                  long statementTimeoutMs);
+}
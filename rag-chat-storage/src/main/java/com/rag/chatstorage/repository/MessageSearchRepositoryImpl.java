@@ -0,0 +1,60 @@
+package com.rag.chatstorage.repository;
+
+import com.rag.chatstorage.entity.Message;
+import com.rag.chatstorage.pagination.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Native implementation of {@link MessageSearchRepository}. The query is assembled from the
+ * filters actually given, so every bound parameter is non-null and each combination gets a
+ * plan of its own.
+ */
+@RequiredArgsConstructor
+public class MessageSearchRepositoryImpl implements MessageSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Message> searchByContext(String jsonPath, String userId, UUID sessionId, KeysetCursor after, int limit,
+                                         long statementTimeoutMs) {
+        // SET LOCAL cannot take a parameter; set_config(..., true) is its bindable form
+        entityManager.createNativeQuery("select set_config('statement_timeout', :timeout, true)")
+                .setParameter("timeout", Long.toString(statementTimeoutMs))
+                .getSingleResult();
+
+        StringBuilder sql = new StringBuilder("""
+                select * from chat_messages m
+                where m.context @@ cast(:jsonPath as jsonpath)
+                """);
+        if (userId != null) {
+            sql.append("  and m.session_id in (select s.id from chat_sessions s where s.user_id = :userId)\n");
+        }
+        if (sessionId != null) {
+            sql.append("  and m.session_id = :sessionId\n");
+        }
+        if (after != null) {
+            sql.append("  and (m.created_at, m.id) > (:createdAt, :id)\n");
+        }
+        sql.append("order by m.created_at asc, m.id asc\nlimit :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Message.class)
+                .setParameter("jsonPath", jsonPath)
+                .setParameter("limit", limit);
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        if (sessionId != null) {
+            query.setParameter("sessionId", sessionId);
+        }
+        if (after != null) {
+            query.setParameter("createdAt", after.timestamp()).setParameter("id", after.id());
+        }
+        return query.getResultList();
+    }
+}
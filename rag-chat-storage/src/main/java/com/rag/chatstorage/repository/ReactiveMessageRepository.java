@@ -0,0 +1,271 @@
+package com.rag.chatstorage.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import com.rag.chatstorage.dto.MessageContextResponse;
+import com.rag.chatstorage.dto.MessageHistoryVersion;
+import com.rag.chatstorage.dto.MessageSummaryResponse;
+import com.rag.chatstorage.entity.Message;
+import com.rag.chatstorage.entity.Session;
+import com.rag.chatstorage.pagination.KeysetCursor;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to {@code chat_messages} over R2DBC, used by the reactive stack.
+ *
+ * Queries mirror {@link MessageRepository}. Rows are read into {@link Message} with a
+ * {@link Session} holding only the ID, which is all the mappers need. {@code context} is
+ * written and read as JSON text, like the JPA entity does.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveMessageRepository {
+
+    private static final String COLUMNS = "id, session_id, sender, content, context, created_at";
+    private static final String SUMMARY_COLUMNS = "id, session_id, sender, content, created_at";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Inserts a new message; its ID and {@code createdAt} must already be set.
+     */
+    public Mono<Message> insert(Message message) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        insert into chat_messages (id, session_id, sender, content, context, created_at)
+                        values (:id, :sessionId, :sender, :content, cast(:context as jsonb), :createdAt)
+                        """)
+                .bind("id", message.getId())
+                .bind("sessionId", message.getSession().getId())
+                .bind("sender", message.getSender())
+                .bind("content", message.getContent())
+                .bind("createdAt", message.getCreatedAt());
+        spec = message.getContext() == null
+                ? spec.bindNull("context", String.class)
+                : spec.bind("context", message.getContext());
+        return spec.fetch().rowsUpdated().thenReturn(message);
+    }
+
+    /**
+     * Offset page of a session's history, oldest first (same order as
+     * {@link MessageRepository#findBySessionIdOrderByCreatedAtAsc}).
+     */
+    public Flux<Message> findBySessionIdOrderByCreatedAtAsc(UUID sessionId, long offset, int limit) {
+        return page(COLUMNS, sessionId, offset, limit).map(ReactiveMessageRepository::toMessage).all();
+    }
+
+    /**
+     * Same as {@link MessageRepository#findSummariesBySessionId}; {@code context} is not read.
+     */
+    public Flux<MessageSummaryResponse> findSummariesBySessionId(UUID sessionId, long offset, int limit) {
+        return page(SUMMARY_COLUMNS, sessionId, offset, limit).map(ReactiveMessageRepository::toSummary).all();
+    }
+
+    /**
+     * Same as {@link MessageRepository#findHistoryVersion}; empty if the session does not exist.
+     */
+    public Mono<MessageHistoryVersion> findHistoryVersion(UUID sessionId) {
+        return databaseClient.sql("""
+                        select s.message_seq,
+                               (select coalesce(sum(length(m.content)), 0) from chat_messages m
+                                where m.session_id = s.id and m.streaming) as streaming_length,
+                               (select max(m.created_at) from chat_messages m where m.session_id = s.id) as last_created_at
+                        from chat_sessions s
+                        where s.id = :sessionId
+                        """)
+                .bind("sessionId", sessionId)
+                .map(row -> new MessageHistoryVersion(row.get("message_seq", Long.class),
+                        row.get("streaming_length", Long.class), row.get("last_created_at", OffsetDateTime.class)))
+                .one();
+    }
+
+    public Mono<Long> countBySessionId(UUID sessionId) {
+        return databaseClient.sql("select count(*) from chat_messages where session_id = :sessionId")
+                .bind("sessionId", sessionId)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Same as {@link MessageRepository#findFirstSliceBySessionId}.
+     */
+    public Flux<Message> findFirstSliceBySessionId(UUID sessionId, int limit) {
+        return firstSlice(COLUMNS, sessionId, limit).map(ReactiveMessageRepository::toMessage).all();
+    }
+
+    /**
+     * Same as {@link MessageRepository#findSliceBySessionIdAfter}.
+     */
+    public Flux<Message> findSliceBySessionIdAfter(UUID sessionId, OffsetDateTime createdAt, UUID id, int limit) {
+        return sliceAfter(COLUMNS, sessionId, createdAt, id, limit).map(ReactiveMessageRepository::toMessage).all();
+    }
+
+    /**
+     * Same as {@link MessageRepository#findFirstSummarySliceBySessionId}.
+     */
+    public Flux<MessageSummaryResponse> findFirstSummarySliceBySessionId(UUID sessionId, int limit) {
+        return firstSlice(SUMMARY_COLUMNS, sessionId, limit).map(ReactiveMessageRepository::toSummary).all();
+    }
+
+    /**
+     * Same as {@link MessageRepository#findSummarySliceBySessionIdAfter}.
+     */
+    public Flux<MessageSummaryResponse> findSummarySliceBySessionIdAfter(UUID sessionId, OffsetDateTime createdAt,
+                                                                         UUID id, int limit) {
+        return sliceAfter(SUMMARY_COLUMNS, sessionId, createdAt, id, limit).map(ReactiveMessageRepository::toSummary).all();
+    }
+
+    /**
+     * Same as {@link MessageRepository#findContextByIdAndSessionId}.
+     */
+    public Mono<MessageContextResponse> findContextByIdAndSessionId(UUID id, UUID sessionId) {
+        return databaseClient.sql("""
+                        select m.id, m.session_id, m.context from chat_messages m
+                        where m.id = :id and m.session_id = :sessionId
+                        """)
+                .bind("id", id)
+                .bind("sessionId", sessionId)
+                .map(row -> new MessageContextResponse(row.get("id", UUID.class), row.get("session_id", UUID.class),
+                        row.get("context", String.class)))
+                .one();
+    }
+
+    /**
+     * Same as {@link MessageRepository#searchByContext}; must run in a transaction.
+     */
+    public Flux<Message> searchByContext(String jsonPath, String userId, UUID sessionId, KeysetCursor after, int limit,
+                                         long statementTimeoutMs) {
+        Mono<String> timeout = databaseClient.sql("select set_config('statement_timeout', :timeout, true)")
+                .bind("timeout", Long.toString(statementTimeoutMs))
+                .map(row -> row.get(0, String.class))
+                .one();
+
+        StringBuilder sql = new StringBuilder("""
+                select %s from chat_messages m
+                where m.context @@ cast(:jsonPath as jsonpath)
+                """.formatted(COLUMNS));
+        if (userId != null) {
+            sql.append("  and m.session_id in (select s.id from chat_sessions s where s.user_id = :userId)\n");
+        }
+        if (sessionId != null) {
+            sql.append("  and m.session_id = :sessionId\n");
+        }
+        if (after != null) {
+            sql.append("  and (m.created_at, m.id) > (:createdAt, :id)\n");
+        }
+        sql.append("order by m.created_at asc, m.id asc\nlimit :limit");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("jsonPath", jsonPath)
+                .bind("limit", limit);
+        if (userId != null) {
+            spec = spec.bind("userId", userId);
+        }
+        if (sessionId != null) {
+            spec = spec.bind("sessionId", sessionId);
+        }
+        if (after != null) {
+            spec = spec.bind("createdAt", after.timestamp()).bind("id", after.id());
+        }
+        return timeout.thenMany(spec.map(ReactiveMessageRepository::toMessage).all());
+    }
+
+    /**
+     * Same as {@link MessageRepository#bulkDeleteBySessionId}.
+     */
+    public Mono<Long> bulkDeleteBySessionId(UUID sessionId) {
+        return databaseClient.sql("delete from chat_messages where session_id = :sessionId")
+                .bind("sessionId", sessionId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Same as {@link MessageRepository#bulkDeleteByUserId}.
+     */
+    public Mono<Long> bulkDeleteByUserId(String userId) {
+        return databaseClient.sql("""
+                        delete from chat_messages
+                        where session_id in (select s.id from chat_sessions s where s.user_id = :userId)
+                        """)
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Runs {@code ensure_chat_messages_partitions} (see the V3 and V8 migrations).
+     *
+     * @return the number of partitions created.
+     */
+    public Mono<Integer> ensurePartitions(int monthsAhead) {
+        return databaseClient.sql("select ensure_chat_messages_partitions(:monthsAhead)")
+                .bind("monthsAhead", monthsAhead)
+                .map(row -> row.get(0, Integer.class))
+                .one();
+    }
+
+    private DatabaseClient.GenericExecuteSpec page(String columns, UUID sessionId, long offset, int limit) {
+        return databaseClient.sql("""
+                        select %s from chat_messages m
+                        where m.session_id = :sessionId
+                        order by m.created_at asc
+                        offset :offset limit :limit
+                        """.formatted(columns))
+                .bind("sessionId", sessionId)
+                .bind("offset", offset)
+                .bind("limit", limit);
+    }
+
+    private DatabaseClient.GenericExecuteSpec firstSlice(String columns, UUID sessionId, int limit) {
+        return databaseClient.sql("""
+                        select %s from chat_messages m
+                        where m.session_id = :sessionId
+                        order by m.created_at asc, m.id asc
+                        limit :limit
+                        """.formatted(columns))
+                .bind("sessionId", sessionId)
+                .bind("limit", limit);
+    }
+
+    private DatabaseClient.GenericExecuteSpec sliceAfter(String columns, UUID sessionId, OffsetDateTime createdAt,
+                                                         UUID id, int limit) {
+        return databaseClient.sql("""
+                        select %s from chat_messages m
+                        where m.session_id = :sessionId
+                          and (m.created_at, m.id) > (:createdAt, :id)
+                        order by m.created_at asc, m.id asc
+                        limit :limit
+                        """.formatted(columns))
+                .bind("sessionId", sessionId)
+                .bind("createdAt", createdAt)
+                .bind("id", id)
+                .bind("limit", limit);
+    }
+
+    private static MessageSummaryResponse toSummary(Readable row) {
+        return new MessageSummaryResponse(row.get("id", UUID.class), row.get("session_id", UUID.class),
+                row.get("sender", String.class), row.get("content", String.class),
+                row.get("created_at", OffsetDateTime.class));
+    }
+
+    private static Message toMessage(Readable row) {
+        Session session = new Session();
+        session.setId(row.get("session_id", UUID.class));
+
+        Message message = new Message();
+        message.setId(row.get("id", UUID.class));
+        message.setSession(session);
+        message.setSender(row.get("sender", String.class));
+        message.setContent(row.get("content", String.class));
+        message.setContext(row.get("context", String.class));
+        message.setCreatedAt(row.get("created_at", OffsetDateTime.class));
+        return message;
+    }
+}
@@ -0,0 +1,226 @@
+package com.rag.chatstorage.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import com.rag.chatstorage.entity.Session;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to {@code chat_sessions} over R2DBC, used by the reactive stack.
+ *
+ * Queries mirror {@link SessionRepository} and rows are read into the same {@link Session}
+ * entity class, so the existing mappers produce identical responses.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveSessionRepository {
+
+    private static final String COLUMNS = "id, user_id, title, favorite, created_at, updated_at";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Session> findById(UUID id) {
+        return databaseClient.sql("select " + COLUMNS + " from chat_sessions where id = :id")
+                .bind("id", id)
+                .map(ReactiveSessionRepository::toSession)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(UUID id) {
+        return databaseClient.sql("select exists (select 1 from chat_sessions where id = :id)")
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    /**
+     * Returns the IDs among {@code ids} that exist, in one round trip.
+     */
+    public Flux<UUID> findExistingIds(UUID[] ids) {
+        return databaseClient.sql("select id from chat_sessions where id = any(:ids)")
+                .bind("ids", ids)
+                .map(row -> row.get("id", UUID.class))
+                .all();
+    }
+
+    public Flux<Session> findByUserIdOrderByUpdatedAtDesc(String userId) {
+        return databaseClient.sql("select " + COLUMNS + " from chat_sessions where user_id = :userId order by updated_at desc")
+                .bind("userId", userId)
+                .map(ReactiveSessionRepository::toSession)
+                .all();
+    }
+
+    /**
+     * Same as {@link SessionRepository#findFirstSliceByUserId}.
+     */
+    public Flux<Session> findFirstSliceByUserId(String userId, boolean favoritesOnly, String titlePattern, int limit) {
+        return databaseClient.sql("""
+                        select %s from chat_sessions s
+                        where s.user_id = :userId
+                          and (:favoritesOnly = false or s.favorite = true)
+                          and s.title ilike :titlePattern
+                        order by s.favorite desc, s.updated_at desc, s.id desc
+                        limit :limit
+                        """.formatted(COLUMNS))
+                .bind("userId", userId)
+                .bind("favoritesOnly", favoritesOnly)
+                .bind("titlePattern", titlePattern)
+                .bind("limit", limit)
+                .map(ReactiveSessionRepository::toSession)
+                .all();
+    }
+
+    /**
+     * Same as {@link SessionRepository#findSliceByUserIdAfter}.
+     */
+    public Flux<Session> findSliceByUserIdAfter(String userId, boolean favoritesOnly, String titlePattern,
+                                                boolean favorite, OffsetDateTime updatedAt, UUID id, int limit) {
+        return databaseClient.sql("""
+                        select %s from chat_sessions s
+                        where s.user_id = :userId
+                          and (:favoritesOnly = false or s.favorite = true)
+                          and s.title ilike :titlePattern
+                          and (s.favorite, s.updated_at, s.id) < (:favorite, :updatedAt, :id)
+                        order by s.favorite desc, s.updated_at desc, s.id desc
+                        limit :limit
+                        """.formatted(COLUMNS))
+                .bind("userId", userId)
+                .bind("favoritesOnly", favoritesOnly)
+                .bind("titlePattern", titlePattern)
+                .bind("favorite", favorite)
+                .bind("updatedAt", updatedAt)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveSessionRepository::toSession)
+                .all();
+    }
+
+    public Flux<Session> findAllByOrderByUpdatedAtDesc() {
+        return databaseClient.sql("select " + COLUMNS + " from chat_sessions order by updated_at desc, id desc")
+                .map(ReactiveSessionRepository::toSession)
+                .all();
+    }
+
+    /**
+     * Same as {@link SessionRepository#findFirstSliceOrderByUpdatedAtDesc}.
+     */
+    public Flux<Session> findFirstSliceOrderByUpdatedAtDesc(int limit) {
+        return databaseClient.sql("""
+                        select %s from chat_sessions s
+                        order by s.updated_at desc, s.id desc
+                        limit :limit
+                        """.formatted(COLUMNS))
+                .bind("limit", limit)
+                .map(ReactiveSessionRepository::toSession)
+                .all();
+    }
+
+    /**
+     * Same as {@link SessionRepository#findSliceOrderByUpdatedAtDescAfter}.
+     */
+    public Flux<Session> findSliceOrderByUpdatedAtDescAfter(OffsetDateTime updatedAt, UUID id, int limit) {
+        return databaseClient.sql("""
+                        select %s from chat_sessions s
+                        where (s.updated_at, s.id) < (:updatedAt, :id)
+                        order by s.updated_at desc, s.id desc
+                        limit :limit
+                        """.formatted(COLUMNS))
+                .bind("updatedAt", updatedAt)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveSessionRepository::toSession)
+                .all();
+    }
+
+    /**
+     * Streams every session, 500 rows per round trip; demand from the subscriber
+     * (e.g. a slow HTTP client) throttles how fast rows are fetched.
+     */
+    public Flux<Session> streamAllByOrderByUpdatedAtDesc() {
+        return databaseClient.sql("select " + COLUMNS + " from chat_sessions order by updated_at desc, id desc")
+                .filter(statement -> statement.fetchSize(500))
+                .map(ReactiveSessionRepository::toSession)
+                .all();
+    }
+
+    /**
+     * Inserts a new session; its ID and timestamps must already be set.
+     */
+    public Mono<Session> insert(Session session) {
+        return databaseClient.sql("""
+                        insert into chat_sessions (id, user_id, title, favorite, created_at, updated_at)
+                        values (:id, :userId, :title, :favorite, :createdAt, :updatedAt)
+                        """)
+                .bind("id", session.getId())
+                .bind("userId", session.getUserId())
+                .bind("title", session.getTitle())
+                .bind("favorite", session.isFavorite())
+                .bind("createdAt", session.getCreatedAt())
+                .bind("updatedAt", session.getUpdatedAt())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(session);
+    }
+
+    /**
+     * Sets the title in place and returns the updated row; empty if the session does not exist.
+     */
+    public Mono<Session> updateTitle(UUID id, String title, OffsetDateTime updatedAt) {
+        return databaseClient.sql("update chat_sessions set title = :title, updated_at = :updatedAt where id = :id returning " + COLUMNS)
+                .bind("id", id)
+                .bind("title", title)
+                .bind("updatedAt", updatedAt)
+                .map(ReactiveSessionRepository::toSession)
+                .one();
+    }
+
+    /**
+     * Sets the favorite flag in place and returns the updated row; empty if the session does not exist.
+     */
+    public Mono<Session> updateFavorite(UUID id, boolean favorite, OffsetDateTime updatedAt) {
+        return databaseClient.sql("update chat_sessions set favorite = :favorite, updated_at = :updatedAt where id = :id returning " + COLUMNS)
+                .bind("id", id)
+                .bind("favorite", favorite)
+                .bind("updatedAt", updatedAt)
+                .map(ReactiveSessionRepository::toSession)
+                .one();
+    }
+
+    /**
+     * Same as {@link SessionRepository#bulkDeleteById}; messages must be deleted first.
+     */
+    public Mono<Long> bulkDeleteById(UUID id) {
+        return databaseClient.sql("delete from chat_sessions where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Same as {@link SessionRepository#bulkDeleteByUserId}; messages must be deleted first.
+     */
+    public Mono<Long> bulkDeleteByUserId(String userId) {
+        return databaseClient.sql("delete from chat_sessions where user_id = :userId")
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Session toSession(Readable row) {
+        Session session = new Session();
+        session.setId(row.get("id", UUID.class));
+        session.setUserId(row.get("user_id", String.class));
+        session.setTitle(row.get("title", String.class));
+        session.setFavorite(Boolean.TRUE.equals(row.get("favorite", Boolean.class)));
+        session.setCreatedAt(row.get("created_at", OffsetDateTime.class));
+        session.setUpdatedAt(row.get("updated_at", OffsetDateTime.class));
+        return session;
+    }
+}
@@ -1,12 +1,104 @@
 package com.rag.chatstorage.repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import com.rag.chatstorage.entity.Session;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface SessionRepository extends JpaRepository<Session, UUID> {
     List<Session> findByUserIdOrderByUpdatedAtDesc(String userId);
     List<Session> findAllByOrderByUpdatedAtDesc();
+
+    /**
+     * First keyset slice of a user's sessions: favorites first, then most recently updated.
+     * Served by {@code idx_chat_sessions_user_listing}.
+     *
+     * @param favoritesOnly restrict to sessions marked as favorite.
+     * @param titlePattern case-insensitive LIKE pattern on the title ({@code %} to match all).
+     */
+    @Query(value = """
+            select * from chat_sessions s
+            where s.user_id = :userId
+              and (:favoritesOnly = false or s.favorite = true)
+              and s.title ilike :titlePattern
+            order by s.favorite desc, s.updated_at desc, s.id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<Session> findFirstSliceByUserId(String userId, boolean favoritesOnly, String titlePattern, int limit);
+
+    /**
+     * Keyset slice of a user's sessions strictly after {@code (favorite, updatedAt, id)} in descending order.
+     */
+    @Query(value = """
+            select * from chat_sessions s
+            where s.user_id = :userId
+              and (:favoritesOnly = false or s.favorite = true)
+              and s.title ilike :titlePattern
+              and (s.favorite, s.updated_at, s.id) < (:favorite, :updatedAt, :id)
+            order by s.favorite desc, s.updated_at desc, s.id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<Session> findSliceByUserIdAfter(String userId, boolean favoritesOnly, String titlePattern,
+                                         boolean favorite, OffsetDateTime updatedAt, UUID id, int limit);
+
+    /**
+     * First keyset slice of all sessions, most recently updated first.
+     */
+    @Query(value = """
+            select * from chat_sessions s
+            order by s.updated_at desc, s.id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<Session> findFirstSliceOrderByUpdatedAtDesc(int limit);
+
+    /**
+     * Keyset slice of all sessions strictly after {@code (updatedAt, id)} in descending order.
+     */
+    @Query(value = """
+            select * from chat_sessions s
+            where (s.updated_at, s.id) < (:updatedAt, :id)
+            order by s.updated_at desc, s.id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<Session> findSliceOrderByUpdatedAtDescAfter(OffsetDateTime updatedAt, UUID id, int limit);
+
+    /**
+     * Streams every session through a server-side cursor, 500 rows per round trip.
+     * Must be consumed inside a transaction, otherwise the Postgres driver ignores the fetch size.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from Session s order by s.updatedAt desc, s.id desc")
+    Stream<Session> streamAllByOrderByUpdatedAtDesc();
+
+    /**
+     * Deletes a session row directly, bypassing the {@code messages} cascade
+     * (which would load and delete every message one by one).
+     * Its messages must be deleted first, see {@link MessageRepository#bulkDeleteBySessionId}.
+     *
+     * @return the number of sessions deleted (0 or 1).
+     */
+    @Modifying
+    @Query("delete from Session s where s.id = :id")
+    int bulkDeleteById(UUID id);
+
+    /**
+     * Deletes all sessions of a user in one statement. Messages must be deleted first,
+     * see {@link MessageRepository#bulkDeleteByUserId}.
+     *
+     * @return the number of sessions deleted.
+     */
+    @Modifying
+    @Query("delete from Session s where s.userId = :userId")
+    int bulkDeleteByUserId(String userId);
 }
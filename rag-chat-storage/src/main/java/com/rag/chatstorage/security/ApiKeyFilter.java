@@ -4,20 +4,18 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 public class ApiKeyFilter extends OncePerRequestFilter {
 
-    private final String internalKey;
+    private final ApiKeyRegistry apiKeyRegistry;
 
-    public ApiKeyFilter(String internalKey) {
-        this.internalKey = internalKey;
+    public ApiKeyFilter(ApiKeyRegistry apiKeyRegistry) {
+        this.apiKeyRegistry = apiKeyRegistry;
     }
 
     @Override
@@ -30,22 +28,15 @@ public class ApiKeyFilter extends OncePerRequestFilter {
 
         // Protect only /api/** routes
         if (path.startsWith("/api/")) {
-            String providedKey = request.getHeader("X-INTERNAL-KEY");
+            Authentication auth = apiKeyRegistry.authenticate(request.getHeader("X-INTERNAL-KEY"));
 
-            if (!internalKey.equals(providedKey)) {
+            if (auth == null) {
                 response.setStatus(HttpServletResponse.SC_FORBIDDEN);
                 response.getWriter().write("Forbidden: Invalid internal key");
                 return;
             }
 
-            // Set authentication if key is valid
-            UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(
-                            "gateway",
-                            null,
-                            List.of(new SimpleGrantedAuthority("ROLE_INTERNAL"))
-                    );
-
+            // Set authentication if key is valid (built once per key by the registry)
             SecurityContextHolder.getContext().setAuthentication(auth);
         }
 
@@ -0,0 +1,13 @@
+package com.rag.chatstorage.security;
+
+import java.time.Instant;
+
+/**
+ * One entry of {@code app.internal-keys}.
+ *
+ * @param id        name of the caller holding the key (e.g. {@code gateway}); the authenticated principal
+ * @param key       secret sent in {@code X-INTERNAL-KEY}
+ * @param expiresAt optional instant after which the key is no longer accepted
+ */
+public record ApiKeyProperties(String id, String key, Instant expiresAt) {
+}
@@ -0,0 +1,146 @@
+package com.rag.chatstorage.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The internal API keys chat-storage accepts in {@code X-INTERNAL-KEY}.
+ *
+ * Keys are bound from {@code app.internal-keys}, or from {@code APP_INTERNAL_SERVICE_KEY} as a
+ * single {@code gateway} key when that list is not configured, and are re-read whenever the
+ * environment changes (e.g. {@code POST /actuator/refresh} after the config server has new
+ * values). Several keys can be live at once, so a key is rotated by adding its successor,
+ * moving callers over and then removing it or letting its {@code expires-at} pass.
+ *
+ * {@link #authenticate(String)} compares the presented key with every live key in constant
+ * time and returns an {@link Authentication} built once per key, so it allocates nothing.
+ */
+@Component
+@Slf4j
+public class ApiKeyRegistry {
+
+    static final String PROPERTY = "app.internal-keys";
+    static final String LEGACY_PROPERTY = "APP_INTERNAL_SERVICE_KEY";
+
+    private static final String LEGACY_ID = "gateway";
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_INTERNAL"));
+
+    private final Environment environment;
+
+    /** Replaced as a whole on reload; never modified in place. */
+    private volatile Entry[] entries;
+
+    @Autowired
+    public ApiKeyRegistry(Environment environment) {
+        this.environment = environment;
+        reload();
+    }
+
+    /**
+     * A fixed set of keys that is never reloaded.
+     *
+     * @param keys live keys; entries without a key are ignored
+     */
+    public ApiKeyRegistry(List<ApiKeyProperties> keys) {
+        this.environment = null;
+        this.entries = compile(keys);
+    }
+
+    /**
+     * Returns the authentication of the live key equal to {@code providedKey}.
+     *
+     * @param providedKey value of the {@code X-INTERNAL-KEY} header; may be {@code null}
+     * @return the key's authentication, or {@code null} if no live key matches
+     */
+    public Authentication authenticate(String providedKey) {
+        if (providedKey == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        Authentication match = null;
+
+        // Every key is compared, so the time taken does not reveal which one matched
+        for (Entry entry : entries) {
+            if (constantTimeEquals(entry.key(), providedKey) && now < entry.expiresAtMillis()) {
+                match = entry.authentication();
+            }
+        }
+        return match;
+    }
+
+    /** Number of configured keys, including ones that have expired since the last reload. */
+    public int size() {
+        return entries.length;
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        boolean keysChanged = event.getKeys().stream()
+                .anyMatch(key -> key.startsWith(PROPERTY) || key.equals(LEGACY_PROPERTY));
+        if (environment != null && keysChanged) {
+            reload();
+        }
+    }
+
+    private void reload() {
+        List<ApiKeyProperties> keys = Binder.get(environment)
+                .bind(PROPERTY, Bindable.listOf(ApiKeyProperties.class))
+                .orElseGet(this::legacyKey);
+
+        entries = compile(keys);
+
+        if (entries.length == 0) {
+            log.warn("No internal API keys configured ({} or {}); all /api/** requests will be rejected",
+                    PROPERTY, LEGACY_PROPERTY);
+        } else {
+            log.info("Loaded internal API keys {}", Arrays.stream(entries).map(Entry::id).toList());
+        }
+    }
+
+    private List<ApiKeyProperties> legacyKey() {
+        String key = environment.getProperty(LEGACY_PROPERTY);
+        return key == null ? List.of() : List.of(new ApiKeyProperties(LEGACY_ID, key, null));
+    }
+
+    private static Entry[] compile(List<ApiKeyProperties> keys) {
+        return keys.stream()
+                .filter(properties -> properties.key() != null && !properties.key().isBlank())
+                .map(properties -> {
+                    String id = properties.id() != null ? properties.id() : LEGACY_ID;
+                    long expiresAtMillis = properties.expiresAt() != null
+                            ? properties.expiresAt().toEpochMilli()
+                            : Long.MAX_VALUE;
+                    Authentication authentication =
+                            UsernamePasswordAuthenticationToken.authenticated(id, null, AUTHORITIES);
+                    return new Entry(id, properties.key(), expiresAtMillis, authentication);
+                })
+                .toArray(Entry[]::new);
+    }
+
+    /** Compares every character of {@code expected}, whether or not an earlier one differed. */
+    static boolean constantTimeEquals(String expected, String provided) {
+        int diff = expected.length() ^ provided.length();
+        for (int i = 0; i < expected.length(); i++) {
+            char actual = i < provided.length() ? provided.charAt(i) : 0;
+            diff |= expected.charAt(i) ^ actual;
+        }
+        return diff == 0;
+    }
+
+    private record Entry(String id, String key, long expiresAtMillis, Authentication authentication) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.rag.chatstorage.security;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * WebFlux counterpart of {@link ApiKeyFilter}: checks {@code X-INTERNAL-KEY} on {@code /api/**}.
+ */
+public class ReactiveApiKeyFilter implements WebFilter {
+
+    private static final byte[] FORBIDDEN_BODY = "Forbidden: Invalid internal key".getBytes(StandardCharsets.UTF_8);
+
+    private final ApiKeyRegistry apiKeyRegistry;
+
+    public ReactiveApiKeyFilter(ApiKeyRegistry apiKeyRegistry) {
+        this.apiKeyRegistry = apiKeyRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        String path = exchange.getRequest().getURI().getPath();
+
+        // Protect only /api/** routes
+        if (!path.startsWith("/api/")) {
+            return chain.filter(exchange);
+        }
+
+        Authentication auth = apiKeyRegistry.authenticate(exchange.getRequest().getHeaders().getFirst("X-INTERNAL-KEY"));
+
+        if (auth == null) {
+            exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+            DataBuffer body = exchange.getResponse().bufferFactory().wrap(FORBIDDEN_BODY);
+            return exchange.getResponse().writeWith(Mono.just(body));
+        }
+
+        // Set authentication if key is valid (built once per key by the registry)
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth));
+    }
+}
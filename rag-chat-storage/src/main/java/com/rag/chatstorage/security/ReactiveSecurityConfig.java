@@ -0,0 +1,47 @@
+package com.rag.chatstorage.security;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+/**
+ * WebFlux counterpart of {@link SecurityConfig}, active with the {@code reactive} profile.
+ */
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ApiKeyRegistry apiKeyRegistry) {
+
+        http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .authorizeExchange(exchange -> exchange
+                        // Public endpoints
+                        .pathMatchers(
+                                "/swagger-ui/**",
+                                "/swagger-ui.html",
+                                "/v3/api-docs/**",
+                                "/actuator/**"
+                        ).permitAll()
+
+                        // Protect internal APIs
+                        .pathMatchers("/api/**").authenticated()
+
+                        .anyExchange().permitAll()
+                )
+                .addFilterAt(
+                        new ReactiveApiKeyFilter(apiKeyRegistry),
+                        SecurityWebFiltersOrder.AUTHENTICATION
+                );
+
+        return http.build();
+    }
+}
@@ -1,26 +1,28 @@
 package com.rag.chatstorage.security;
 
-import org.springframework.beans.factory.annotation.Value;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
+@Profile("!reactive")
 @EnableWebSecurity
 public class SecurityConfig {
 
-    @Value("${APP_INTERNAL_SERVICE_KEY}")
-    private String internalKey;
-
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, ApiKeyFilter apiKeyFilter) throws Exception {
 
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Async re-dispatches (SSE, streamed bodies) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints
                         .requestMatchers(
                                 "/swagger-ui/**",
@@ -35,7 +37,7 @@ public class SecurityConfig {
                         .anyRequest().permitAll()
                 )
                 .addFilterBefore(
-                        apiKeyFilter(),
+                        apiKeyFilter,
                         UsernamePasswordAuthenticationFilter.class
                 );
 
@@ -43,7 +45,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public ApiKeyFilter apiKeyFilter() {
-        return new ApiKeyFilter(internalKey);
+    public ApiKeyFilter apiKeyFilter(ApiKeyRegistry apiKeyRegistry) {
+        return new ApiKeyFilter(apiKeyRegistry);
     }
 }
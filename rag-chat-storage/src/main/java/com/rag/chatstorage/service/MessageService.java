@@ -1,16 +1,111 @@
 package com.rag.chatstorage.service;
 
+import com.rag.chatstorage.dto.BatchMessageItem;
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageContextResponse;
+import com.rag.chatstorage.dto.MessageHistoryVersion;
 import com.rag.chatstorage.dto.MessageRequest;
 import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.MessageSummaryResponse;
 import com.rag.chatstorage.entity.Message;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface MessageService {
     MessageResponse addMessage(UUID sessionId, MessageRequest request);
+
+    /**
+     * Stores several messages, possibly for different sessions, in one transaction.
+     *
+     * @param items messages to store, each carrying its session ID.
+     * @return the created messages, in the same order as {@code items}.
+     */
+    List<MessageResponse> addMessages(List<BatchMessageItem> items);
     Page<MessageResponse> getMessagesBySessionId(UUID sessionId, int page, int size);
+
+    /**
+     * Retrieves a slice of a session's messages using keyset pagination on {@code (createdAt, id)}.
+     *
+     * @param sessionId UUID of the session.
+     * @param cursor opaque cursor returned by the previous slice, or {@code null} for the first slice.
+     * @param size maximum number of messages to return.
+     * @return the slice and the cursor for the next one.
+     */
+    CursorPageResponse<MessageResponse> getMessagesBySessionIdAfter(UUID sessionId, String cursor, int size);
+
+    /**
+     * Same as {@link #getMessagesBySessionId}, without reading the messages' context.
+     */
+    Page<MessageSummaryResponse> getMessageSummariesBySessionId(UUID sessionId, int page, int size);
+
+    /**
+     * Same as {@link #getMessagesBySessionIdAfter}, without reading the messages' context.
+     */
+    CursorPageResponse<MessageSummaryResponse> getMessageSummariesBySessionIdAfter(UUID sessionId, String cursor, int size);
+
+    /**
+     * Returns the context of one message.
+     *
+     * @param sessionId UUID of the session.
+     * @param messageId UUID of the message.
+     * @return the message's context, {@code null} inside if it has none.
+     * @throws com.rag.chatstorage.exception.ChatSessionNotFoundException if the session does not exist.
+     * @throws com.rag.chatstorage.exception.ResourceNotFoundException if the session has no such message.
+     */
+    MessageContextResponse getMessageContext(UUID sessionId, UUID messageId);
+
+    /**
+     * Searches messages by their context with a SQL/JSON path predicate, evaluated by Postgres.
+     * Results are ordered by {@code (createdAt, id)} and paginated like
+     * {@link #getMessagesBySessionIdAfter}.
+     *
+     * @param filter predicate on the context, e.g. {@code $.intent == "greeting"} or
+     *               {@code $.docIds[*] == "doc-42"}.
+     * @param userId only messages in this user's sessions, or {@code null} if {@code sessionId} is given.
+     * @param sessionId only messages in this session, or {@code null} if {@code userId} is given.
+     * @param cursor opaque cursor returned by the previous slice, or {@code null} for the first slice.
+     * @param size maximum number of messages to return.
+     * @return the matching messages and the cursor for the next slice.
+     * @throws com.rag.chatstorage.exception.InvalidRequestException if the filter, cursor or size is invalid,
+     *         neither {@code userId} nor {@code sessionId} is given, or the search exceeds its statement timeout.
+     */
+    CursorPageResponse<MessageResponse> searchMessages(String filter, String userId, UUID sessionId, String cursor, int size);
+
+    /**
+     * Returns the version of a session's history, used to answer conditional history reads.
+     *
+     * @param sessionId UUID of the session.
+     * @return the version, from the session's message sequence number and open streams.
+     * @throws com.rag.chatstorage.exception.ChatSessionNotFoundException if the session does not exist.
+     */
+    MessageHistoryVersion getHistoryVersion(UUID sessionId);
+
+    /**
+     * Retrieves the messages of a session committed after a cursor, in commit order, for
+     * watchers of new messages. Unlike history slices, no message committed later can sort
+     * before the returned cursor, and streamed messages only appear once completed.
+     *
+     * @param sessionId UUID of the session.
+     * @param cursor cursor returned by this method or {@link #getCommittedTailCursor}; a history
+     *               cursor resumes at the first message after it, possibly repeating messages
+     *               committed out of order around it; {@code null} for all messages.
+     * @param size maximum number of messages to return.
+     * @return the slice, whose {@code nextCursor} points after its last message (or repeats
+     *         the given position when it is empty).
+     * @throws com.rag.chatstorage.exception.ChatSessionNotFoundException if the session does not exist.
+     */
+    CursorPageResponse<MessageResponse> getCommittedMessagesAfter(UUID sessionId, String cursor, int size);
+
+    /**
+     * Returns the cursor of {@link #getCommittedMessagesAfter} after every message committed
+     * in a session so far.
+     *
+     * @throws com.rag.chatstorage.exception.ChatSessionNotFoundException if the session does not exist.
+     */
+    String getCommittedTailCursor(UUID sessionId);
 }
@@ -0,0 +1,54 @@
+package com.rag.chatstorage.service;
+
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.MessageStreamResponse;
+import com.rag.chatstorage.dto.OpenStreamRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface MessageStreamService {
+
+    /**
+     * Opens a streaming message in a session. Nothing is stored until content arrives.
+     *
+     * @param sessionId UUID of the session.
+     * @param request DTO containing the sender and optional context.
+     * @return the {@link MessageStreamResponse} holding the stream ID.
+     */
+    MessageStreamResponse openStream(UUID sessionId, OpenStreamRequest request);
+
+    /**
+     * Appends a chunk to an open stream and forwards it to the session's subscribers.
+     * The chunk is only buffered in memory; it reaches the database on the next flush.
+     *
+     * @param sessionId UUID of the session.
+     * @param streamId UUID of the stream.
+     * @param delta text to append.
+     */
+    void appendChunk(UUID sessionId, UUID streamId, String delta);
+
+    /**
+     * Flushes the final content of a stream, closes it and notifies subscribers.
+     *
+     * @param sessionId UUID of the session.
+     * @param streamId UUID of the stream.
+     * @return the stored message as a {@link MessageResponse}.
+     */
+    MessageResponse completeStream(UUID sessionId, UUID streamId);
+
+    /**
+     * Subscribes to the streaming messages of a session over Server-Sent Events.
+     * Content buffered so far for in-flight streams is replayed first.
+     *
+     * @param sessionId UUID of the session.
+     * @return the emitter bound to the HTTP response.
+     */
+    SseEmitter subscribe(UUID sessionId);
+
+    /**
+     * Writes buffered content of in-flight streams to the database and
+     * closes streams that have been idle for too long.
+     */
+    void flushPending();
+}
@@ -0,0 +1,36 @@
+package com.rag.chatstorage.service;
+
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageResponse;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface MessageSubscriptionService {
+
+    /**
+     * Waits for messages newer than a cursor without holding a request thread.
+     * Completes as soon as such messages are stored, or with an empty slice on timeout.
+     *
+     * @param sessionId UUID of the session.
+     * @param cursor cursor to wait after, as returned by a previous wait or by any history
+     *               slice; {@code null} to wait for messages newer than the latest one.
+     * @param size maximum number of messages to return.
+     * @param timeoutSeconds how long to wait before answering with an empty slice.
+     * @return the pending slice, whose {@code nextCursor} is the cursor to wait after next.
+     */
+    DeferredResult<CursorPageResponse<MessageResponse>> awaitMessages(UUID sessionId, String cursor, int size,
+                                                                      int timeoutSeconds);
+
+    /**
+     * Subscribes to messages newer than a cursor over Server-Sent Events. Each 'messages'
+     * event carries a slice whose {@code nextCursor} resumes the subscription after it.
+     *
+     * @param sessionId UUID of the session.
+     * @param cursor cursor to follow from; {@code null} to start after the latest message.
+     * @param size maximum number of messages per event.
+     * @return the emitter bound to the HTTP response.
+     */
+    SseEmitter subscribeMessages(UUID sessionId, String cursor, int size);
+}
@@ -0,0 +1,44 @@
+package com.rag.chatstorage.service;
+
+import com.rag.chatstorage.dto.BatchMessageItem;
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageContextResponse;
+import com.rag.chatstorage.dto.MessageHistoryVersion;
+import com.rag.chatstorage.dto.MessageRequest;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.MessageSummaryResponse;
+import org.springframework.data.domain.Page;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link MessageService}, backed by R2DBC.
+ * Each method behaves like the {@link MessageService} method of the same name.
+ */
+public interface ReactiveMessageService {
+
+    Mono<MessageResponse> addMessage(UUID sessionId, MessageRequest request);
+
+    /**
+     * Stores several messages, possibly for different sessions, in one transaction.
+     *
+     * @return the created messages, in the same order as {@code items}.
+     */
+    Mono<List<MessageResponse>> addMessages(List<BatchMessageItem> items);
+
+    Mono<Page<MessageResponse>> getMessagesBySessionId(UUID sessionId, int page, int size);
+
+    Mono<CursorPageResponse<MessageResponse>> getMessagesBySessionIdAfter(UUID sessionId, String cursor, int size);
+
+    Mono<Page<MessageSummaryResponse>> getMessageSummariesBySessionId(UUID sessionId, int page, int size);
+
+    Mono<CursorPageResponse<MessageSummaryResponse>> getMessageSummariesBySessionIdAfter(UUID sessionId, String cursor, int size);
+
+    Mono<MessageContextResponse> getMessageContext(UUID sessionId, UUID messageId);
+
+    Mono<CursorPageResponse<MessageResponse>> searchMessages(String filter, String userId, UUID sessionId, String cursor, int size);
+
+    Mono<MessageHistoryVersion> getHistoryVersion(UUID sessionId);
+}
@@ -0,0 +1,47 @@
+package com.rag.chatstorage.service;
+
+import com.rag.chatstorage.dto.CreateSessionRequest;
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.RenameSessionRequest;
+import com.rag.chatstorage.dto.SessionResponse;
+import com.rag.chatstorage.dto.ToggleFavoriteRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link SessionService}, backed by R2DBC.
+ * Each method behaves like the {@link SessionService} method of the same name.
+ */
+public interface ReactiveSessionService {
+
+    Mono<SessionResponse> createSession(CreateSessionRequest request);
+
+    Mono<Void> deleteSession(UUID sessionId);
+
+    /**
+     * @return the number of sessions deleted.
+     */
+    Mono<Integer> deleteSessionsForUser(String userId);
+
+    Mono<SessionResponse> renameSession(UUID sessionId, RenameSessionRequest request);
+
+    Mono<SessionResponse> toggleFavorite(UUID sessionId, ToggleFavoriteRequest request);
+
+    Flux<SessionResponse> getSessionsForUser(String userId);
+
+    Mono<CursorPageResponse<SessionResponse>> getSessionsForUser(String userId, boolean favoritesOnly, String title,
+                                                                 String cursor, int size);
+
+    Flux<SessionResponse> getAllSessions();
+
+    Mono<CursorPageResponse<SessionResponse>> getAllSessions(String cursor, int size);
+
+    /**
+     * Streams all sessions, most recently updated first, fetching rows as the subscriber requests them.
+     */
+    Flux<SessionResponse> exportAllSessions();
+
+    Mono<SessionResponse> getSessionById(UUID sessionId);
+}
@@ -1,12 +1,14 @@
 package com.rag.chatstorage.service;
 
 import com.rag.chatstorage.dto.CreateSessionRequest;
+import com.rag.chatstorage.dto.CursorPageResponse;
 import com.rag.chatstorage.dto.RenameSessionRequest;
 import com.rag.chatstorage.dto.SessionResponse;
 import com.rag.chatstorage.dto.ToggleFavoriteRequest;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface SessionService {
 
@@ -25,6 +27,14 @@ public interface SessionService {
      */
     void deleteSession(UUID sessionId);
 
+    /**
+     * Deletes all sessions of a user together with their messages (e.g. for a GDPR purge).
+     *
+     * @param userId ID of the user.
+     * @return the number of sessions deleted.
+     */
+    int deleteSessionsForUser(String userId);
+
     /**
      * Renames an existing session.
      *
@@ -50,11 +60,39 @@ public interface SessionService {
      */
     List<SessionResponse> getSessionsForUser(String userId);
 
+    /**
+     * Retrieves a slice of a user's sessions, favorites first and then most recently updated,
+     * using keyset pagination.
+     *
+     * @param userId ID of the user.
+     * @param favoritesOnly only return sessions marked as favorite.
+     * @param title optional case-insensitive substring the title must contain.
+     * @param cursor opaque cursor returned by the previous slice, or {@code null} for the first slice.
+     * @param size maximum number of sessions to return.
+     */
+    CursorPageResponse<SessionResponse> getSessionsForUser(String userId, boolean favoritesOnly, String title,
+                                                           String cursor, int size);
+
     /**
      * Retrieves all sessions across all users.
      */
     List<SessionResponse> getAllSessions();
 
+    /**
+     * Retrieves a slice of all sessions, most recently updated first, using keyset pagination.
+     *
+     * @param cursor opaque cursor returned by the previous slice, or {@code null} for the first slice.
+     * @param size maximum number of sessions to return.
+     */
+    CursorPageResponse<SessionResponse> getAllSessions(String cursor, int size);
+
+    /**
+     * Streams all sessions, most recently updated first, to {@code consumer} one at a time
+     * without holding the whole table in memory. A failure part way through is logged with the
+     * number of sessions already passed on, then rethrown.
+     */
+    void exportAllSessions(Consumer<SessionResponse> consumer);
+
     /**
      * Retrieves a single session by its ID.
      */
@@ -0,0 +1,124 @@
+package com.rag.chatstorage.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Wakes up whoever waits for new messages in a session.
+ *
+ * Writers call {@link #messagesAdded(UUID)}; listeners registered with
+ * {@link #subscribe(UUID, Runnable)} for that session run once the writing transaction
+ * has committed, so a woken listener always finds the new rows. Listeners run on the
+ * committing thread and must only hand work off.
+ *
+ * With {@code app.message-notifications.postgres.enabled}, every notification is also
+ * sent with {@code pg_notify} on {@link #CHANNEL} in the writing transaction; Postgres
+ * delivers it on commit to the {@link PostgresMessageListener} of every instance, which
+ * wakes that instance's listeners.
+ */
+@Component
+@Profile("!reactive")
+@Slf4j
+public class MessageNotifier {
+
+    public static final String CHANNEL = "chat_messages";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgresEnabled;
+
+    /** Tags this instance's notifications, so its own listener can skip them. */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Map<UUID, Set<Runnable>> listeners = new ConcurrentHashMap<>();
+
+    public MessageNotifier(JdbcTemplate jdbcTemplate,
+                           @Value("${app.message-notifications.postgres.enabled:false}") boolean postgresEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgresEnabled = postgresEnabled;
+    }
+
+    /**
+     * Registers a listener for new messages in a session.
+     *
+     * @return unregisters the listener; safe to call more than once.
+     */
+    public Runnable subscribe(UUID sessionId, Runnable listener) {
+        listeners.compute(sessionId, (id, set) -> {
+            Set<Runnable> registered = set != null ? set : new CopyOnWriteArraySet<>();
+            registered.add(listener);
+            return registered;
+        });
+        return () -> listeners.computeIfPresent(sessionId, (id, set) -> {
+            set.remove(listener);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Announces new messages in a session: after commit when called inside a transaction,
+     * at once otherwise.
+     */
+    public void messagesAdded(UUID sessionId) {
+        if (postgresEnabled) {
+            jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, CHANNEL, instanceId + ":" + sessionId);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wake(sessionId);
+                }
+            });
+        } else {
+            wake(sessionId);
+        }
+    }
+
+    /**
+     * Handles a payload received on {@link #CHANNEL}.
+     */
+    void onRemoteNotification(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.startsWith(instanceId + ":")) {
+            return;
+        }
+        try {
+            wake(UUID.fromString(payload.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed notification on {}: {}", CHANNEL, payload);
+        }
+    }
+
+    /**
+     * Wakes every listener, e.g. after notifications may have been missed.
+     */
+    void wakeAll() {
+        listeners.keySet().forEach(this::wake);
+    }
+
+    private void wake(UUID sessionId) {
+        Set<Runnable> registered = listeners.get(sessionId);
+        if (registered == null) {
+            return;
+        }
+        for (Runnable listener : registered) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.warn("Message listener for session [{}] failed: {}", sessionId, e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.rag.chatstorage.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps monthly partitions of {@code chat_messages} created ahead of time.
+ *
+ * The partitions themselves are created by the {@code ensure_chat_messages_partitions}
+ * function (V3, redefined in V8), which serializes concurrent callers, so every
+ * instance can run this job. Rows for a month without a partition land in
+ * {@code chat_messages_default}; when that month's partition is created they are
+ * moved into it in the same transaction.
+ */
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class MessagePartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.messages.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Scheduled(cron = "${app.messages.partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public void ensurePartitions() {
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                    "select ensure_chat_messages_partitions(?)", Integer.class, monthsAhead);
+            if (created != null && created > 0) {
+                log.info("Created {} chat_messages partition(s)", created);
+            }
+        } catch (Exception e) {
+            log.error("Failed to create chat_messages partitions: {}", e.getMessage(), e);
+        }
+    }
+}
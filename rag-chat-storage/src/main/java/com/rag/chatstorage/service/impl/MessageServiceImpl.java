@@ -1,54 +1,92 @@
 package com.rag.chatstorage.service.impl;
 
+import com.rag.chatstorage.config.MetricsConfig;
+import com.rag.chatstorage.dto.BatchMessageItem;
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageContextResponse;
+import com.rag.chatstorage.dto.MessageHistoryVersion;
 import com.rag.chatstorage.dto.MessageRequest;
 import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.MessageSummaryResponse;
 import com.rag.chatstorage.entity.Message;
 import com.rag.chatstorage.entity.Session;
 import com.rag.chatstorage.exception.ChatSessionNotFoundException;
+import com.rag.chatstorage.exception.InvalidRequestException;
+import com.rag.chatstorage.exception.ResourceNotFoundException;
 import com.rag.chatstorage.mapper.MessageMapper;
+import com.rag.chatstorage.pagination.KeysetCursor;
+import com.rag.chatstorage.pagination.SequenceCursor;
 import com.rag.chatstorage.repository.MessageRepository;
 import com.rag.chatstorage.repository.SessionRepository;
 import com.rag.chatstorage.service.MessageService;
+import com.rag.chatstorage.validation.ContextFilter;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Profile("!reactive")
 @Transactional
 @RequiredArgsConstructor
 @Slf4j
+@Observed(name = MetricsConfig.SERVICE_TIMER)
 public class MessageServiceImpl implements MessageService {
 
+    /** SQLSTATE raised by Postgres when an insert references a missing row. */
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
     private final SessionRepository sessionRepository;
     private final MessageRepository messageRepository;
     private final MessageMapper messageMapper;
+    private final MessageNotifier messageNotifier;
+
+    @Value("${app.messages.search.statement-timeout-ms:5000}")
+    private long searchStatementTimeoutMs;
 
     @Override
-    @Transactional // Ensures consistency between session check and message save
+    @Transactional
     public MessageResponse addMessage(UUID sessionId, MessageRequest chatMessageRequest) {
         try {
-            // Validate the session existence
-            Session chatSession = sessionRepository.findById(sessionId)
-                    .orElseThrow(() -> new ChatSessionNotFoundException(
-                            "Chat session not found with id: " + sessionId));
+            // Attach the session by reference (no SELECT); the FK on chat_messages.session_id
+            // rejects the insert if the session does not exist
+            Session chatSession = sessionRepository.getReferenceById(sessionId);
 
             // Map DTO to Entity using MapStruct
             Message message = messageMapper.toEntity(chatMessageRequest, chatSession);
 
-            // Save the message
-            Message savedMessage = messageRepository.save(message);
+            // Flush now so a missing session surfaces here rather than at commit
+            Message savedMessage = messageRepository.saveAndFlush(message);
             log.info("Message [{}] added to session [{}]", savedMessage.getId(), sessionId);
+            messageNotifier.messagesAdded(sessionId);
 
             // Return DTO
             return messageMapper.toResponse(savedMessage);
 
-        } catch (ChatSessionNotFoundException e) {
-            log.warn("AddMessage validation error for session [{}]: {}", sessionId, e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            if (isForeignKeyViolation(e)) {
+                log.warn("AddMessage validation error for session [{}]: session does not exist", sessionId);
+                throw new ChatSessionNotFoundException("Chat session not found with id: " + sessionId);
+            }
+            log.error("Unexpected error while adding message to session [{}]: {}", sessionId, e.getMessage(), e);
             throw e;
         } catch (Exception e) {
             log.error("Unexpected error while adding message to session [{}]: {}", sessionId, e.getMessage(), e);
@@ -56,23 +94,203 @@ public class MessageServiceImpl implements MessageService {
         }
     }
 
+    @Override
+    public List<MessageResponse> addMessages(List<BatchMessageItem> items) {
+        try {
+            // Validate every referenced session with a single query
+            Set<UUID> sessionIds = items.stream()
+                    .map(BatchMessageItem::getSessionId)
+                    .collect(Collectors.toSet());
+            Map<UUID, Session> sessions = sessionRepository.findAllById(sessionIds).stream()
+                    .collect(Collectors.toMap(Session::getId, Function.identity()));
+
+            if (sessions.size() != sessionIds.size()) {
+                Set<UUID> missing = new HashSet<>(sessionIds);
+                missing.removeAll(sessions.keySet());
+                throw new ChatSessionNotFoundException("Chat session not found with id(s): " + missing);
+            }
+
+            List<Message> messages = items.stream()
+                    .map(item -> messageMapper.toEntity(item, sessions.get(item.getSessionId())))
+                    .toList();
+            MessageTimestamps.inListOrder(messages);
+
+            // Ids are generated in memory (GenerationType.UUID), so Hibernate can group
+            // these inserts into JDBC batches when the transaction flushes
+            List<Message> savedMessages = messageRepository.saveAll(messages);
+            log.info("Added {} messages across {} session(s)", savedMessages.size(), sessionIds.size());
+            sessionIds.forEach(messageNotifier::messagesAdded);
+
+            return savedMessages.stream().map(messageMapper::toResponse).toList();
+
+        } catch (ChatSessionNotFoundException e) {
+            log.warn("AddMessages validation error: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error while adding a batch of {} messages: {}", items.size(), e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @Override
     public Page<MessageResponse> getMessagesBySessionId(UUID sessionId, int page, int size) {
+        return fetchPage(sessionId, page, size, pageable ->
+                messageRepository.findBySessionIdOrderByCreatedAtAsc(sessionId, pageable).map(messageMapper::toResponse));
+    }
+
+    @Override
+    public Page<MessageSummaryResponse> getMessageSummariesBySessionId(UUID sessionId, int page, int size) {
+        return fetchPage(sessionId, page, size, pageable -> messageRepository.findSummariesBySessionId(sessionId, pageable));
+    }
+
+    @Override
+    public CursorPageResponse<MessageResponse> getMessagesBySessionIdAfter(UUID sessionId, String cursor, int size) {
+        return fetchSlice(sessionId, cursor, size,
+                (after, limit) -> after == null
+                        ? messageRepository.findFirstSliceBySessionId(sessionId, limit)
+                        : messageRepository.findSliceBySessionIdAfter(sessionId, after.timestamp(), after.id(), limit),
+                m -> KeysetCursor.of(m.getCreatedAt(), m.getId()), messageMapper::toResponse);
+    }
+
+    @Override
+    public CursorPageResponse<MessageSummaryResponse> getMessageSummariesBySessionIdAfter(UUID sessionId, String cursor, int size) {
+        return fetchSlice(sessionId, cursor, size,
+                (after, limit) -> after == null
+                        ? messageRepository.findFirstSummarySliceBySessionId(sessionId, Limit.of(limit))
+                        : messageRepository.findSummarySliceBySessionIdAfter(sessionId, after.timestamp(), after.id(),
+                                Limit.of(limit)),
+                m -> KeysetCursor.of(m.getCreatedAt(), m.getId()), Function.identity());
+    }
+
+    @Override
+    public MessageContextResponse getMessageContext(UUID sessionId, UUID messageId) {
+        return messageRepository.findContextByIdAndSessionId(messageId, sessionId)
+                .orElseThrow(() -> {
+                    // Tell a missing session apart from a missing message
+                    if (!sessionRepository.existsById(sessionId)) {
+                        log.warn("GetMessageContext validation error for session [{}]: session does not exist", sessionId);
+                        return new ChatSessionNotFoundException("Chat session not found with id: " + sessionId);
+                    }
+                    log.warn("GetMessageContext validation error for session [{}]: message [{}] does not exist", sessionId, messageId);
+                    return new ResourceNotFoundException("Message not found with id: " + messageId);
+                });
+    }
+
+    @Override
+    public CursorPageResponse<MessageResponse> searchMessages(String filter, String userId, UUID sessionId,
+                                                              String cursor, int size) {
         try {
-            // Verify that the session exists before querying
-            if (!sessionRepository.existsById(sessionId)) {
-                throw new ChatSessionNotFoundException("Chat session not found with id: " + sessionId);
+            ContextFilter.check(filter, userId, sessionId);
+            KeysetCursor.checkSliceSize(size);
+            KeysetCursor after = KeysetCursor.decode(cursor);
+
+            List<Message> rows = messageRepository.searchByContext(filter, userId, sessionId, after, size + 1,
+                    searchStatementTimeoutMs);
+
+            CursorPageResponse<MessageResponse> slice = CursorPageResponse.fromRows(rows, size,
+                    m -> KeysetCursor.of(m.getCreatedAt(), m.getId()).encode(), messageMapper::toResponse);
+            log.debug("Found {} messages matching [{}], hasNext={}", slice.getItems().size(), filter, slice.isHasNext());
+
+            return slice;
+
+        } catch (InvalidRequestException e) {
+            log.warn("SearchMessages validation error: {}", e.getMessage());
+            throw e;
+        } catch (DataAccessException e) {
+            if (ContextFilter.isRejectedFilter(e)) {
+                log.warn("SearchMessages validation error: filter [{}] rejected by the database", filter);
+                throw ContextFilter.invalidFilter(e);
             }
+            if (ContextFilter.isTimedOut(e)) {
+                log.warn("SearchMessages validation error: filter [{}] exceeded the statement timeout", filter);
+                throw ContextFilter.timedOut(searchStatementTimeoutMs);
+            }
+            log.error("Unexpected error while searching messages with filter [{}]: {}", filter, e.getMessage(), e);
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error while searching messages with filter [{}]: {}", filter, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Override
+    public MessageHistoryVersion getHistoryVersion(UUID sessionId) {
+        return messageRepository.findHistoryVersion(sessionId)
+                .orElseThrow(() -> {
+                    log.warn("GetHistoryVersion validation error for session [{}]: session does not exist", sessionId);
+                    return new ChatSessionNotFoundException("Chat session not found with id: " + sessionId);
+                });
+    }
+
+    @Override
+    public CursorPageResponse<MessageResponse> getCommittedMessagesAfter(UUID sessionId, String cursor, int size) {
+        KeysetCursor.checkSliceSize(size);
+        long after = committedPosition(sessionId, cursor);
+
+        List<Message> rows = messageRepository.findCommittedSliceAfter(sessionId, after, size + 1);
+        if (rows.isEmpty() && !sessionRepository.existsById(sessionId)) {
+            log.warn("GetCommittedMessagesAfter validation error for session [{}]: session does not exist", sessionId);
+            throw new ChatSessionNotFoundException("Chat session not found with id: " + sessionId);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<Message> slice = hasNext ? rows.subList(0, size) : rows;
+        long next = slice.isEmpty() ? after : slice.get(slice.size() - 1).getSeq();
+        return new CursorPageResponse<>(slice.stream().map(messageMapper::toResponse).toList(),
+                SequenceCursor.of(next).encode(), hasNext);
+    }
+
+    @Override
+    public String getCommittedTailCursor(UUID sessionId) {
+        return SequenceCursor.of(lastSeq(sessionId)).encode();
+    }
+
+    /**
+     * Sequence number to continue after for a cursor of {@link #getCommittedMessagesAfter}.
+     * A history cursor maps to just below the first message after it, so nothing after it is
+     * skipped even if it committed before messages that sort earlier.
+     */
+    private long committedPosition(UUID sessionId, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        if (SequenceCursor.isSequenceCursor(cursor)) {
+            return SequenceCursor.decode(cursor).seq();
+        }
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        return messageRepository.findSeqBefore(sessionId, position.timestamp(), position.id())
+                .orElseGet(() -> lastSeq(sessionId));
+    }
+
+    private long lastSeq(UUID sessionId) {
+        return messageRepository.findLastSeq(sessionId)
+                .orElseThrow(() -> {
+                    log.warn("GetCommittedTailCursor validation error for session [{}]: session does not exist", sessionId);
+                    return new ChatSessionNotFoundException("Chat session not found with id: " + sessionId);
+                });
+    }
 
+    /**
+     * Reads one offset page of a session's history.
+     *
+     * @param query fetches the page of the given request.
+     */
+    private <T> Page<T> fetchPage(UUID sessionId, int page, int size, Function<PageRequest, Page<T>> query) {
+        try {
             // Create a pageable object for pagination
             PageRequest pageable = PageRequest.of(page, size);
 
             // Fetch messages using repository method
-            Page<Message> messages = messageRepository.findBySessionIdOrderByCreatedAtAsc(sessionId, pageable);
+            Page<T> messages = query.apply(pageable);
+
+            // Only an empty page can hide a missing session
+            if (messages.isEmpty() && !sessionRepository.existsById(sessionId)) {
+                throw new ChatSessionNotFoundException("Chat session not found with id: " + sessionId);
+            }
+
             log.debug("Fetched {} messages for session [{}]", messages.getTotalElements(), sessionId);
 
-            // Convert Page<Message> to Page<MessageResponse> using Page.map()
-            return messages.map(messageMapper::toResponse);
+            return messages;
 
         } catch (ChatSessionNotFoundException e) {
             log.warn("GetMessagesBySession validation error for session [{}]: {}", sessionId, e.getMessage());
@@ -83,4 +301,50 @@ public class MessageServiceImpl implements MessageService {
         }
     }
 
+    /**
+     * Reads one keyset slice of a session's history.
+     *
+     * @param query fetches up to {@code limit} rows after the cursor, or from the start if it is {@code null}.
+     * @param cursorOf position of a row, for the next cursor.
+     * @param mapper converts a row into the response item.
+     */
+    private <E, T> CursorPageResponse<T> fetchSlice(UUID sessionId, String cursor, int size,
+                                                     BiFunction<KeysetCursor, Integer, List<E>> query,
+                                                     Function<E, KeysetCursor> cursorOf, Function<E, T> mapper) {
+        try {
+            KeysetCursor.checkSliceSize(size);
+            KeysetCursor after = KeysetCursor.decode(cursor);
+
+            // Fetch one extra row to learn whether another slice exists, instead of running a count query
+            List<E> rows = query.apply(after, size + 1);
+
+            // Only an empty slice can hide a missing session
+            if (rows.isEmpty() && !sessionRepository.existsById(sessionId)) {
+                throw new ChatSessionNotFoundException("Chat session not found with id: " + sessionId);
+            }
+
+            CursorPageResponse<T> slice = CursorPageResponse.fromRows(rows, size,
+                    row -> cursorOf.apply(row).encode(), mapper);
+            log.debug("Fetched {} messages for session [{}], hasNext={}", slice.getItems().size(), sessionId, slice.isHasNext());
+
+            return slice;
+
+        } catch (ChatSessionNotFoundException | InvalidRequestException e) {
+            log.warn("GetMessagesBySessionAfter validation error for session [{}]: {}", sessionId, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error while retrieving messages for session [{}]: {}", sessionId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Whether the insert was rejected by a foreign key. {@code chat_messages} has a single
+     * foreign key ({@code session_id}), so this means the referenced session does not exist.
+     */
+    private static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && FOREIGN_KEY_VIOLATION.equals(violation.getSQLState());
+    }
+
 }
@@ -0,0 +1,282 @@
+package com.rag.chatstorage.service.impl;
+
+import com.rag.chatstorage.dto.MessageRequest;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.MessageStreamEvent;
+import com.rag.chatstorage.dto.MessageStreamResponse;
+import com.rag.chatstorage.dto.OpenStreamRequest;
+import com.rag.chatstorage.entity.Message;
+import com.rag.chatstorage.exception.InvalidRequestException;
+import com.rag.chatstorage.exception.ResourceNotFoundException;
+import com.rag.chatstorage.mapper.MessageMapper;
+import com.rag.chatstorage.repository.MessageRepository;
+import com.rag.chatstorage.repository.SessionRepository;
+import com.rag.chatstorage.service.MessageStreamService;
+import com.rag.chatstorage.service.SessionService;
+import com.rag.chatstorage.validation.ContextJson;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Buffers streamed assistant output in memory and persists it in coarse steps.
+ *
+ * Chunks are kept in a {@link StreamingMessage} per stream and fanned out to SSE
+ * subscribers immediately. The row in {@code chat_messages} is inserted on the
+ * first flush and its content rewritten on later flushes, which happen on a fixed
+ * interval and on completion - never per chunk. Until the last flush the row is
+ * marked as streaming, which keeps it from watchers of new messages. This class is deliberately not
+ * {@code @Transactional}: appends never touch the database, and each flush is a
+ * single repository call with its own short transaction.
+ *
+ * Open streams and SSE subscribers live in this instance's memory only. With several
+ * chat-storage instances, all requests of a session's streams (open, chunks, complete,
+ * subscribe) must reach the same instance, e.g. by routing on the session ID; any other
+ * instance answers 404 for the stream and never sees its chunks.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class MessageStreamServiceImpl implements MessageStreamService {
+
+    private static final String CHUNK_EVENT = "chunk";
+    private static final String COMPLETE_EVENT = "complete";
+
+    private final SessionRepository sessionRepository;
+    private final MessageRepository messageRepository;
+    private final MessageMapper messageMapper;
+    private final SessionService sessionService;
+    private final MessageNotifier messageNotifier;
+
+    private final Map<UUID, StreamingMessage> streams = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${app.streaming.idle-timeout-ms:300000}")
+    private long idleTimeoutMs;
+
+    @Value("${app.streaming.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    @Override
+    public MessageStreamResponse openStream(UUID sessionId, OpenStreamRequest request) {
+        // Throws ChatSessionNotFoundException; usually answered by the session cache
+        sessionService.getSessionById(sessionId);
+
+        StreamingMessage stream = new StreamingMessage(UUID.randomUUID(), sessionId, request.getSender(),
+                ContextJson.toJson(request.getContext()));
+        streams.put(stream.getStreamId(), stream);
+        log.info("Opened stream [{}] in session [{}]", stream.getStreamId(), sessionId);
+
+        return new MessageStreamResponse(stream.getStreamId(), sessionId, stream.getSender(), null, 0);
+    }
+
+    @Override
+    public void appendChunk(UUID sessionId, UUID streamId, String delta) {
+        StreamingMessage stream = findStream(sessionId, streamId);
+
+        int offset;
+        stream.lock();
+        try {
+            // Completed or closed between the lookup and the lock: the chunk would be lost
+            requireOpen(stream);
+            offset = stream.append(delta);
+        } finally {
+            stream.unlock();
+        }
+
+        broadcast(sessionId, CHUNK_EVENT, new MessageStreamEvent(streamId, stream.getSender(), offset, delta));
+    }
+
+    @Override
+    public MessageResponse completeStream(UUID sessionId, UUID streamId) {
+        StreamingMessage stream = findStream(sessionId, streamId);
+
+        Message stored;
+        stream.lock();
+        try {
+            requireOpen(stream);
+            if (stream.isBlank()) {
+                throw new InvalidRequestException("Cannot complete stream " + streamId + " without content");
+            }
+            stored = flush(stream, true);
+            stream.close();
+            streams.remove(streamId);
+        } finally {
+            stream.unlock();
+        }
+        log.info("Completed stream [{}] as message [{}] in session [{}]", streamId, stored.getId(), sessionId);
+
+        // Waiters for new messages read the row once it is final
+        messageNotifier.messagesAdded(sessionId);
+        MessageResponse response = messageMapper.toResponse(stored);
+        broadcast(sessionId, COMPLETE_EVENT, response);
+        return response;
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID sessionId) {
+        sessionService.getSessionById(sessionId);
+
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        subscribers.compute(sessionId, (id, emitters) -> {
+            Set<SseEmitter> set = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+            set.add(emitter);
+            return set;
+        });
+        emitter.onCompletion(() -> removeSubscriber(sessionId, emitter));
+        emitter.onTimeout(() -> removeSubscriber(sessionId, emitter));
+        emitter.onError(e -> removeSubscriber(sessionId, emitter));
+
+        // Replay what in-flight streams have produced so far, so late subscribers catch up
+        for (StreamingMessage stream : streams.values()) {
+            if (!stream.getSessionId().equals(sessionId)) {
+                continue;
+            }
+            String buffered;
+            stream.lock();
+            try {
+                buffered = stream.getContent().toString();
+            } finally {
+                stream.unlock();
+            }
+            if (!buffered.isEmpty()) {
+                send(sessionId, emitter, CHUNK_EVENT, new MessageStreamEvent(stream.getStreamId(), stream.getSender(), 0, buffered));
+            }
+        }
+        return emitter;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.streaming.flush-interval-ms:2000}")
+    public void flushPending() {
+        long idleCutoff = System.currentTimeMillis() - idleTimeoutMs;
+
+        for (StreamingMessage stream : streams.values()) {
+            try {
+                Message abandoned = null;
+                stream.lock();
+                try {
+                    if (stream.isClosed()) {
+                        continue;
+                    }
+                    if (stream.isIdleSince(idleCutoff)) {
+                        // The producer went away: keep what was generated, then drop the stream.
+                        // A failed flush leaves it open, so the next run retries it
+                        if (!stream.isBlank()) {
+                            abandoned = flush(stream, true);
+                        }
+                        stream.close();
+                        streams.remove(stream.getStreamId());
+                        log.warn("Closed idle stream [{}] in session [{}]", stream.getStreamId(), stream.getSessionId());
+                    } else if (stream.isDirty() && !stream.isBlank()) {
+                        flush(stream, false);
+                    }
+                } finally {
+                    stream.unlock();
+                }
+                if (abandoned != null) {
+                    messageNotifier.messagesAdded(stream.getSessionId());
+                    broadcast(stream.getSessionId(), COMPLETE_EVENT, messageMapper.toResponse(abandoned));
+                }
+            } catch (Exception e) {
+                log.error("Error while flushing stream [{}]: {}", stream.getStreamId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    // ---------- Helpers ----------
+
+    private StreamingMessage findStream(UUID sessionId, UUID streamId) {
+        StreamingMessage stream = streams.get(streamId);
+        if (stream == null || !stream.getSessionId().equals(sessionId)) {
+            throw new ResourceNotFoundException("Open stream not found with id: " + streamId);
+        }
+        return stream;
+    }
+
+    /** Rejects a stream closed after it was looked up, like one that is already gone. Callers hold its lock. */
+    private static void requireOpen(StreamingMessage stream) {
+        if (stream.isClosed()) {
+            throw new ResourceNotFoundException("Open stream not found with id: " + stream.getStreamId());
+        }
+    }
+
+    /**
+     * Stores the buffered content: inserts the row on the first call and
+     * rewrites its content afterwards. Callers hold the stream's lock.
+     *
+     * @param last whether the stream ends with this flush, which releases the row to watchers.
+     */
+    private Message flush(StreamingMessage stream, boolean last) {
+        String content = stream.getContent().toString();
+
+        if (stream.getMessageId() == null) {
+            MessageRequest request = new MessageRequest();
+            request.setSender(stream.getSender());
+            request.setContent(content);
+            request.setContext(stream.getContext());
+
+            Message message = messageMapper.toEntity(request, sessionRepository.getReferenceById(stream.getSessionId()));
+            message.setStreaming(!last);
+            Message saved = messageRepository.save(message);
+            stream.markStored(saved.getId(), saved.getCreatedAt());
+            stream.markFlushed(content.length());
+            return saved;
+        }
+
+        if (last) {
+            messageRepository.completeStreamedContent(stream.getMessageId(), stream.getSessionId(), content);
+            stream.markFlushed(content.length());
+        } else if (stream.isDirty()) {
+            messageRepository.updateContent(stream.getMessageId(), content);
+            stream.markFlushed(content.length());
+        }
+        Message message = new Message();
+        message.setId(stream.getMessageId());
+        message.setSession(sessionRepository.getReferenceById(stream.getSessionId()));
+        message.setSender(stream.getSender());
+        message.setContent(content);
+        message.setContext(stream.getContext());
+        message.setCreatedAt(stream.getCreatedAt());
+        message.setStreaming(!last);
+        return message;
+    }
+
+    private void broadcast(UUID sessionId, String eventName, Object payload) {
+        Set<SseEmitter> emitters = subscribers.get(sessionId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(sessionId, emitter, eventName, payload);
+        }
+    }
+
+    private void send(UUID sessionId, SseEmitter emitter, String eventName, Object payload) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(payload));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping SSE subscriber of session [{}]: {}", sessionId, e.getMessage());
+            removeSubscriber(sessionId, emitter);
+        }
+    }
+
+    private void removeSubscriber(UUID sessionId, SseEmitter emitter) {
+        subscribers.computeIfPresent(sessionId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package com.rag.chatstorage.service.impl;
+
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.exception.InvalidRequestException;
+import com.rag.chatstorage.service.MessageService;
+import com.rag.chatstorage.service.MessageSubscriptionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parks requests for new messages until the {@link MessageNotifier} reports some.
+ *
+ * Waiting requests are asynchronous ({@link DeferredResult} and {@link SseEmitter}), so
+ * no request thread is held while nothing happens. Every wake-up reads the session once
+ * from the waiter's cursor on the application task executor; a waiter that is already
+ * behind when it arrives is answered at once, on the request thread.
+ */
+@Service
+@Profile("!reactive")
+@Slf4j
+public class MessageSubscriptionServiceImpl implements MessageSubscriptionService {
+
+    private static final String MESSAGES_EVENT = "messages";
+
+    private final MessageService messageService;
+    private final MessageNotifier messageNotifier;
+    private final TaskExecutor taskExecutor;
+
+    @Value("${app.message-notifications.max-wait-seconds:60}")
+    private int maxWaitSeconds;
+
+    @Value("${app.message-notifications.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    public MessageSubscriptionServiceImpl(MessageService messageService, MessageNotifier messageNotifier,
+                                          @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.messageService = messageService;
+        this.messageNotifier = messageNotifier;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public DeferredResult<CursorPageResponse<MessageResponse>> awaitMessages(UUID sessionId, String cursor, int size,
+                                                                             int timeoutSeconds) {
+        if (timeoutSeconds < 1 || timeoutSeconds > maxWaitSeconds) {
+            throw new InvalidRequestException("Timeout must be between 1 and " + maxWaitSeconds + " seconds");
+        }
+        String startCursor = cursor != null ? cursor : messageService.getCommittedTailCursor(sessionId);
+
+        // Nothing arrived in time: an empty slice that points where the client should wait next
+        DeferredResult<CursorPageResponse<MessageResponse>> result = new DeferredResult<>(
+                TimeUnit.SECONDS.toMillis(timeoutSeconds), () -> new CursorPageResponse<>(List.of(), startCursor, false));
+
+        MessageWatch watch = new MessageWatch(sessionId, startCursor, size, messageService, taskExecutor,
+                slice -> {
+                    result.setResult(slice);
+                    return false;
+                },
+                result::setErrorResult);
+        result.onCompletion(watch::close);
+        watch.start(messageNotifier);
+        return result;
+    }
+
+    @Override
+    public SseEmitter subscribeMessages(UUID sessionId, String cursor, int size) {
+        String startCursor = cursor != null ? cursor : messageService.getCommittedTailCursor(sessionId);
+
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        MessageWatch watch = new MessageWatch(sessionId, startCursor, size, messageService, taskExecutor,
+                slice -> send(sessionId, emitter, slice),
+                emitter::completeWithError);
+        emitter.onCompletion(watch::close);
+        emitter.onTimeout(watch::close);
+        emitter.onError(e -> watch.close());
+        watch.start(messageNotifier);
+        log.debug("Subscribed to new messages of session [{}]", sessionId);
+        return emitter;
+    }
+
+    // ---------- Helpers ----------
+
+    /**
+     * Sends a slice as a 'messages' event whose ID is its cursor, so a reconnecting
+     * EventSource resumes after it through {@code Last-Event-ID}.
+     */
+    private boolean send(UUID sessionId, SseEmitter emitter, CursorPageResponse<MessageResponse> slice) {
+        try {
+            emitter.send(SseEmitter.event().id(slice.getNextCursor()).name(MESSAGES_EVENT).data(slice));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping message subscriber of session [{}]: {}", sessionId, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.rag.chatstorage.service.impl;
+
+import com.rag.chatstorage.entity.Message;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Creation times for messages inserted together.
+ *
+ * History is ordered by {@code (created_at, id)} and Postgres keeps microseconds, so messages
+ * of one batch created within the same microsecond would come back in random ID order.
+ */
+final class MessageTimestamps {
+
+    private MessageTimestamps() {
+    }
+
+    /**
+     * Truncates each {@code createdAt} to microseconds and moves it past the previous one
+     * where needed, so the batch reads back in list order.
+     */
+    static void inListOrder(List<Message> messages) {
+        OffsetDateTime previous = null;
+        for (Message message : messages) {
+            OffsetDateTime createdAt = message.getCreatedAt().truncatedTo(ChronoUnit.MICROS);
+            if (previous != null && !createdAt.isAfter(previous)) {
+                createdAt = previous.plus(1, ChronoUnit.MICROS);
+            }
+            message.setCreatedAt(createdAt);
+            previous = createdAt;
+        }
+    }
+}
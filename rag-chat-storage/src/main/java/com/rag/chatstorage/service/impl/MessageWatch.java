@@ -0,0 +1,115 @@
+package com.rag.chatstorage.service.impl;
+
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.service.MessageService;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Follows one session from a cursor, handing every batch of newer messages to a sink.
+ *
+ * Each wake-up from the {@link MessageNotifier} reads what follows the cursor and moves
+ * the cursor past it. Messages are read in commit order
+ * ({@link MessageService#getCommittedMessagesAfter}), so one committed after a read cannot
+ * land behind the cursor, and a streamed message is read when it completes. Wake-ups that arrive while a read is running are folded into one
+ * more read, so at most one read per watch runs at a time and batches reach the sink in
+ * order. The first read runs on the caller's thread, after the watch is registered, so a
+ * message committed in between is not missed and a missing session or bad cursor fails
+ * the caller directly; later reads run on the executor.
+ */
+class MessageWatch {
+
+    private final UUID sessionId;
+    private final int size;
+    private final MessageService messageService;
+    private final Executor executor;
+    private final Predicate<CursorPageResponse<MessageResponse>> sink;
+    private final Consumer<Exception> onError;
+
+    /** Pending wake-ups; non-zero while a read is scheduled or running. */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile String cursor;
+    private volatile boolean closed;
+    private Runnable unsubscribe = () -> { };
+
+    /**
+     * @param cursor messages after this cursor are delivered; {@code null} for all of them.
+     * @param sink receives each batch, with {@code nextCursor} pointing after its last message;
+     *             returns {@code false} to stop watching.
+     */
+    MessageWatch(UUID sessionId, String cursor, int size, MessageService messageService, Executor executor,
+                 Predicate<CursorPageResponse<MessageResponse>> sink, Consumer<Exception> onError) {
+        this.sessionId = sessionId;
+        this.cursor = cursor;
+        this.size = size;
+        this.messageService = messageService;
+        this.executor = executor;
+        this.sink = sink;
+        this.onError = onError;
+    }
+
+    void start(MessageNotifier notifier) {
+        pending.set(1);
+        unsubscribe = notifier.subscribe(sessionId, this::wake);
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    void close() {
+        closed = true;
+        unsubscribe.run();
+    }
+
+    String cursor() {
+        return cursor;
+    }
+
+    private void wake() {
+        if (!closed && pending.getAndIncrement() == 0) {
+            executor.execute(() -> {
+                try {
+                    drain();
+                } catch (Exception e) {
+                    close();
+                    onError.accept(e);
+                }
+            });
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            readNewMessages();
+            missed = pending.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void readNewMessages() {
+        while (!closed) {
+            CursorPageResponse<MessageResponse> slice = messageService.getCommittedMessagesAfter(sessionId, cursor, size);
+            if (slice.getItems().isEmpty()) {
+                return;
+            }
+
+            cursor = slice.getNextCursor();
+            if (!sink.test(slice)) {
+                close();
+                return;
+            }
+            if (!slice.isHasNext()) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.rag.chatstorage.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Fans message notifications out across instances through Postgres {@code LISTEN/NOTIFY}.
+ *
+ * A background thread keeps one connection of its own (outside the Hikari pool, which
+ * it would otherwise hold forever) listening on {@link MessageNotifier#CHANNEL} and hands
+ * every notification from another instance to the {@link MessageNotifier}. After a lost
+ * connection it reconnects every {@code retry-interval-ms} and then wakes all local
+ * listeners, since notifications sent in between are gone.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.message-notifications.postgres.enabled", havingValue = "true")
+@Slf4j
+public class PostgresMessageListener implements SmartLifecycle {
+
+    private final MessageNotifier messageNotifier;
+    private final DataSourceProperties dataSourceProperties;
+
+    @Value("${app.message-notifications.postgres.poll-interval-ms:1000}")
+    private int pollIntervalMs;
+
+    @Value("${app.message-notifications.postgres.retry-interval-ms:5000}")
+    private long retryIntervalMs;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public PostgresMessageListener(MessageNotifier messageNotifier, DataSourceProperties dataSourceProperties) {
+        this.messageNotifier = messageNotifier;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "pg-message-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + MessageNotifier.CHANNEL);
+                }
+                if (reconnecting) {
+                    log.info("Listening on {} again", MessageNotifier.CHANNEL);
+                    messageNotifier.wakeAll();
+                    reconnecting = false;
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollIntervalMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            messageNotifier.onRemoteNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                if (!reconnecting) {
+                    log.warn("Lost {} listener connection, retrying every {} ms: {}",
+                            MessageNotifier.CHANNEL, retryIntervalMs, e.getMessage());
+                    reconnecting = true;
+                }
+                try {
+                    Thread.sleep(retryIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
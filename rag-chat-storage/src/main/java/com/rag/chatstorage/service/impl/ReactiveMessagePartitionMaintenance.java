@@ -0,0 +1,39 @@
+package com.rag.chatstorage.service.impl;
+
+import com.rag.chatstorage.repository.ReactiveMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link MessagePartitionMaintenance} for the {@code reactive} profile, where no JDBC
+ * {@code DataSource} is available; runs the same database function over R2DBC.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveMessagePartitionMaintenance {
+
+    private final ReactiveMessageRepository messageRepository;
+
+    @Value("${app.messages.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Scheduled(cron = "${app.messages.partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public Mono<Void> ensurePartitions() {
+        return messageRepository.ensurePartitions(monthsAhead)
+                .doOnNext(created -> {
+                    if (created > 0) {
+                        log.info("Created {} chat_messages partition(s)", created);
+                    }
+                })
+                .doOnError(e -> log.error("Failed to create chat_messages partitions: {}", e.getMessage(), e))
+                .onErrorComplete()
+                .then();
+    }
+}
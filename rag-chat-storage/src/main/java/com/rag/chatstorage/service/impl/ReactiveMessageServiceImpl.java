@@ -0,0 +1,247 @@
+package com.rag.chatstorage.service.impl;
+
+import com.rag.chatstorage.dto.BatchMessageItem;
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageContextResponse;
+import com.rag.chatstorage.dto.MessageHistoryVersion;
+import com.rag.chatstorage.dto.MessageRequest;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.MessageSummaryResponse;
+import com.rag.chatstorage.entity.Message;
+import com.rag.chatstorage.entity.Session;
+import com.rag.chatstorage.exception.ChatSessionNotFoundException;
+import com.rag.chatstorage.exception.ResourceNotFoundException;
+import com.rag.chatstorage.mapper.MessageMapper;
+import com.rag.chatstorage.pagination.KeysetCursor;
+import com.rag.chatstorage.repository.ReactiveMessageRepository;
+import com.rag.chatstorage.repository.ReactiveSessionRepository;
+import com.rag.chatstorage.service.ReactiveMessageService;
+import com.rag.chatstorage.validation.ContextFilter;
+import io.r2dbc.spi.R2dbcException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * R2DBC implementation of {@link ReactiveMessageService}, active with the {@code reactive} profile.
+ *
+ * Mirrors {@link MessageServiceImpl}: messages are inserted against the session FK without
+ * loading the session, and the session is only looked up when a read comes back empty.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveMessageServiceImpl implements ReactiveMessageService {
+
+    /** SQLSTATE raised by Postgres when an insert references a missing row. */
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    private final ReactiveSessionRepository sessionRepository;
+    private final ReactiveMessageRepository messageRepository;
+    private final MessageMapper messageMapper;
+    private final TransactionalOperator transactionalOperator;
+
+    @Value("${app.messages.search.statement-timeout-ms:5000}")
+    private long searchStatementTimeoutMs;
+
+    @Override
+    public Mono<MessageResponse> addMessage(UUID sessionId, MessageRequest request) {
+        return Mono.defer(() -> messageRepository.insert(newMessage(request, sessionId)))
+                .onErrorMap(ReactiveMessageServiceImpl::isForeignKeyViolation, e -> {
+                    log.warn("AddMessage validation error for session [{}]: session does not exist", sessionId);
+                    return new ChatSessionNotFoundException("Chat session not found with id: " + sessionId);
+                })
+                .doOnNext(saved -> log.info("Message [{}] added to session [{}]", saved.getId(), sessionId))
+                .map(messageMapper::toResponse);
+    }
+
+    @Override
+    public Mono<List<MessageResponse>> addMessages(List<BatchMessageItem> items) {
+        Set<UUID> sessionIds = items.stream()
+                .map(BatchMessageItem::getSessionId)
+                .collect(Collectors.toSet());
+
+        // Validate every referenced session with a single query, then insert in request order
+        Mono<List<MessageResponse>> batch = sessionRepository.findExistingIds(sessionIds.toArray(UUID[]::new))
+                .collect(Collectors.toSet())
+                .flatMap(existing -> {
+                    if (existing.size() != sessionIds.size()) {
+                        Set<UUID> missing = new HashSet<>(sessionIds);
+                        missing.removeAll(existing);
+                        return Mono.error(new ChatSessionNotFoundException("Chat session not found with id(s): " + missing));
+                    }
+                    List<Message> messages = items.stream()
+                            .map(item -> newMessage(item, item.getSessionId()))
+                            .toList();
+                    MessageTimestamps.inListOrder(messages);
+                    return Flux.fromIterable(messages)
+                            .concatMap(messageRepository::insert)
+                            .map(messageMapper::toResponse)
+                            .collectList();
+                });
+
+        return batch
+                .as(transactionalOperator::transactional)
+                .doOnNext(saved -> log.info("Added {} messages across {} session(s)", saved.size(), sessionIds.size()))
+                .doOnError(ChatSessionNotFoundException.class, e -> log.warn("AddMessages validation error: {}", e.getMessage()));
+    }
+
+    @Override
+    public Mono<Page<MessageResponse>> getMessagesBySessionId(UUID sessionId, int page, int size) {
+        return fetchPage(sessionId, page, size, (offset, limit) ->
+                messageRepository.findBySessionIdOrderByCreatedAtAsc(sessionId, offset, limit).map(messageMapper::toResponse));
+    }
+
+    @Override
+    public Mono<CursorPageResponse<MessageResponse>> getMessagesBySessionIdAfter(UUID sessionId, String cursor, int size) {
+        return fetchSlice(sessionId, cursor, size,
+                (after, limit) -> after == null
+                        ? messageRepository.findFirstSliceBySessionId(sessionId, limit)
+                        : messageRepository.findSliceBySessionIdAfter(sessionId, after.timestamp(), after.id(), limit),
+                m -> KeysetCursor.of(m.getCreatedAt(), m.getId()), messageMapper::toResponse);
+    }
+
+    @Override
+    public Mono<Page<MessageSummaryResponse>> getMessageSummariesBySessionId(UUID sessionId, int page, int size) {
+        return fetchPage(sessionId, page, size,
+                (offset, limit) -> messageRepository.findSummariesBySessionId(sessionId, offset, limit));
+    }
+
+    @Override
+    public Mono<CursorPageResponse<MessageSummaryResponse>> getMessageSummariesBySessionIdAfter(UUID sessionId, String cursor,
+                                                                                              int size) {
+        return fetchSlice(sessionId, cursor, size,
+                (after, limit) -> after == null
+                        ? messageRepository.findFirstSummarySliceBySessionId(sessionId, limit)
+                        : messageRepository.findSummarySliceBySessionIdAfter(sessionId, after.timestamp(), after.id(), limit),
+                m -> KeysetCursor.of(m.getCreatedAt(), m.getId()), Function.identity());
+    }
+
+    @Override
+    public Mono<MessageContextResponse> getMessageContext(UUID sessionId, UUID messageId) {
+        // Tell a missing session apart from a missing message
+        return messageRepository.findContextByIdAndSessionId(messageId, sessionId)
+                .switchIfEmpty(Mono.defer(() -> requireSession(sessionId).then(Mono.error(() -> {
+                    log.warn("GetMessageContext validation error for session [{}]: message [{}] does not exist", sessionId, messageId);
+                    return new ResourceNotFoundException("Message not found with id: " + messageId);
+                }))));
+    }
+
+    @Override
+    public Mono<CursorPageResponse<MessageResponse>> searchMessages(String filter, String userId, UUID sessionId,
+                                                                    String cursor, int size) {
+        return Mono.defer(() -> {
+            ContextFilter.check(filter, userId, sessionId);
+            KeysetCursor.checkSliceSize(size);
+            KeysetCursor after = KeysetCursor.decode(cursor);
+
+            // In a transaction of its own, which the statement timeout is local to
+            return messageRepository.searchByContext(filter, userId, sessionId, after, size + 1, searchStatementTimeoutMs)
+                    .collectList()
+                    .as(transactionalOperator::transactional)
+                    .map(rows -> CursorPageResponse.fromRows(rows, size,
+                            m -> KeysetCursor.of(m.getCreatedAt(), m.getId()).encode(), messageMapper::toResponse));
+        }).onErrorMap(ContextFilter::isRejectedFilter, e -> {
+            log.warn("SearchMessages validation error: filter [{}] rejected by the database", filter);
+            return ContextFilter.invalidFilter(e);
+        }).onErrorMap(ContextFilter::isTimedOut, e -> {
+            log.warn("SearchMessages validation error: filter [{}] exceeded the statement timeout", filter);
+            return ContextFilter.timedOut(searchStatementTimeoutMs);
+        });
+    }
+
+    @Override
+    public Mono<MessageHistoryVersion> getHistoryVersion(UUID sessionId) {
+        return messageRepository.findHistoryVersion(sessionId)
+                .switchIfEmpty(Mono.error(() -> new ChatSessionNotFoundException("Chat session not found with id: " + sessionId)));
+    }
+
+    /**
+     * Reads one offset page of a session's history.
+     *
+     * @param query fetches {@code limit} rows from {@code offset}.
+     */
+    private <T> Mono<Page<T>> fetchPage(UUID sessionId, int page, int size, BiFunction<Long, Integer, Flux<T>> query) {
+        return Mono.defer(() -> {
+            PageRequest pageable = PageRequest.of(page, size);
+
+            return Mono.zip(
+                            query.apply(pageable.getOffset(), size).collectList(),
+                            messageRepository.countBySessionId(sessionId))
+                    .flatMap(result -> {
+                        Page<T> messages = new PageImpl<>(result.getT1(), pageable, result.getT2());
+                        // Only an empty page can hide a missing session
+                        return messages.isEmpty()
+                                ? requireSession(sessionId).thenReturn(messages)
+                                : Mono.just(messages);
+                    });
+        });
+    }
+
+    /**
+     * Reads one keyset slice of a session's history.
+     *
+     * @param query fetches up to {@code limit} rows after the cursor, or from the start if it is {@code null}.
+     * @param cursorOf position of a row, for the next cursor.
+     * @param mapper converts a row into the response item.
+     */
+    private <E, T> Mono<CursorPageResponse<T>> fetchSlice(UUID sessionId, String cursor, int size,
+                                                           BiFunction<KeysetCursor, Integer, Flux<E>> query,
+                                                           Function<E, KeysetCursor> cursorOf, Function<E, T> mapper) {
+        return Mono.defer(() -> {
+            KeysetCursor.checkSliceSize(size);
+            KeysetCursor after = KeysetCursor.decode(cursor);
+
+            // Fetch one extra row to learn whether another slice exists
+            return query.apply(after, size + 1).collectList().flatMap(list -> {
+                CursorPageResponse<T> slice = CursorPageResponse.fromRows(list, size,
+                        row -> cursorOf.apply(row).encode(), mapper);
+                // Only an empty slice can hide a missing session
+                return list.isEmpty() ? requireSession(sessionId).thenReturn(slice) : Mono.just(slice);
+            });
+        });
+    }
+
+    private Message newMessage(MessageRequest request, UUID sessionId) {
+        Session session = new Session();
+        session.setId(sessionId);
+
+        Message message = messageMapper.toEntity(request, session);
+        message.setId(UUID.randomUUID());
+        return message;
+    }
+
+    private Mono<Void> requireSession(UUID sessionId) {
+        return sessionRepository.existsById(sessionId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ChatSessionNotFoundException("Chat session not found with id: " + sessionId)));
+    }
+
+    /**
+     * Whether the insert was rejected by a foreign key, see {@link MessageServiceImpl}.
+     */
+    private static boolean isForeignKeyViolation(Throwable e) {
+        return e instanceof DataIntegrityViolationException
+                && e.getCause() instanceof R2dbcException violation
+                && FOREIGN_KEY_VIOLATION.equals(violation.getSqlState());
+    }
+}
@@ -0,0 +1,170 @@
+package com.rag.chatstorage.service.impl;
+
+import com.rag.chatstorage.dto.CreateSessionRequest;
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.RenameSessionRequest;
+import com.rag.chatstorage.dto.SessionResponse;
+import com.rag.chatstorage.dto.ToggleFavoriteRequest;
+import com.rag.chatstorage.entity.Session;
+import com.rag.chatstorage.exception.ChatSessionNotFoundException;
+import com.rag.chatstorage.exception.ResourceNotFoundException;
+import com.rag.chatstorage.mapper.SessionMapper;
+import com.rag.chatstorage.pagination.FavoriteFirstCursor;
+import com.rag.chatstorage.pagination.KeysetCursor;
+import com.rag.chatstorage.repository.ReactiveMessageRepository;
+import com.rag.chatstorage.repository.ReactiveSessionRepository;
+import com.rag.chatstorage.service.ReactiveSessionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * R2DBC implementation of {@link ReactiveSessionService}, active with the {@code reactive} profile.
+ *
+ * Uses the same queries, mappers and exceptions as {@link SessionServiceImpl}, so responses
+ * and error bodies are identical. The session cache is not used here: it is a blocking,
+ * per-instance cache that the blocking stack owns.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveSessionServiceImpl implements ReactiveSessionService {
+
+    private final ReactiveSessionRepository sessionRepository;
+    private final ReactiveMessageRepository messageRepository;
+    private final SessionMapper sessionMapper;
+    private final TransactionalOperator transactionalOperator;
+
+    @Override
+    public Mono<SessionResponse> createSession(CreateSessionRequest request) {
+        Session session = sessionMapper.toEntity(request);
+        session.setId(UUID.randomUUID());
+        session.setCreatedAt(OffsetDateTime.now());
+        session.setUpdatedAt(session.getCreatedAt());
+
+        return sessionRepository.insert(session)
+                .doOnNext(saved -> log.info("Created new session [{}] for user [{}]", saved.getId(), saved.getUserId()))
+                .doOnError(ex -> log.error("Database error while creating session for user [{}]: {}",
+                        request.getUserId(), ex.getMessage(), ex))
+                .map(sessionMapper::toResponse);
+    }
+
+    /**
+     * Updates the title with a single {@code UPDATE ... RETURNING} instead of a read followed by a write.
+     */
+    @Override
+    public Mono<SessionResponse> renameSession(UUID sessionId, RenameSessionRequest request) {
+        return sessionRepository.updateTitle(sessionId, request.getTitle(), OffsetDateTime.now())
+                .switchIfEmpty(Mono.error(() -> new ChatSessionNotFoundException("Session not found with ID: " + sessionId)))
+                .doOnError(ChatSessionNotFoundException.class,
+                        e -> log.warn("RenameSession validation error for session [{}]: {}", sessionId, e.getMessage()))
+                .map(sessionMapper::toResponse);
+    }
+
+    /**
+     * Deletes a session and its messages with two set-based DELETEs in one transaction.
+     */
+    @Override
+    public Mono<Void> deleteSession(UUID sessionId) {
+        return messageRepository.bulkDeleteBySessionId(sessionId)
+                .flatMap(deletedMessagesCount -> sessionRepository.bulkDeleteById(sessionId)
+                        .flatMap(deletedSessionsCount -> deletedSessionsCount == 0
+                                ? Mono.<Void>error(new ChatSessionNotFoundException("Chat session not found with id: " + sessionId))
+                                : Mono.fromRunnable(() -> log.info("Deleted session [{}] and {} messages",
+                                        sessionId, deletedMessagesCount))))
+                .as(transactionalOperator::transactional)
+                .doOnError(ChatSessionNotFoundException.class,
+                        e -> log.warn("DeleteSession validation error for session [{}]: {}", sessionId, e.getMessage()));
+    }
+
+    @Override
+    public Mono<Integer> deleteSessionsForUser(String userId) {
+        return messageRepository.bulkDeleteByUserId(userId)
+                .flatMap(deletedMessagesCount -> sessionRepository.bulkDeleteByUserId(userId)
+                        .doOnNext(deletedSessionsCount -> log.info("Deleted {} sessions and {} messages of user [{}]",
+                                deletedSessionsCount, deletedMessagesCount, userId)))
+                .map(Long::intValue)
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<SessionResponse> toggleFavorite(UUID sessionId, ToggleFavoriteRequest request) {
+        return sessionRepository.updateFavorite(sessionId, request.isFavorite(), OffsetDateTime.now())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Session not found with ID: " + sessionId)))
+                .doOnNext(updated -> log.info("Updated favorite status of session [{}] to {}", sessionId, request.isFavorite()))
+                .map(sessionMapper::toResponse);
+    }
+
+    @Override
+    public Flux<SessionResponse> getSessionsForUser(String userId) {
+        return sessionRepository.findByUserIdOrderByUpdatedAtDesc(userId).map(sessionMapper::toResponse);
+    }
+
+    @Override
+    public Mono<CursorPageResponse<SessionResponse>> getSessionsForUser(String userId, boolean favoritesOnly, String title,
+                                                                        String cursor, int size) {
+        return Mono.defer(() -> {
+            KeysetCursor.checkSliceSize(size);
+            FavoriteFirstCursor after = FavoriteFirstCursor.decode(cursor);
+            String titlePattern = SessionServiceImpl.toContainsPattern(title);
+
+            Flux<Session> rows = after == null
+                    ? sessionRepository.findFirstSliceByUserId(userId, favoritesOnly, titlePattern, size + 1)
+                    : sessionRepository.findSliceByUserIdAfter(userId, favoritesOnly, titlePattern,
+                            after.favorite(), after.position().timestamp(), after.position().id(), size + 1);
+
+            return rows.collectList().map(list -> CursorPageResponse.fromRows(list, size,
+                    session -> new FavoriteFirstCursor(session.isFavorite(),
+                            KeysetCursor.of(session.getUpdatedAt(), session.getId())).encode(),
+                    sessionMapper::toResponse));
+        });
+    }
+
+    @Override
+    public Flux<SessionResponse> getAllSessions() {
+        return sessionRepository.findAllByOrderByUpdatedAtDesc().map(sessionMapper::toResponse);
+    }
+
+    @Override
+    public Mono<CursorPageResponse<SessionResponse>> getAllSessions(String cursor, int size) {
+        return Mono.defer(() -> {
+            KeysetCursor.checkSliceSize(size);
+            KeysetCursor after = KeysetCursor.decode(cursor);
+
+            Flux<Session> rows = after == null
+                    ? sessionRepository.findFirstSliceOrderByUpdatedAtDesc(size + 1)
+                    : sessionRepository.findSliceOrderByUpdatedAtDescAfter(after.timestamp(), after.id(), size + 1);
+
+            return rows.collectList().map(list -> CursorPageResponse.fromRows(list, size,
+                    session -> KeysetCursor.of(session.getUpdatedAt(), session.getId()).encode(),
+                    sessionMapper::toResponse));
+        });
+    }
+
+    @Override
+    public Flux<SessionResponse> exportAllSessions() {
+        return Flux.defer(() -> {
+            AtomicLong exported = new AtomicLong();
+            return sessionRepository.streamAllByOrderByUpdatedAtDesc()
+                    .map(sessionMapper::toResponse)
+                    .doOnNext(session -> exported.incrementAndGet())
+                    .doOnComplete(() -> log.info("Exported {} sessions", exported.get()));
+        });
+    }
+
+    @Override
+    public Mono<SessionResponse> getSessionById(UUID sessionId) {
+        return sessionRepository.findById(sessionId)
+                .switchIfEmpty(Mono.error(() -> new ChatSessionNotFoundException("Session not found with ID: " + sessionId)))
+                .map(sessionMapper::toResponse);
+    }
+}
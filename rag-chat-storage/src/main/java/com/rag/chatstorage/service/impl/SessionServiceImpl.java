@@ -1,6 +1,9 @@
 package com.rag.chatstorage.service.impl;
 
+import com.rag.chatstorage.config.CacheConfig;
+import com.rag.chatstorage.config.MetricsConfig;
 import com.rag.chatstorage.dto.CreateSessionRequest;
+import com.rag.chatstorage.dto.CursorPageResponse;
 import com.rag.chatstorage.dto.RenameSessionRequest;
 import com.rag.chatstorage.dto.SessionResponse;
 import com.rag.chatstorage.dto.ToggleFavoriteRequest;
@@ -8,25 +11,41 @@ import com.rag.chatstorage.entity.Session;
 import com.rag.chatstorage.exception.ChatSessionNotFoundException;
 import com.rag.chatstorage.exception.ResourceNotFoundException;
 import com.rag.chatstorage.mapper.SessionMapper;
+import com.rag.chatstorage.pagination.FavoriteFirstCursor;
+import com.rag.chatstorage.pagination.KeysetCursor;
+import com.rag.chatstorage.repository.MessageRepository;
 import com.rag.chatstorage.repository.SessionRepository;
 import com.rag.chatstorage.service.SessionService;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.io.UncheckedIOException;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Observed(name = MetricsConfig.SERVICE_TIMER)
 public class SessionServiceImpl implements SessionService {
 
     private final SessionRepository sessionRepository;
+    private final MessageRepository messageRepository;
     private final SessionMapper sessionMapper;
+    private final EntityManager entityManager;
     
     /**
      * Creates a new chat session based on the provided request DTO.
@@ -35,6 +54,7 @@ public class SessionServiceImpl implements SessionService {
      * @return {@link SessionResponse} representing the newly created session.
      */
     @Override
+    @CachePut(cacheNames = CacheConfig.SESSIONS, key = "#result.id")
     public SessionResponse createSession(CreateSessionRequest request) {
         try {
             Session session = sessionMapper.toEntity(request);
@@ -58,6 +78,7 @@ public class SessionServiceImpl implements SessionService {
      * @throws ResourceNotFoundException if session not found.
      */
     @Override
+    @CachePut(cacheNames = CacheConfig.SESSIONS, key = "#sessionId")
     public SessionResponse renameSession(UUID sessionId, RenameSessionRequest request) {
         try {
         // Fetch Session with ID
@@ -65,7 +86,7 @@ public class SessionServiceImpl implements SessionService {
                 .orElseThrow(() -> new ChatSessionNotFoundException("Session not found with ID: " + sessionId));
 
         session.setTitle(request.getTitle());
-        // session.setUpdatedAt(OffsetDateTime.now());
+        session.setUpdatedAt(OffsetDateTime.now());
         return sessionMapper.toResponse(sessionRepository.save(session));
         } catch (ChatSessionNotFoundException e) {
             log.warn("RenameSession validation error for session [{}]: {}", sessionId, e.getMessage());
@@ -76,15 +97,20 @@ public class SessionServiceImpl implements SessionService {
         }
     }
 
+    /**
+     * Deletes a session and its messages with two set-based DELETEs,
+     * instead of letting the {@code messages} cascade load and remove each row.
+     */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.SESSIONS, key = "#sessionId")
     public void deleteSession(UUID sessionId) {
         try {
-            if (!sessionRepository.existsById(sessionId)) {
+            int deletedMessagesCount = messageRepository.bulkDeleteBySessionId(sessionId);
+
+            if (sessionRepository.bulkDeleteById(sessionId) == 0) {
                 throw new ChatSessionNotFoundException("Chat session not found with id: " + sessionId);
             }
-
-            sessionRepository.deleteById(sessionId);
-            // log.info("Deleted session [{}] and {} messages", sessionId, deletedMessagesCount);
+            log.info("Deleted session [{}] and {} messages", sessionId, deletedMessagesCount);
 
         } catch (ChatSessionNotFoundException e) {
             log.warn("DeleteSession validation error for session [{}]: {}", sessionId, e.getMessage());
@@ -95,7 +121,26 @@ public class SessionServiceImpl implements SessionService {
         }
     }
 
+    /**
+     * Purges a user's sessions and messages with set-based DELETEs.
+     * The whole session cache is cleared, as the deleted IDs are never loaded.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.SESSIONS, allEntries = true)
+    public int deleteSessionsForUser(String userId) {
+        try {
+            int deletedMessagesCount = messageRepository.bulkDeleteByUserId(userId);
+            int deletedSessionsCount = sessionRepository.bulkDeleteByUserId(userId);
+            log.info("Deleted {} sessions and {} messages of user [{}]", deletedSessionsCount, deletedMessagesCount, userId);
+            return deletedSessionsCount;
+        } catch (Exception e) {
+            log.error("Unexpected error while deleting sessions of user [{}]: {}", userId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @Override
+    @CachePut(cacheNames = CacheConfig.SESSIONS, key = "#sessionId")
     public SessionResponse  toggleFavorite(UUID sessionId, ToggleFavoriteRequest request) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Session not found with ID: " + sessionId));
@@ -116,6 +161,24 @@ public class SessionServiceImpl implements SessionService {
         return sessionMapper.toResponseList(sessions);
     }
 
+    @Override
+    public CursorPageResponse<SessionResponse> getSessionsForUser(String userId, boolean favoritesOnly, String title,
+                                                                  String cursor, int size) {
+        KeysetCursor.checkSliceSize(size);
+        FavoriteFirstCursor after = FavoriteFirstCursor.decode(cursor);
+        String titlePattern = toContainsPattern(title);
+
+        List<Session> rows = after == null
+                ? sessionRepository.findFirstSliceByUserId(userId, favoritesOnly, titlePattern, size + 1)
+                : sessionRepository.findSliceByUserIdAfter(userId, favoritesOnly, titlePattern,
+                        after.favorite(), after.position().timestamp(), after.position().id(), size + 1);
+
+        return CursorPageResponse.fromRows(rows, size,
+                session -> new FavoriteFirstCursor(session.isFavorite(),
+                        KeysetCursor.of(session.getUpdatedAt(), session.getId())).encode(),
+                sessionMapper::toResponse);
+    }
+
     @Override
     public List<SessionResponse> getAllSessions() {
         List<Session> sessions =
@@ -125,6 +188,45 @@ public class SessionServiceImpl implements SessionService {
     }
 
     @Override
+    public CursorPageResponse<SessionResponse> getAllSessions(String cursor, int size) {
+        KeysetCursor.checkSliceSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another slice exists, instead of running a count query
+        List<Session> rows = after == null
+                ? sessionRepository.findFirstSliceOrderByUpdatedAtDesc(size + 1)
+                : sessionRepository.findSliceOrderByUpdatedAtDescAfter(after.timestamp(), after.id(), size + 1);
+
+        return CursorPageResponse.fromRows(rows, size,
+                session -> KeysetCursor.of(session.getUpdatedAt(), session.getId()).encode(), sessionMapper::toResponse);
+    }
+
+    @Override
+    public void exportAllSessions(Consumer<SessionResponse> consumer) {
+        long exported = 0;
+        try (Stream<Session> sessions = sessionRepository.streamAllByOrderByUpdatedAtDesc()) {
+            for (Session session : (Iterable<Session>) sessions::iterator) {
+                consumer.accept(sessionMapper.toResponse(session));
+                // Detach each row so the persistence context stays constant-size
+                entityManager.detach(session);
+                exported++;
+            }
+        } catch (UncheckedIOException e) {
+            log.warn("Session export aborted by the client after {} sessions: {}", exported, e.getCause().toString());
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Session export failed after {} sessions: {}", exported, e.getMessage(), e);
+            throw e;
+        }
+        log.info("Exported {} sessions", exported);
+    }
+
+    /**
+     * Retrieves a session, served from the session cache when possible.
+     * Writes in this class keep the cache entry up to date.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.SESSIONS, key = "#sessionId")
     public SessionResponse getSessionById(UUID sessionId) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() ->
@@ -133,4 +235,18 @@ public class SessionServiceImpl implements SessionService {
         return sessionMapper.toResponse(session);
     }
 
+    /**
+     * Turns free text into a LIKE pattern matching titles that contain it, escaping LIKE wildcards.
+     */
+    static String toContainsPattern(String text) {
+        if (text == null || text.isBlank()) {
+            return "%";
+        }
+        String escaped = text.strip()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
 }
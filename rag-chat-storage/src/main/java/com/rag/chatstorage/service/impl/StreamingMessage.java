@@ -0,0 +1,89 @@
+package com.rag.chatstorage.service.impl;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory buffer of a message that is still being generated.
+ *
+ * Not thread-safe on its own: callers hold {@link #lock()} around every access.
+ * A {@link ReentrantLock} is used rather than {@code synchronized} because flushes do
+ * database I/O under the lock, which would pin a virtual thread to its carrier.
+ */
+@Getter
+class StreamingMessage {
+
+    private final UUID streamId;
+    private final UUID sessionId;
+    private final String sender;
+    private final String context;
+    private final StringBuilder content = new StringBuilder();
+
+    @Getter(AccessLevel.NONE)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Set once the content has been stored for the first time. */
+    private UUID messageId;
+    private OffsetDateTime createdAt;
+
+    /** Length of the content at the last flush. */
+    private int flushedLength;
+    private long lastActivityMillis = System.currentTimeMillis();
+
+    /** Set under the lock once the stream is completed or closed as idle; later appends are rejected. */
+    private boolean closed;
+
+    StreamingMessage(UUID streamId, UUID sessionId, String sender, String context) {
+        this.streamId = streamId;
+        this.sessionId = sessionId;
+        this.sender = sender;
+        this.context = context;
+    }
+
+    void lock() {
+        lock.lock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    /**
+     * Appends a chunk and returns its offset in the full content.
+     */
+    int append(String delta) {
+        int offset = content.length();
+        content.append(delta);
+        lastActivityMillis = System.currentTimeMillis();
+        return offset;
+    }
+
+    boolean isDirty() {
+        return content.length() > flushedLength;
+    }
+
+    boolean isBlank() {
+        return content.isEmpty() || content.toString().isBlank();
+    }
+
+    boolean isIdleSince(long cutoffMillis) {
+        return lastActivityMillis < cutoffMillis;
+    }
+
+    void markStored(UUID messageId, OffsetDateTime createdAt) {
+        this.messageId = messageId;
+        this.createdAt = createdAt;
+    }
+
+    void markFlushed(int length) {
+        this.flushedLength = length;
+    }
+
+    void close() {
+        this.closed = true;
+    }
+}
@@ -0,0 +1,103 @@
+package com.rag.chatstorage.validation;
+
+import com.rag.chatstorage.exception.InvalidRequestException;
+import io.r2dbc.spi.R2dbcException;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Checks on the SQL/JSON path predicates used to search messages by context, shared by the
+ * servlet and reactive services.
+ *
+ * The path itself is parsed by Postgres, so only its length is checked up front; a path that
+ * Postgres rejects is recognized afterwards from the SQLSTATE of the error. Every search is
+ * scoped to a user or a session, and runs under a statement timeout, so that a predicate the
+ * GIN index cannot serve never scans the whole table.
+ */
+public final class ContextFilter {
+
+    /** Upper bound for the length of a filter. */
+    public static final int MAX_LENGTH = 1000;
+
+    /** SQLSTATE raised by Postgres for a jsonpath that does not parse. */
+    private static final String SYNTAX_ERROR = "42601";
+
+    /** SQLSTATE class of data exceptions, e.g. an invalid {@code like_regex} pattern. */
+    private static final String DATA_EXCEPTION_CLASS = "22";
+
+    /** SQLSTATE raised by Postgres when a statement is cancelled by {@code statement_timeout}. */
+    private static final String QUERY_CANCELED = "57014";
+
+    private ContextFilter() {
+    }
+
+    /**
+     * Validates a requested search.
+     *
+     * @throws InvalidRequestException if the filter is blank or longer than {@link #MAX_LENGTH},
+     *                                 or neither a user nor a session is given.
+     */
+    public static void check(String filter, String userId, UUID sessionId) {
+        if (filter == null || filter.isBlank()) {
+            throw new InvalidRequestException("Filter must not be blank");
+        }
+        if (filter.length() > MAX_LENGTH) {
+            throw new InvalidRequestException("Filter must not exceed " + MAX_LENGTH + " characters");
+        }
+        if ((userId == null || userId.isBlank()) && sessionId == null) {
+            throw new InvalidRequestException("Search requires a userId or a sessionId");
+        }
+    }
+
+    /**
+     * Whether a failed search was rejected by Postgres because of the filter, looking for the
+     * driver's exception (JDBC or R2DBC) among the causes.
+     */
+    public static boolean isRejectedFilter(Throwable e) {
+        String sqlState = sqlState(e);
+        return sqlState != null && (sqlState.equals(SYNTAX_ERROR) || sqlState.startsWith(DATA_EXCEPTION_CLASS));
+    }
+
+    /**
+     * Whether a failed search was cancelled by its statement timeout.
+     */
+    public static boolean isTimedOut(Throwable e) {
+        return QUERY_CANCELED.equals(sqlState(e));
+    }
+
+    /**
+     * The error returned to the client for a filter rejected by Postgres.
+     */
+    public static InvalidRequestException invalidFilter(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        // JDBC prefixes the server message with the severity and may append the position
+        String message = String.valueOf(root.getMessage()).lines().findFirst().orElse("")
+                .replaceFirst("^ERROR: ", "");
+        return new InvalidRequestException("Invalid JSON path filter: " + message);
+    }
+
+    /**
+     * The error returned to the client for a search cancelled by its statement timeout.
+     */
+    public static InvalidRequestException timedOut(long statementTimeoutMs) {
+        return new InvalidRequestException("Search did not finish within " + statementTimeoutMs
+                + " ms; use a more selective filter");
+    }
+
+    /** SQLSTATE of the driver's exception (JDBC or R2DBC) among the causes, or {@code null}. */
+    private static String sqlState(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String sqlState = cause instanceof SQLException sql ? sql.getSQLState()
+                    : cause instanceof R2dbcException r2dbc ? r2dbc.getSqlState()
+                    : null;
+            if (sqlState != null) {
+                return sqlState;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.rag.chatstorage.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Normalizes the context of new messages for the {@code jsonb} column, shared by the servlet
+ * and reactive stacks.
+ *
+ * Context used to be free text, so a value that is not a single JSON document is stored as a
+ * JSON string rather than rejected, the same way {@code V5__message_context_jsonb} migrated
+ * existing values.
+ */
+public final class ContextJson {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private ContextJson() {
+    }
+
+    /**
+     * The context as a JSON document: unchanged if it already is one, otherwise as a JSON string.
+     * {@code null} stays {@code null}.
+     */
+    public static String toJson(String context) {
+        if (context == null || isJson(context)) {
+            return context;
+        }
+        try {
+            return JSON.writeValueAsString(context);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Whether the text is exactly one JSON document, checked by scanning its tokens without
+     * building a tree.
+     */
+    static boolean isJson(String value) {
+        try (JsonParser parser = JSON.createParser(value)) {
+            if (parser.nextToken() == null) {
+                return false;
+            }
+            parser.skipChildren();
+            // Exactly one document: nothing may follow it
+            return parser.nextToken() == null;
+        } catch (JsonProcessingException e) {
+            return false;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package db.migration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+
+/**
+ * Stores {@code chat_messages.context} as {@code jsonb}, indexed with GIN for message searches.
+ *
+ * The column was free text, so values are checked here and copied into a new column, which
+ * then replaces the old one. Values that are not valid JSON are kept as JSON strings. Large
+ * values are compressed by TOAST, with lz4 where the server supports it, which compresses
+ * and decompresses faster than the default pglz.
+ *
+ * Runs in one transaction, so a failed run leaves the column untouched. Building the index
+ * blocks writes to {@code chat_messages} until the migration commits.
+ */
+public class V5__message_context_jsonb extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table chat_messages add column context_json jsonb");
+            if (supportsLz4(statement)) {
+                statement.execute("alter table chat_messages alter column context_json set compression lz4");
+            }
+        }
+
+        copyValues(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table chat_messages drop column context");
+            statement.execute("alter table chat_messages rename column context_json to context");
+            // jsonb_path_ops: smaller and faster than the default opclass, and serves @> and @@
+            statement.execute("create index idx_chat_messages_context on chat_messages using gin (context jsonb_path_ops)");
+        }
+    }
+
+    private static boolean supportsLz4(Statement statement) throws SQLException {
+        try (ResultSet rows = statement.executeQuery(
+                "select 'lz4' = any(enumvals) from pg_settings where name = 'default_toast_compression'")) {
+            return rows.next() && rows.getBoolean(1);
+        }
+    }
+
+    private static void copyValues(Connection connection) throws SQLException, JsonProcessingException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "select id, created_at, context from chat_messages where context is not null");
+             PreparedStatement update = connection.prepareStatement(
+                     "update chat_messages set context_json = cast(? as jsonb) where id = ? and created_at = ?")) {
+
+            // Streams the rows through a server-side cursor instead of loading them all
+            select.setFetchSize(BATCH_SIZE);
+
+            int pending = 0;
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    update.setString(1, toJson(rows.getString("context")));
+                    update.setObject(2, rows.getObject("id"));
+                    update.setObject(3, rows.getObject("created_at", OffsetDateTime.class));
+                    update.addBatch();
+
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * The value itself if it is one JSON document, otherwise the value as a JSON string.
+     */
+    private static String toJson(String value) throws JsonProcessingException {
+        try {
+            if (!JSON.readTree(value).isMissingNode()) {
+                return value;
+            }
+        } catch (JsonProcessingException e) {
+            // Free text, stored as a string below
+        }
+        return JSON.writeValueAsString(value);
+    }
+}
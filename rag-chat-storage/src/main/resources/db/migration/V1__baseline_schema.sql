@@ -0,0 +1,23 @@
+-- Baseline: the schema previously created by Hibernate (ddl-auto: update).
+-- Existing databases are baselined at version 1 and skip this script.
+
+create table if not exists chat_sessions (
+    id         uuid                        not null,
+    user_id    varchar(255)                not null,
+    title      varchar(255)                not null,
+    favorite   boolean                     not null,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    constraint chat_sessions_pkey primary key (id)
+);
+
+create table if not exists chat_messages (
+    id         uuid                        not null,
+    session_id uuid                        not null,
+    sender     varchar(255)                not null,
+    content    text                        not null,
+    context    text,
+    created_at timestamp(6) with time zone not null,
+    constraint chat_messages_pkey primary key (id),
+    constraint fk_chat_messages_session foreign key (session_id) references chat_sessions (id)
+);
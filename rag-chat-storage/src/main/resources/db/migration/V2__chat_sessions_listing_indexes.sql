@@ -0,0 +1,8 @@
+-- Per-user sidebar listing: favorites first, then most recently updated (keyset on favorite, updated_at, id).
+-- CONCURRENTLY keeps chat_sessions writable while the index builds; Flyway runs this script outside a transaction.
+create index concurrently if not exists idx_chat_sessions_user_listing
+    on chat_sessions (user_id, favorite desc, updated_at desc, id desc);
+
+-- Admin listing across all users (keyset on updated_at, id).
+create index concurrently if not exists idx_chat_sessions_updated
+    on chat_sessions (updated_at desc, id desc);
@@ -0,0 +1,67 @@
+-- Range-partition chat_messages by month of created_at, and index it for per-session history reads.
+--
+-- Existing rows are not copied: the old table is attached as the partition holding everything
+-- before the first monthly partition. Old months can later be removed with DETACH/DROP PARTITION
+-- instead of row-by-row DELETEs.
+-- This takes an ACCESS EXCLUSIVE lock on chat_messages while it runs (the attach scans the old table once).
+
+alter table chat_messages rename to chat_messages_initial;
+-- The primary key of a partitioned table must include the partition key
+alter table chat_messages_initial drop constraint chat_messages_pkey;
+
+create table chat_messages (
+    id         uuid                        not null,
+    session_id uuid                        not null,
+    sender     varchar(255)                not null,
+    content    text                        not null,
+    context    text,
+    created_at timestamp(6) with time zone not null,
+    constraint chat_messages_pkey primary key (id, created_at),
+    constraint fk_chat_messages_session foreign key (session_id) references chat_sessions (id)
+) partition by range (created_at);
+
+-- Per-session history in (created_at, id) order; serves both offset and keyset reads
+create index idx_chat_messages_session_history on chat_messages (session_id, created_at, id);
+
+do $$
+begin
+    execute format('alter table chat_messages attach partition chat_messages_initial for values from (minvalue) to (%L)',
+                   date_trunc('month', now() at time zone 'UTC') at time zone 'UTC' + interval '1 month');
+end;
+$$;
+
+-- Catches rows whose month has no partition yet, so inserts never fail on a missing partition
+create table chat_messages_default partition of chat_messages default;
+
+-- Creates the monthly partitions for the current month and the next p_months_ahead months,
+-- skipping months already covered by another partition. Returns the number of partitions created.
+-- Called below and periodically by MessagePartitionMaintenance; safe to run from several instances.
+create function ensure_chat_messages_partitions(p_months_ahead int) returns int
+language plpgsql as $$
+declare
+    v_month   timestamptz;
+    v_name    text;
+    v_created int := 0;
+begin
+    perform pg_advisory_xact_lock(hashtext('chat_messages_partitions'));
+
+    for i in 0..p_months_ahead loop
+        v_month := date_trunc('month', now() at time zone 'UTC') at time zone 'UTC' + make_interval(months => i);
+        v_name := 'chat_messages_' || to_char(v_month at time zone 'UTC', 'YYYY_MM');
+
+        continue when to_regclass(v_name) is not null;
+        begin
+            execute format('create table %I partition of chat_messages for values from (%L) to (%L)',
+                           v_name, v_month, v_month + interval '1 month');
+            v_created := v_created + 1;
+        exception when invalid_object_definition then
+            -- Overlaps an existing partition (e.g. chat_messages_initial covers the current month)
+            null;
+        end;
+    end loop;
+
+    return v_created;
+end;
+$$;
+
+select ensure_chat_messages_partitions(3);
@@ -0,0 +1,42 @@
+-- Per-session sequence of messages in commit order, followed by watchers of new messages.
+--
+-- created_at is stamped by the application before the insert commits, so two transactions can
+-- commit out of created_at order and a reader seeking on (created_at, id) may step past a row
+-- that only becomes visible later. seq is taken from a counter on the session row instead: the
+-- increment locks that row until the inserting transaction ends, so within a session seq order
+-- is commit order and no row can appear below a seq a reader has already seen.
+-- This rewrites chat_messages once to number the existing rows.
+
+alter table chat_sessions add column message_seq bigint not null default 0;
+alter table chat_messages add column seq bigint;
+
+-- Streamed messages still being written; watchers skip them until the stream completes,
+-- which gives the row a new seq
+alter table chat_messages add column streaming boolean not null default false;
+
+update chat_messages m set seq = n.seq
+from (select id, created_at, row_number() over (partition by session_id order by created_at, id) as seq
+      from chat_messages) n
+where m.id = n.id and m.created_at = n.created_at;
+
+update chat_sessions s set message_seq = n.max_seq
+from (select session_id, max(seq) as max_seq from chat_messages group by session_id) n
+where s.id = n.session_id;
+
+alter table chat_messages alter column seq set not null;
+
+create function chat_messages_next_seq() returns trigger
+language plpgsql as $$
+begin
+    update chat_sessions set message_seq = message_seq + 1 where id = new.session_id
+    returning message_seq into new.seq;
+    -- A missing session is left to the foreign key, which rejects the row right after
+    new.seq := coalesce(new.seq, 0);
+    return new;
+end;
+$$;
+
+create trigger chat_messages_seq before insert on chat_messages
+    for each row execute function chat_messages_next_seq();
+
+create index idx_chat_messages_session_seq on chat_messages (session_id, seq) where not streaming;
@@ -0,0 +1,3 @@
+-- Open streams of a session, summed into the version of its history (MessageHistoryVersion).
+-- Only rows of streams still being written are indexed, so the index stays tiny.
+create index idx_chat_messages_session_streaming on chat_messages (session_id) where streaming;
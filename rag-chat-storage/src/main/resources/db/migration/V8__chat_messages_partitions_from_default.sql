@@ -0,0 +1,52 @@
+-- Lets ensure_chat_messages_partitions create a month whose rows already sit in the default partition.
+--
+-- If maintenance falls behind (e.g. every instance was down at the turn of a month), new rows land in
+-- chat_messages_default, and CREATE TABLE ... PARTITION OF for that month then fails with
+-- check_violation (23514), stopping the whole run. Such a month is now built as a standalone table,
+-- filled with the rows moved out of the default partition, and attached. This runs in the caller's
+-- transaction and locks the default partition (ACCESS EXCLUSIVE) until it commits, so inserts routed
+-- there wait; months with no rows in the default partition are created as before.
+
+create or replace function ensure_chat_messages_partitions(p_months_ahead int) returns int
+language plpgsql as $$
+declare
+    v_month   timestamptz;
+    v_name    text;
+    v_moved   bigint;
+    v_created int := 0;
+begin
+    perform pg_advisory_xact_lock(hashtext('chat_messages_partitions'));
+
+    for i in 0..p_months_ahead loop
+        v_month := date_trunc('month', now() at time zone 'UTC') at time zone 'UTC' + make_interval(months => i);
+        v_name := 'chat_messages_' || to_char(v_month at time zone 'UTC', 'YYYY_MM');
+
+        continue when to_regclass(v_name) is not null;
+        begin
+            if exists (select 1 from chat_messages_default
+                       where created_at >= v_month and created_at < v_month + interval '1 month') then
+                -- No other partition covers a month with rows in the default one
+                execute format('create table %I (like chat_messages including defaults including constraints)', v_name);
+                execute format('with moved as (delete from chat_messages_default'
+                               || ' where created_at >= %L and created_at < %L returning *)'
+                               || ' insert into %I select * from moved',
+                               v_month, v_month + interval '1 month', v_name);
+                get diagnostics v_moved = row_count;
+                -- Indexes, the foreign key and the seq trigger are cloned from chat_messages on attach
+                execute format('alter table chat_messages attach partition %I for values from (%L) to (%L)',
+                               v_name, v_month, v_month + interval '1 month');
+                raise notice 'Moved % rows from chat_messages_default into %', v_moved, v_name;
+            else
+                execute format('create table %I partition of chat_messages for values from (%L) to (%L)',
+                               v_name, v_month, v_month + interval '1 month');
+            end if;
+            v_created := v_created + 1;
+        exception when invalid_object_definition then
+            -- Overlaps an existing partition (e.g. chat_messages_initial covers the current month)
+            null;
+        end;
+    end loop;
+
+    return v_created;
+end;
+$$;
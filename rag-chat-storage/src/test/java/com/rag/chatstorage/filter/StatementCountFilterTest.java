@@ -0,0 +1,80 @@
+package com.rag.chatstorage.filter;
+
+import com.rag.chatstorage.config.MetricsConfig;
+import com.rag.chatstorage.metrics.StatementCountingInspector;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StatementCountFilterTest {
+
+    private static final String ROUTE = "/api/v1/sessions/{sessionId}/messages";
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatementCountFilter filter;
+    private StatementCountingInspector inspector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new StatementCountFilter(meterRegistry);
+        inspector = new StatementCountingInspector();
+    }
+
+    @Test
+    void doFilter_ShouldRecordStatementsPerRoute() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/sessions/abc/messages");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chainRunning(3, ROUTE));
+
+        DistributionSummary summary = meterRegistry.find(MetricsConfig.HIBERNATE_STATEMENTS)
+                .tags("method", "GET", "uri", ROUTE)
+                .summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        assertEquals(3, summary.totalAmount());
+    }
+
+    @Test
+    void doFilter_ShouldSkip_WhenNoRouteMatched() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/unknown");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chainRunning(0, null));
+
+        assertNull(meterRegistry.find(MetricsConfig.HIBERNATE_STATEMENTS).summary());
+    }
+
+    @Test
+    void inspect_ShouldNotCount_OutsideARequest() {
+        inspector.inspect("select 1");
+
+        assertEquals(0, StatementCountingInspector.stop());
+    }
+
+    /** A handler that "runs" {@code statements} queries and, like Spring MVC, exposes the matched route. */
+    private MockFilterChain chainRunning(int statements, String route) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                for (int i = 0; i < statements; i++) {
+                    inspector.inspect("select 1");
+                }
+                if (route != null) {
+                    req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+                }
+            }
+        });
+    }
+}
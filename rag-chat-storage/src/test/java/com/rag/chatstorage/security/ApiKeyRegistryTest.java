@@ -0,0 +1,103 @@
+package com.rag.chatstorage.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.core.Authentication;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApiKeyRegistryTest {
+
+    @Test
+    void authenticate_ShouldAcceptEveryLiveKey_DuringRotation() {
+        ApiKeyRegistry registry = new ApiKeyRegistry(List.of(
+                new ApiKeyProperties("gateway-old", "old-secret", null),
+                new ApiKeyProperties("gateway-new", "new-secret", null)));
+
+        assertEquals("gateway-old", registry.authenticate("old-secret").getName());
+        assertEquals("gateway-new", registry.authenticate("new-secret").getName());
+        assertNull(registry.authenticate("other-secret"));
+        assertNull(registry.authenticate(null));
+    }
+
+    @Test
+    void authenticate_ShouldReuseOneAuthenticationPerKey() {
+        ApiKeyRegistry registry = new ApiKeyRegistry(List.of(new ApiKeyProperties("gateway", "secret", null)));
+
+        Authentication first = registry.authenticate("secret");
+
+        assertSame(first, registry.authenticate("secret"));
+        assertTrue(first.isAuthenticated());
+        assertEquals("ROLE_INTERNAL", first.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void authenticate_ShouldReject_WhenKeyHasExpired() {
+        ApiKeyRegistry registry = new ApiKeyRegistry(List.of(
+                new ApiKeyProperties("retired", "old-secret", Instant.now().minusSeconds(60)),
+                new ApiKeyProperties("current", "new-secret", Instant.now().plusSeconds(3600))));
+
+        assertNull(registry.authenticate("old-secret"));
+        assertNotNull(registry.authenticate("new-secret"));
+    }
+
+    @Test
+    void authenticate_ShouldReject_PrefixesAndExtensionsOfAKey() {
+        ApiKeyRegistry registry = new ApiKeyRegistry(List.of(new ApiKeyProperties("gateway", "secret", null)));
+
+        assertNull(registry.authenticate("secre"));
+        assertNull(registry.authenticate("secret1"));
+        assertNull(registry.authenticate(""));
+    }
+
+    @Test
+    void constructor_ShouldFallBackToLegacyKey_WhenListNotConfigured() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(ApiKeyRegistry.LEGACY_PROPERTY, "legacy-secret");
+
+        ApiKeyRegistry registry = new ApiKeyRegistry(environment);
+
+        assertEquals(1, registry.size());
+        assertEquals("gateway", registry.authenticate("legacy-secret").getName());
+    }
+
+    @Test
+    void onEnvironmentChange_ShouldReloadKeys() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.internal-keys[0].id", "gateway")
+                .withProperty("app.internal-keys[0].key", "old-secret");
+        ApiKeyRegistry registry = new ApiKeyRegistry(environment);
+
+        environment.setProperty("app.internal-keys[1].id", "gateway-next");
+        environment.setProperty("app.internal-keys[1].key", "new-secret");
+        environment.setProperty("app.internal-keys[0].expires-at", "2000-01-01T00:00:00Z");
+        registry.onEnvironmentChange(new EnvironmentChangeEvent(Set.of(
+                "app.internal-keys[1].id", "app.internal-keys[1].key", "app.internal-keys[0].expires-at")));
+
+        assertEquals(2, registry.size());
+        assertNull(registry.authenticate("old-secret"));
+        assertEquals("gateway-next", registry.authenticate("new-secret").getName());
+    }
+
+    @Test
+    void onEnvironmentChange_ShouldIgnoreUnrelatedKeys() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.internal-keys[0].key", "secret");
+        ApiKeyRegistry registry = new ApiKeyRegistry(environment);
+
+        environment.setProperty("app.internal-keys[1].key", "unseen-secret");
+        registry.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("logging.level.root")));
+
+        assertNull(registry.authenticate("unseen-secret"));
+        assertEquals(1, registry.size());
+    }
+}
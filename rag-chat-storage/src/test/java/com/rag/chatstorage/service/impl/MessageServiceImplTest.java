@@ -1,33 +1,59 @@
 package com.rag.chatstorage.service.impl;
 
 
+import com.rag.chatstorage.dto.BatchMessageItem;
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageContextResponse;
+import com.rag.chatstorage.dto.MessageHistoryVersion;
 import com.rag.chatstorage.dto.MessageRequest;
 import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.MessageSummaryResponse;
 import com.rag.chatstorage.entity.Message;
 import com.rag.chatstorage.entity.Session;
 import com.rag.chatstorage.exception.ChatSessionNotFoundException;
+import com.rag.chatstorage.exception.InvalidRequestException;
+import com.rag.chatstorage.exception.ResourceNotFoundException;
 import com.rag.chatstorage.mapper.MessageMapper;
+import com.rag.chatstorage.pagination.KeysetCursor;
+import com.rag.chatstorage.pagination.SequenceCursor;
 import com.rag.chatstorage.repository.MessageRepository;
 import com.rag.chatstorage.repository.SessionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;import org.springframework.data.domain.Page;
+import org.mockito.MockitoAnnotations;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,6 +69,9 @@ public class MessageServiceImplTest {
     @Mock
     private MessageMapper messageMapper;
 
+    @Mock
+    private MessageNotifier messageNotifier;
+
     @InjectMocks
     private MessageServiceImpl messageService;
 
@@ -56,6 +85,7 @@ public class MessageServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(messageService, "searchStatementTimeoutMs", 5_000L);
 
         sessionId = UUID.randomUUID();
 
@@ -68,6 +98,7 @@ public class MessageServiceImplTest {
         messageEntity = new Message();
         messageEntity.setContent("Hello world");
         messageEntity.setSession(mockSession);
+        messageEntity.setCreatedAt(OffsetDateTime.now());
 
         savedMessage = new Message();
         savedMessage.setId(UUID.randomUUID());
@@ -90,9 +121,9 @@ public class MessageServiceImplTest {
     @Test
     void addMessage_ShouldSaveMessage_WhenSessionExists() {
         // Arrange
-        when(sessionRepository.findById(sessionId)).thenReturn(Optional.of(mockSession));
+        when(sessionRepository.getReferenceById(sessionId)).thenReturn(mockSession);
         when(messageMapper.toEntity(request, mockSession)).thenReturn(messageEntity);
-        when(messageRepository.save(messageEntity)).thenReturn(savedMessage);
+        when(messageRepository.saveAndFlush(messageEntity)).thenReturn(savedMessage);
         when(messageMapper.toResponse(savedMessage)).thenReturn(responseDto);
 
         // Act
@@ -103,9 +134,11 @@ public class MessageServiceImplTest {
         assertEquals(savedMessage.getId(), result.getId());
         assertEquals("Hello world", result.getContent());
 
-        verify(sessionRepository, times(1)).findById(sessionId);
-        verify(messageRepository, times(1)).save(messageEntity);
+        verify(sessionRepository, never()).findById(any());
+        verify(sessionRepository, never()).existsById(any());
+        verify(messageRepository, times(1)).saveAndFlush(messageEntity);
         verify(messageMapper, times(1)).toResponse(savedMessage);
+        verify(messageNotifier, times(1)).messagesAdded(sessionId);
     }
 
     // ------------------------------------------------------
@@ -113,17 +146,120 @@ public class MessageServiceImplTest {
     // ------------------------------------------------------
     @Test
     void addMessage_ShouldThrowException_WhenSessionDoesNotExist() {
-        when(sessionRepository.findById(sessionId)).thenReturn(Optional.empty());
+        when(sessionRepository.getReferenceById(sessionId)).thenReturn(mockSession);
+        when(messageMapper.toEntity(request, mockSession)).thenReturn(messageEntity);
+        when(messageRepository.saveAndFlush(messageEntity)).thenThrow(new DataIntegrityViolationException("fk",
+                new ConstraintViolationException("fk", new SQLException("fk", "23503"), "fk_chat_messages_session")));
 
         ChatSessionNotFoundException ex = assertThrows(
                 ChatSessionNotFoundException.class,
                 () -> messageService.addMessage(sessionId, request)
         );
 
-        assertTrue(ex.getMessage().contains("Chat session not found"));
+        assertTrue(ex.getMessage().contains(sessionId.toString()));
+
+        verify(sessionRepository, never()).findById(any());
+        verify(messageMapper, never()).toResponse(any());
+        verify(messageNotifier, never()).messagesAdded(any());
+    }
+
+    // ------------------------------------------------------
+    // TEST 2.1: addMessage() → OTHER INTEGRITY VIOLATION
+    // ------------------------------------------------------
+    @Test
+    void addMessage_ShouldRethrow_WhenViolationIsNotForeignKey() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException("not null", "23502"), null));
+
+        when(sessionRepository.getReferenceById(sessionId)).thenReturn(mockSession);
+        when(messageMapper.toEntity(request, mockSession)).thenReturn(messageEntity);
+        when(messageRepository.saveAndFlush(messageEntity)).thenThrow(violation);
 
-        verify(sessionRepository, times(1)).findById(sessionId);
+        assertEquals(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> messageService.addMessage(sessionId, request)));
+    }
+
+    // ------------------------------------------------------
+    // TEST 2a: addMessages() SUCCESS
+    // ------------------------------------------------------
+    @Test
+    void addMessages_ShouldValidateSessionsOnceAndSaveAll_WhenSessionsExist() {
+        BatchMessageItem first = new BatchMessageItem();
+        first.setSessionId(sessionId);
+        first.setContent("Hello world");
+        BatchMessageItem second = new BatchMessageItem();
+        second.setSessionId(sessionId);
+        second.setContent("Hello again");
+
+        when(sessionRepository.findAllById(Set.of(sessionId))).thenReturn(List.of(mockSession));
+        when(messageMapper.toEntity(any(BatchMessageItem.class), eq(mockSession))).thenReturn(messageEntity);
+        when(messageRepository.saveAll(anyList())).thenReturn(List.of(savedMessage, savedMessage));
+        when(messageMapper.toResponse(savedMessage)).thenReturn(responseDto);
+
+        List<MessageResponse> result = messageService.addMessages(List.of(first, second));
+
+        assertEquals(2, result.size());
+        verify(sessionRepository, times(1)).findAllById(Set.of(sessionId));
+        verify(sessionRepository, never()).findById(any());
         verify(messageRepository, never()).save(any());
+        verify(messageNotifier, times(1)).messagesAdded(sessionId);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void addMessages_ShouldKeepRequestOrder_WhenCreatedInSameMicrosecond() {
+        // History is ordered by (created_at, id) with random IDs, so only the timestamps can keep the order
+        OffsetDateTime now = OffsetDateTime.now();
+        List<BatchMessageItem> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            BatchMessageItem item = new BatchMessageItem();
+            item.setSessionId(sessionId);
+            item.setContent("message " + i);
+            items.add(item);
+
+            Message entity = new Message();
+            entity.setContent(item.getContent());
+            entity.setSession(mockSession);
+            entity.setCreatedAt(now);
+            when(messageMapper.toEntity(item, mockSession)).thenReturn(entity);
+        }
+        when(sessionRepository.findAllById(Set.of(sessionId))).thenReturn(List.of(mockSession));
+        when(messageRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        messageService.addMessages(items);
+
+        ArgumentCaptor<List<Message>> captor = ArgumentCaptor.forClass(List.class);
+        verify(messageRepository).saveAll(captor.capture());
+        List<Message> saved = captor.getValue();
+        for (int i = 0; i < saved.size(); i++) {
+            assertEquals("message " + i, saved.get(i).getContent());
+            if (i > 0) {
+                assertTrue(saved.get(i).getCreatedAt().isAfter(saved.get(i - 1).getCreatedAt()));
+            }
+            assertEquals(0, saved.get(i).getCreatedAt().getNano() % 1000, "kept to Postgres' microseconds");
+        }
+    }
+
+    // ------------------------------------------------------
+    // TEST 2b: addMessages() → ONE SESSION NOT FOUND
+    // ------------------------------------------------------
+    @Test
+    void addMessages_ShouldThrowException_WhenAnySessionDoesNotExist() {
+        UUID missingId = UUID.randomUUID();
+        BatchMessageItem first = new BatchMessageItem();
+        first.setSessionId(sessionId);
+        BatchMessageItem second = new BatchMessageItem();
+        second.setSessionId(missingId);
+
+        when(sessionRepository.findAllById(Set.of(sessionId, missingId))).thenReturn(List.of(mockSession));
+
+        ChatSessionNotFoundException ex = assertThrows(
+                ChatSessionNotFoundException.class,
+                () -> messageService.addMessages(List.of(first, second))
+        );
+
+        assertTrue(ex.getMessage().contains(missingId.toString()));
+        verify(messageRepository, never()).saveAll(anyList());
     }
 
     // ------------------------------------------------------
@@ -134,7 +270,6 @@ public class MessageServiceImplTest {
         List<Message> messageList = List.of(savedMessage);
         Page<Message> page = new PageImpl<>(messageList);
 
-        when(sessionRepository.existsById(sessionId)).thenReturn(true);
         when(messageRepository.findBySessionIdOrderByCreatedAtAsc(eq(sessionId), any(PageRequest.class)))
                 .thenReturn(page);
         when(messageMapper.toResponse(savedMessage)).thenReturn(responseDto);
@@ -143,6 +278,7 @@ public class MessageServiceImplTest {
 
         assertEquals(1, result.getTotalElements());
         assertEquals(savedMessage.getId(), result.getContent().get(0).getId());
+        verify(sessionRepository, never()).existsById(any());
     }
 
     // ------------------------------------------------------
@@ -150,12 +286,303 @@ public class MessageServiceImplTest {
     // ------------------------------------------------------
     @Test
     void getMessagesBySessionId_ShouldThrowException_WhenSessionDoesNotExist() {
+        when(messageRepository.findBySessionIdOrderByCreatedAtAsc(eq(sessionId), any(PageRequest.class)))
+                .thenReturn(Page.empty());
         when(sessionRepository.existsById(sessionId)).thenReturn(false);
 
         assertThrows(ChatSessionNotFoundException.class,
                 () -> messageService.getMessagesBySessionId(sessionId, 0, 10));
+    }
+
+    // ------------------------------------------------------
+    // TEST 5: getMessagesBySessionIdAfter() FIRST SLICE WITH MORE
+    // ------------------------------------------------------
+    @Test
+    void getMessagesBySessionIdAfter_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        Message second = new Message();
+        second.setId(UUID.randomUUID());
+        second.setCreatedAt(savedMessage.getCreatedAt().plusSeconds(1));
+        second.setSession(mockSession);
+
+        when(messageRepository.findFirstSliceBySessionId(sessionId, 2)).thenReturn(List.of(savedMessage, second));
+        when(messageMapper.toResponse(savedMessage)).thenReturn(responseDto);
+
+        CursorPageResponse<MessageResponse> result = messageService.getMessagesBySessionIdAfter(sessionId, null, 1);
+
+        assertEquals(1, result.getItems().size());
+        assertTrue(result.isHasNext());
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(savedMessage.getId(), next.id());
+        assertEquals(savedMessage.getCreatedAt().toInstant(), next.timestamp().toInstant());
+        verify(sessionRepository, never()).existsById(any());
+    }
+
+    // ------------------------------------------------------
+    // TEST 6: getMessagesBySessionIdAfter() SEEKS PAST CURSOR
+    // ------------------------------------------------------
+    @Test
+    void getMessagesBySessionIdAfter_ShouldSeekPastCursor_WhenCursorGiven() {
+        KeysetCursor cursor = KeysetCursor.of(OffsetDateTime.now().minusMinutes(1), UUID.randomUUID());
+
+        when(messageRepository.findSliceBySessionIdAfter(eq(sessionId), any(OffsetDateTime.class), eq(cursor.id()), eq(11)))
+                .thenReturn(List.of(savedMessage));
+        when(messageMapper.toResponse(savedMessage)).thenReturn(responseDto);
+
+        CursorPageResponse<MessageResponse> result =
+                messageService.getMessagesBySessionIdAfter(sessionId, cursor.encode(), 10);
+
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    // ------------------------------------------------------
+    // TEST 7: getMessagesBySessionIdAfter() → SESSION NOT FOUND
+    // ------------------------------------------------------
+    @Test
+    void getMessagesBySessionIdAfter_ShouldThrowException_WhenSessionDoesNotExist() {
+        when(messageRepository.findFirstSliceBySessionId(sessionId, 11)).thenReturn(List.of());
+        when(sessionRepository.existsById(sessionId)).thenReturn(false);
+
+        assertThrows(ChatSessionNotFoundException.class,
+                () -> messageService.getMessagesBySessionIdAfter(sessionId, null, 10));
+    }
+
+    // ------------------------------------------------------
+    // TEST 8: getMessagesBySessionIdAfter() → MALFORMED CURSOR
+    // ------------------------------------------------------
+    @Test
+    void getMessagesBySessionIdAfter_ShouldThrowException_WhenCursorIsMalformed() {
+        assertThrows(InvalidRequestException.class,
+                () -> messageService.getMessagesBySessionIdAfter(sessionId, "not-a-cursor", 10));
+
+        verify(messageRepository, never()).findSliceBySessionIdAfter(any(), any(), any(), anyInt());
+    }
+
+    // ------------------------------------------------------
+    // TEST 9: getHistoryVersion() SINGLE LOOKUP
+    // ------------------------------------------------------
+    @Test
+    void getHistoryVersion_ShouldDescribeHistory_WithoutSessionLookup() {
+        MessageHistoryVersion version = new MessageHistoryVersion(7, 0, OffsetDateTime.now());
+        when(messageRepository.findHistoryVersion(sessionId)).thenReturn(Optional.of(version));
+
+        assertEquals(version, messageService.getHistoryVersion(sessionId));
+        assertEquals(version.lastCreatedAt().toInstant(), version.lastModified());
+
+        verify(sessionRepository, never()).existsById(any());
+    }
+
+    // ------------------------------------------------------
+    // TEST 10: MessageHistoryVersion WHILE A STREAM IS OPEN
+    // ------------------------------------------------------
+    @Test
+    void historyVersion_ShouldChangeTag_WhenOpenStreamGrows() {
+        OffsetDateTime latest = OffsetDateTime.now();
+        MessageHistoryVersion before = new MessageHistoryVersion(7, 120, latest);
+        MessageHistoryVersion after = new MessageHistoryVersion(7, 480, latest);
+        MessageHistoryVersion completed = new MessageHistoryVersion(8, 0, latest);
+
+        assertNotEquals(before.eTag(), after.eTag());
+        assertNotEquals(after.eTag(), completed.eTag());
+        // The growing row has no timestamp to compare, so only the tag is offered
+        assertNull(after.lastModified());
+        assertEquals(latest.toInstant(), completed.lastModified());
+    }
+
+    // ------------------------------------------------------
+    // TEST 11: getHistoryVersion() → SESSION NOT FOUND
+    // ------------------------------------------------------
+    @Test
+    void getHistoryVersion_ShouldThrowException_WhenSessionDoesNotExist() {
+        when(messageRepository.findHistoryVersion(sessionId)).thenReturn(Optional.empty());
 
+        assertThrows(ChatSessionNotFoundException.class, () -> messageService.getHistoryVersion(sessionId));
+    }
+
+    // ------------------------------------------------------
+    // TEST 12: getMessageSummariesBySessionId() USES PROJECTION
+    // ------------------------------------------------------
+    @Test
+    void getMessageSummariesBySessionId_ShouldReturnProjectedPage_WithoutLoadingEntities() {
+        MessageSummaryResponse summary = new MessageSummaryResponse(savedMessage.getId(), sessionId, "user123",
+                "Hello world", savedMessage.getCreatedAt());
+        when(messageRepository.findSummariesBySessionId(eq(sessionId), any(PageRequest.class)))
+                .thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(0, 10), 1));
+
+        Page<MessageSummaryResponse> result = messageService.getMessageSummariesBySessionId(sessionId, 0, 10);
+
+        assertEquals(List.of(summary), result.getContent());
         verify(messageRepository, never()).findBySessionIdOrderByCreatedAtAsc(any(), any());
+        verify(sessionRepository, never()).existsById(any());
+    }
+
+    // ------------------------------------------------------
+    // TEST 13: getMessageSummariesBySessionIdAfter() CURSOR FROM SUMMARY
+    // ------------------------------------------------------
+    @Test
+    void getMessageSummariesBySessionIdAfter_ShouldSeekPastCursor_AndReturnNextCursor() {
+        KeysetCursor cursor = KeysetCursor.of(OffsetDateTime.now().minusMinutes(1), UUID.randomUUID());
+        MessageSummaryResponse first = new MessageSummaryResponse(UUID.randomUUID(), sessionId, "user123",
+                "Hello", cursor.timestamp().plusSeconds(1));
+        MessageSummaryResponse second = new MessageSummaryResponse(UUID.randomUUID(), sessionId, "assistant",
+                "Hi", cursor.timestamp().plusSeconds(2));
+        when(messageRepository.findSummarySliceBySessionIdAfter(eq(sessionId), any(OffsetDateTime.class),
+                eq(cursor.id()), eq(Limit.of(2)))).thenReturn(List.of(first, second));
+
+        CursorPageResponse<MessageSummaryResponse> result =
+                messageService.getMessageSummariesBySessionIdAfter(sessionId, cursor.encode(), 1);
+
+        assertEquals(List.of(first), result.getItems());
+        assertTrue(result.isHasNext());
+        assertEquals(first.getId(), KeysetCursor.decode(result.getNextCursor()).id());
+    }
+
+    // ------------------------------------------------------
+    // TEST 14: getMessageContext() SUCCESS
+    // ------------------------------------------------------
+    @Test
+    void getMessageContext_ShouldReturnContext_WithoutSessionLookup() {
+        MessageContextResponse context = new MessageContextResponse(savedMessage.getId(), sessionId, "{\"intent\":\"greeting\"}");
+        when(messageRepository.findContextByIdAndSessionId(savedMessage.getId(), sessionId)).thenReturn(Optional.of(context));
+
+        assertEquals(context, messageService.getMessageContext(sessionId, savedMessage.getId()));
+
+        verify(sessionRepository, never()).existsById(any());
+    }
+
+    // ------------------------------------------------------
+    // TEST 15: getMessageContext() → MESSAGE OR SESSION NOT FOUND
+    // ------------------------------------------------------
+    @Test
+    void getMessageContext_ShouldTellMissingMessageFromMissingSession() {
+        UUID messageId = UUID.randomUUID();
+        when(messageRepository.findContextByIdAndSessionId(messageId, sessionId)).thenReturn(Optional.empty());
+
+        when(sessionRepository.existsById(sessionId)).thenReturn(true);
+        assertThrows(ResourceNotFoundException.class, () -> messageService.getMessageContext(sessionId, messageId));
+
+        when(sessionRepository.existsById(sessionId)).thenReturn(false);
+        assertThrows(ChatSessionNotFoundException.class, () -> messageService.getMessageContext(sessionId, messageId));
+    }
+
+    // ------------------------------------------------------
+    // TEST 16: searchMessages() SUCCESS
+    // ------------------------------------------------------
+    @Test
+    void searchMessages_ShouldPushFilterDown_AndReturnNextCursor() {
+        String filter = "$.docIds[*] == \"doc-42\"";
+        Message second = new Message();
+        second.setId(UUID.randomUUID());
+        second.setCreatedAt(savedMessage.getCreatedAt().plusSeconds(1));
+        when(messageRepository.searchByContext(filter, "user123", null, null, 2, 5_000L))
+                .thenReturn(List.of(savedMessage, second));
+        when(messageMapper.toResponse(savedMessage)).thenReturn(responseDto);
+
+        CursorPageResponse<MessageResponse> result = messageService.searchMessages(filter, "user123", null, null, 1);
+
+        assertEquals(List.of(responseDto), result.getItems());
+        assertTrue(result.isHasNext());
+        assertEquals(savedMessage.getId(), KeysetCursor.decode(result.getNextCursor()).id());
+        verify(sessionRepository, never()).existsById(any());
+    }
+
+    // ------------------------------------------------------
+    // TEST 17: searchMessages() → FILTER REJECTED BY THE DATABASE
+    // ------------------------------------------------------
+    @Test
+    void searchMessages_ShouldThrowInvalidRequest_WhenDatabaseRejectsFilter() {
+        String filter = "$.intent ==";
+        when(messageRepository.searchByContext(filter, null, sessionId, null, 21, 5_000L))
+                .thenThrow(new InvalidDataAccessResourceUsageException("could not execute query",
+                        new SQLException("ERROR: syntax error at end of jsonpath input\n  Position: 72", "42601")));
+
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> messageService.searchMessages(filter, null, sessionId, null, 20));
+
+        assertEquals("Invalid JSON path filter: syntax error at end of jsonpath input", ex.getMessage());
+    }
+
+    // ------------------------------------------------------
+    // TEST 18: searchMessages() → BLANK FILTER
+    // ------------------------------------------------------
+    @Test
+    void searchMessages_ShouldRejectBlankFilter_WithoutQuerying() {
+        assertThrows(InvalidRequestException.class, () -> messageService.searchMessages(" ", null, sessionId, null, 20));
+
+        verify(messageRepository, never()).searchByContext(any(), any(), any(), any(), anyInt(), anyLong());
+    }
+
+    // ------------------------------------------------------
+    // TEST 18b: searchMessages() → NO USER OR SESSION
+    // ------------------------------------------------------
+    @Test
+    void searchMessages_ShouldRequireUserOrSession_WithoutQuerying() {
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> messageService.searchMessages("$.intent == \"greeting\"", " ", null, null, 20));
+
+        assertEquals("Search requires a userId or a sessionId", ex.getMessage());
+        verify(messageRepository, never()).searchByContext(any(), any(), any(), any(), anyInt(), anyLong());
+    }
+
+    // ------------------------------------------------------
+    // TEST 18c: searchMessages() → STATEMENT TIMEOUT
+    // ------------------------------------------------------
+    @Test
+    void searchMessages_ShouldThrowInvalidRequest_WhenStatementTimesOut() {
+        String filter = "$.text like_regex \"(a+)+b\"";
+        when(messageRepository.searchByContext(filter, "user123", null, null, 21, 5_000L))
+                .thenThrow(new QueryTimeoutException("could not execute query",
+                        new SQLException("ERROR: canceling statement due to statement timeout", "57014")));
+
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> messageService.searchMessages(filter, "user123", null, null, 20));
+
+        assertTrue(ex.getMessage().startsWith("Search did not finish within 5000 ms"));
+    }
+
+    // ------------------------------------------------------
+    // TEST 19: getCommittedMessagesAfter() SEQUENCE CURSOR
+    // ------------------------------------------------------
+    @Test
+    void getCommittedMessagesAfter_ShouldSeekPastSequence_AndPointAfterLastMessage() {
+        savedMessage.setSeq(8L);
+        when(messageRepository.findCommittedSliceAfter(sessionId, 5, 21)).thenReturn(List.of(savedMessage));
+        when(messageMapper.toResponse(savedMessage)).thenReturn(responseDto);
+
+        CursorPageResponse<MessageResponse> slice =
+                messageService.getCommittedMessagesAfter(sessionId, SequenceCursor.of(5).encode(), 20);
+
+        assertEquals(List.of(responseDto), slice.getItems());
+        assertEquals(SequenceCursor.of(8).encode(), slice.getNextCursor());
+        assertFalse(slice.isHasNext());
+        verify(sessionRepository, never()).existsById(any());
+    }
+
+    // ------------------------------------------------------
+    // TEST 20: getCommittedMessagesAfter() HISTORY CURSOR
+    // ------------------------------------------------------
+    @Test
+    void getCommittedMessagesAfter_ShouldStartBelowFirstMessageAfter_HistoryCursor() {
+        KeysetCursor cursor = KeysetCursor.of(OffsetDateTime.now().minusMinutes(1), UUID.randomUUID());
+        when(messageRepository.findSeqBefore(sessionId, cursor.timestamp(), cursor.id())).thenReturn(Optional.of(3L));
+        when(messageRepository.findCommittedSliceAfter(sessionId, 3, 21)).thenReturn(List.of());
+        when(sessionRepository.existsById(sessionId)).thenReturn(true);
+
+        CursorPageResponse<MessageResponse> slice = messageService.getCommittedMessagesAfter(sessionId, cursor.encode(), 20);
+
+        assertTrue(slice.getItems().isEmpty());
+        assertEquals(SequenceCursor.of(3).encode(), slice.getNextCursor());
+    }
+
+    // ------------------------------------------------------
+    // TEST 21: getCommittedTailCursor() → SESSION NOT FOUND
+    // ------------------------------------------------------
+    @Test
+    void getCommittedTailCursor_ShouldThrowException_WhenSessionDoesNotExist() {
+        when(messageRepository.findLastSeq(sessionId)).thenReturn(Optional.empty());
+
+        assertThrows(ChatSessionNotFoundException.class, () -> messageService.getCommittedTailCursor(sessionId));
     }
 
 }
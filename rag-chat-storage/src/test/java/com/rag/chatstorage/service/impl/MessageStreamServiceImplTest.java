@@ -0,0 +1,265 @@
+package com.rag.chatstorage.service.impl;
+
+import com.rag.chatstorage.dto.MessageRequest;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.dto.MessageStreamResponse;
+import com.rag.chatstorage.dto.OpenStreamRequest;
+import com.rag.chatstorage.entity.Message;
+import com.rag.chatstorage.entity.Session;
+import com.rag.chatstorage.exception.ChatSessionNotFoundException;
+import com.rag.chatstorage.exception.InvalidRequestException;
+import com.rag.chatstorage.exception.ResourceNotFoundException;
+import com.rag.chatstorage.mapper.MessageMapper;
+import com.rag.chatstorage.repository.MessageRepository;
+import com.rag.chatstorage.repository.SessionRepository;
+import com.rag.chatstorage.service.SessionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MessageStreamServiceImplTest {
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private MessageMapper messageMapper;
+
+    @Mock
+    private SessionService sessionService;
+
+    @Mock
+    private MessageNotifier messageNotifier;
+
+    @InjectMocks
+    private MessageStreamServiceImpl streamService;
+
+    private UUID sessionId;
+    private Session sessionRef;
+    private Message savedMessage;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(streamService, "idleTimeoutMs", 300_000L);
+        ReflectionTestUtils.setField(streamService, "sseTimeoutMs", 60_000L);
+
+        sessionId = UUID.randomUUID();
+        sessionRef = new Session();
+        sessionRef.setId(sessionId);
+
+        savedMessage = new Message();
+        savedMessage.setId(UUID.randomUUID());
+        savedMessage.setSession(sessionRef);
+        savedMessage.setCreatedAt(OffsetDateTime.now());
+
+        when(sessionRepository.getReferenceById(sessionId)).thenReturn(sessionRef);
+        when(messageMapper.toEntity(any(MessageRequest.class), any(Session.class))).thenReturn(new Message());
+        when(messageRepository.save(any(Message.class))).thenReturn(savedMessage);
+        when(messageMapper.toResponse(any(Message.class))).thenReturn(new MessageResponse());
+    }
+
+    private UUID openStream() {
+        OpenStreamRequest request = new OpenStreamRequest();
+        request.setSender("assistant");
+        MessageStreamResponse response = streamService.openStream(sessionId, request);
+        assertNotNull(response.getStreamId());
+        return response.getStreamId();
+    }
+
+    // -----------------------------------------------------------
+    // openStream()
+    // -----------------------------------------------------------
+    @Test
+    void openStream_ShouldThrow_WhenSessionDoesNotExist() {
+        when(sessionService.getSessionById(sessionId))
+                .thenThrow(new ChatSessionNotFoundException("Session not found with ID: " + sessionId));
+
+        assertThrows(ChatSessionNotFoundException.class, this::openStream);
+    }
+
+    // -----------------------------------------------------------
+    // appendChunk() / completeStream()
+    // -----------------------------------------------------------
+    @Test
+    void appendChunk_ShouldOnlyBuffer_UntilStreamIsCompleted() {
+        UUID streamId = openStream();
+
+        streamService.appendChunk(sessionId, streamId, "Hello");
+        streamService.appendChunk(sessionId, streamId, " there!");
+
+        verify(messageRepository, never()).save(any());
+        verify(messageNotifier, never()).messagesAdded(any());
+
+        streamService.completeStream(sessionId, streamId);
+
+        ArgumentCaptor<MessageRequest> captor = ArgumentCaptor.forClass(MessageRequest.class);
+        verify(messageMapper).toEntity(captor.capture(), any(Session.class));
+        assertEquals("Hello there!", captor.getValue().getContent());
+        ArgumentCaptor<Message> saved = ArgumentCaptor.forClass(Message.class);
+        verify(messageRepository, times(1)).save(saved.capture());
+        assertFalse(saved.getValue().isStreaming());
+        verify(messageRepository, never()).updateContent(any(), anyString());
+        verify(messageNotifier, times(1)).messagesAdded(sessionId);
+    }
+
+    @Test
+    void appendChunk_ShouldThrow_WhenStreamIsUnknown() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> streamService.appendChunk(sessionId, UUID.randomUUID(), "Hello"));
+    }
+
+    @Test
+    void completeStream_ShouldThrow_WhenNothingWasAppended() {
+        UUID streamId = openStream();
+
+        assertThrows(InvalidRequestException.class, () -> streamService.completeStream(sessionId, streamId));
+        verify(messageRepository, never()).save(any());
+    }
+
+    @Test
+    void completeStream_ShouldCloseStream() {
+        UUID streamId = openStream();
+        streamService.appendChunk(sessionId, streamId, "Hello");
+        streamService.completeStream(sessionId, streamId);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> streamService.appendChunk(sessionId, streamId, "late"));
+    }
+
+    @Test
+    void appendChunk_ShouldThrow_WhenStreamClosedAfterLookup() {
+        UUID streamId = openStream();
+        streamService.appendChunk(sessionId, streamId, "Hello");
+        // Completed by another request while this one waited for the lock; the stream is still registered
+        StreamingMessage stream = registeredStream(streamId);
+        stream.close();
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> streamService.appendChunk(sessionId, streamId, " late"));
+        assertEquals("Hello", stream.getContent().toString());
+        assertThrows(ResourceNotFoundException.class,
+                () -> streamService.completeStream(sessionId, streamId));
+        verify(messageRepository, never()).save(any());
+    }
+
+    // -----------------------------------------------------------
+    // flushPending()
+    // -----------------------------------------------------------
+    @Test
+    void flushPending_ShouldInsertOnceThenRewriteContent() {
+        UUID streamId = openStream();
+
+        streamService.appendChunk(sessionId, streamId, "Hello");
+        streamService.flushPending();
+        streamService.flushPending(); // nothing new, no write
+
+        streamService.appendChunk(sessionId, streamId, " there!");
+        streamService.flushPending();
+
+        verify(messageRepository, times(1)).save(any());
+        verify(messageRepository, times(1)).updateContent(savedMessage.getId(), "Hello there!");
+        verify(messageNotifier, never()).messagesAdded(any());
+    }
+
+    @Test
+    void flushPending_ShouldKeepRowStreaming_UntilStreamIsCompleted() {
+        UUID streamId = openStream();
+        streamService.appendChunk(sessionId, streamId, "Hello");
+        streamService.flushPending();
+
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messageRepository).save(captor.capture());
+        assertTrue(captor.getValue().isStreaming());
+
+        streamService.completeStream(sessionId, streamId);
+
+        // Released with a new sequence number, even though nothing was appended since the flush
+        verify(messageRepository, times(1)).completeStreamedContent(savedMessage.getId(), sessionId, "Hello");
+        verify(messageNotifier, times(1)).messagesAdded(sessionId);
+    }
+
+    @Test
+    void flushPending_ShouldStoreAndCloseIdleStreams() {
+        ReflectionTestUtils.setField(streamService, "idleTimeoutMs", -1L);
+        UUID streamId = openStream();
+        streamService.appendChunk(sessionId, streamId, "Partial answer");
+
+        streamService.flushPending();
+
+        verify(messageRepository, times(1)).save(any());
+        verify(messageNotifier, times(1)).messagesAdded(sessionId);
+        assertThrows(ResourceNotFoundException.class,
+                () -> streamService.completeStream(sessionId, streamId));
+    }
+
+    @Test
+    void flushPending_ShouldKeepIdleStream_WhenItsFlushFails() {
+        ReflectionTestUtils.setField(streamService, "idleTimeoutMs", -1L);
+        UUID streamId = openStream();
+        streamService.appendChunk(sessionId, streamId, "Partial answer");
+        when(messageRepository.save(any(Message.class)))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(savedMessage);
+
+        streamService.flushPending();
+
+        StreamingMessage stream = registeredStream(streamId);
+        assertNotNull(stream);
+        assertFalse(stream.isClosed());
+        verify(messageNotifier, never()).messagesAdded(any());
+
+        // The next run stores the buffered content and closes the stream
+        streamService.flushPending();
+
+        ArgumentCaptor<MessageRequest> captor = ArgumentCaptor.forClass(MessageRequest.class);
+        verify(messageMapper, times(2)).toEntity(captor.capture(), any(Session.class));
+        assertEquals("Partial answer", captor.getValue().getContent());
+        verify(messageNotifier, times(1)).messagesAdded(sessionId);
+        assertThrows(ResourceNotFoundException.class,
+                () -> streamService.completeStream(sessionId, streamId));
+    }
+
+    @Test
+    void flushPending_ShouldSkipClosedStreams() {
+        UUID streamId = openStream();
+        streamService.appendChunk(sessionId, streamId, "Hello");
+        registeredStream(streamId).close();
+
+        streamService.flushPending();
+
+        verify(messageRepository, never()).save(any());
+    }
+
+    // ---------- Helpers ----------
+
+    @SuppressWarnings("unchecked")
+    private StreamingMessage registeredStream(UUID streamId) {
+        Map<UUID, StreamingMessage> streams =
+                (Map<UUID, StreamingMessage>) ReflectionTestUtils.getField(streamService, "streams");
+        return streams.get(streamId);
+    }
+}
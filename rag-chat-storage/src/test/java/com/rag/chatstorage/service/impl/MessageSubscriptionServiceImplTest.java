@@ -0,0 +1,183 @@
+package com.rag.chatstorage.service.impl;
+
+import com.rag.chatstorage.dto.CursorPageResponse;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.exception.ChatSessionNotFoundException;
+import com.rag.chatstorage.exception.InvalidRequestException;
+import com.rag.chatstorage.pagination.SequenceCursor;
+import com.rag.chatstorage.service.MessageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MessageSubscriptionServiceImplTest {
+
+    @Mock
+    private MessageService messageService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private MessageNotifier messageNotifier;
+    private MessageSubscriptionServiceImpl subscriptionService;
+
+    private UUID sessionId;
+    private MessageResponse message;
+    private String cursor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        messageNotifier = new MessageNotifier(jdbcTemplate, false);
+        // Wake-ups are handled on the notifying thread, so every test stays sequential
+        subscriptionService = new MessageSubscriptionServiceImpl(messageService, messageNotifier, Runnable::run);
+        ReflectionTestUtils.setField(subscriptionService, "maxWaitSeconds", 60);
+
+        sessionId = UUID.randomUUID();
+        cursor = SequenceCursor.of(5).encode();
+
+        message = new MessageResponse();
+        message.setId(UUID.randomUUID());
+        message.setSessionId(sessionId);
+        message.setContent("Hello");
+        message.setCreatedAt(OffsetDateTime.now());
+    }
+
+    // -----------------------------------------------------------
+    // awaitMessages()
+    // -----------------------------------------------------------
+    @Test
+    void awaitMessages_ShouldAnswerAtOnce_WhenMessagesFollowCursor() {
+        when(messageService.getCommittedMessagesAfter(sessionId, cursor, 20)).thenReturn(slice(6, message));
+
+        DeferredResult<CursorPageResponse<MessageResponse>> result = subscriptionService.awaitMessages(sessionId, cursor, 20, 30);
+
+        CursorPageResponse<MessageResponse> page = resultOf(result);
+        assertEquals(List.of(message), page.getItems());
+        assertEquals(SequenceCursor.of(6).encode(), page.getNextCursor());
+        verify(messageService, never()).getCommittedTailCursor(any());
+    }
+
+    @Test
+    void awaitMessages_ShouldWait_UntilMessagesAreAdded() {
+        when(messageService.getCommittedMessagesAfter(sessionId, cursor, 20))
+                .thenReturn(slice(5))
+                .thenReturn(slice(6, message));
+
+        DeferredResult<CursorPageResponse<MessageResponse>> result = subscriptionService.awaitMessages(sessionId, cursor, 20, 30);
+        assertFalse(result.hasResult());
+
+        messageNotifier.messagesAdded(UUID.randomUUID()); // another session
+        assertFalse(result.hasResult());
+
+        messageNotifier.messagesAdded(sessionId);
+        assertEquals(List.of(message), resultOf(result).getItems());
+    }
+
+    @Test
+    void awaitMessages_ShouldStopListening_OnceAnswered() {
+        when(messageService.getCommittedMessagesAfter(sessionId, cursor, 20)).thenReturn(slice(6, message));
+
+        subscriptionService.awaitMessages(sessionId, cursor, 20, 30);
+        messageNotifier.messagesAdded(sessionId);
+
+        verify(messageService, times(1)).getCommittedMessagesAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    void awaitMessages_ShouldStartAfterLatestMessage_WhenNoCursorGiven() {
+        String tail = SequenceCursor.of(9).encode();
+        when(messageService.getCommittedTailCursor(sessionId)).thenReturn(tail);
+        when(messageService.getCommittedMessagesAfter(sessionId, tail, 20)).thenReturn(slice(9));
+
+        DeferredResult<CursorPageResponse<MessageResponse>> result = subscriptionService.awaitMessages(sessionId, null, 20, 30);
+
+        assertFalse(result.hasResult());
+        verify(messageService, times(1)).getCommittedMessagesAfter(sessionId, tail, 20);
+    }
+
+    @Test
+    void awaitMessages_ShouldThrow_WhenSessionDoesNotExist() {
+        when(messageService.getCommittedTailCursor(sessionId)).thenThrow(new ChatSessionNotFoundException("missing"));
+
+        assertThrows(ChatSessionNotFoundException.class, () -> subscriptionService.awaitMessages(sessionId, null, 20, 30));
+    }
+
+    @Test
+    void awaitMessages_ShouldThrow_WhenTimeoutIsOutOfRange() {
+        assertThrows(InvalidRequestException.class, () -> subscriptionService.awaitMessages(sessionId, cursor, 20, 0));
+        assertThrows(InvalidRequestException.class, () -> subscriptionService.awaitMessages(sessionId, cursor, 20, 61));
+        verify(messageService, never()).getCommittedMessagesAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    void awaitMessages_ShouldStopListening_WhenFirstReadFails() {
+        when(messageService.getCommittedMessagesAfter(sessionId, "bad", 20))
+                .thenThrow(new InvalidRequestException("Invalid cursor"));
+
+        assertThrows(InvalidRequestException.class, () -> subscriptionService.awaitMessages(sessionId, "bad", 20, 30));
+        messageNotifier.messagesAdded(sessionId);
+
+        verify(messageService, times(1)).getCommittedMessagesAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    void awaitMessages_ShouldDeliverStreamedMessage_WhenSubscribedDuringStream() {
+        // The stream's row (seq 6) is already stored but hidden while streaming; another
+        // message (seq 7) arrives before the stream completes and gives it seq 8
+        MessageResponse other = new MessageResponse();
+        other.setId(UUID.randomUUID());
+        String tail = SequenceCursor.of(5).encode();
+        when(messageService.getCommittedTailCursor(sessionId)).thenReturn(tail);
+        when(messageService.getCommittedMessagesAfter(sessionId, tail, 20))
+                .thenReturn(slice(5))
+                .thenReturn(slice(7, other));
+        when(messageService.getCommittedMessagesAfter(sessionId, SequenceCursor.of(7).encode(), 20))
+                .thenReturn(slice(8, message));
+
+        List<CursorPageResponse<MessageResponse>> events = new ArrayList<>();
+        MessageWatch watch = new MessageWatch(sessionId, tail, 20, messageService, Runnable::run,
+                events::add, e -> { throw new AssertionError(e); });
+        watch.start(messageNotifier);
+        assertTrue(events.isEmpty());
+
+        messageNotifier.messagesAdded(sessionId); // the other message
+        messageNotifier.messagesAdded(sessionId); // the stream completes
+
+        assertEquals(List.of(List.of(other), List.of(message)), events.stream().map(CursorPageResponse::getItems).toList());
+        assertEquals(SequenceCursor.of(8).encode(), watch.cursor());
+        watch.close();
+    }
+
+    // ---------- Helpers ----------
+
+    private static CursorPageResponse<MessageResponse> slice(long next, MessageResponse... messages) {
+        return new CursorPageResponse<>(List.of(messages), SequenceCursor.of(next).encode(), false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CursorPageResponse<MessageResponse> resultOf(DeferredResult<CursorPageResponse<MessageResponse>> result) {
+        assertTrue(result.hasResult());
+        return (CursorPageResponse<MessageResponse>) result.getResult();
+    }
+}
@@ -0,0 +1,260 @@
+package com.rag.chatstorage.service.impl;
+
+import com.rag.chatstorage.dto.BatchMessageItem;
+import com.rag.chatstorage.dto.MessageContextResponse;
+import com.rag.chatstorage.dto.MessageHistoryVersion;
+import com.rag.chatstorage.dto.MessageRequest;
+import com.rag.chatstorage.dto.MessageResponse;
+import com.rag.chatstorage.entity.Message;
+import com.rag.chatstorage.entity.Session;
+import com.rag.chatstorage.exception.ChatSessionNotFoundException;
+import com.rag.chatstorage.exception.InvalidRequestException;
+import com.rag.chatstorage.exception.ResourceNotFoundException;
+import com.rag.chatstorage.mapper.MessageMapper;
+import com.rag.chatstorage.repository.ReactiveMessageRepository;
+import com.rag.chatstorage.repository.ReactiveSessionRepository;
+import io.r2dbc.spi.R2dbcBadGrammarException;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.r2dbc.BadSqlGrammarException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveMessageServiceImplTest {
+
+    @Mock
+    private ReactiveSessionRepository sessionRepository;
+
+    @Mock
+    private ReactiveMessageRepository messageRepository;
+
+    @Mock
+    private MessageMapper messageMapper;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @InjectMocks
+    private ReactiveMessageServiceImpl messageService;
+
+    private UUID sessionId;
+    private MessageRequest request;
+    private Message message;
+    private MessageResponse response;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        sessionId = UUID.randomUUID();
+
+        request = new MessageRequest();
+        request.setSender("user123");
+        request.setContent("Hello world");
+
+        Session session = new Session();
+        session.setId(sessionId);
+
+        message = new Message();
+        message.setSession(session);
+        message.setContent("Hello world");
+        message.setCreatedAt(OffsetDateTime.now());
+
+        response = new MessageResponse();
+        response.setSessionId(sessionId);
+        response.setContent("Hello world");
+
+        when(messageMapper.toEntity(any(MessageRequest.class), any(Session.class))).thenReturn(message);
+        when(messageMapper.toResponse(message)).thenReturn(response);
+    }
+
+    @Test
+    void addMessage_ShouldInsertWithoutLookingUpSession() {
+        when(messageRepository.insert(message)).thenReturn(Mono.just(message));
+
+        StepVerifier.create(messageService.addMessage(sessionId, request))
+                .expectNext(response)
+                .verifyComplete();
+
+        assertNotNull(message.getId());
+        verify(sessionRepository, never()).existsById(any());
+    }
+
+    @Test
+    void addMessage_ShouldThrowSessionNotFound_OnForeignKeyViolation() {
+        DataIntegrityViolationException fkViolation = new DataIntegrityViolationException("insert failed",
+                new R2dbcDataIntegrityViolationException("violates foreign key", "23503"));
+        when(messageRepository.insert(message)).thenReturn(Mono.error(fkViolation));
+
+        StepVerifier.create(messageService.addMessage(sessionId, request))
+                .expectError(ChatSessionNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void addMessage_ShouldPropagate_OnOtherIntegrityViolation() {
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("insert failed",
+                new R2dbcDataIntegrityViolationException("null value in column", "23502"));
+        when(messageRepository.insert(message)).thenReturn(Mono.error(notNull));
+
+        StepVerifier.create(messageService.addMessage(sessionId, request))
+                .expectErrorMatches(e -> e == notNull)
+                .verify();
+    }
+
+    @Test
+    void addMessages_ShouldInsertNothing_WhenASessionIsMissing() {
+        BatchMessageItem item = new BatchMessageItem();
+        item.setSessionId(sessionId);
+        item.setContent("Hello world");
+
+        when(sessionRepository.findExistingIds(any())).thenReturn(Flux.empty());
+
+        StepVerifier.create(messageService.addMessages(List.of(item)))
+                .expectError(ChatSessionNotFoundException.class)
+                .verify();
+
+        verify(messageRepository, never()).insert(any());
+    }
+
+    @Test
+    void getMessagesBySessionId_ShouldThrow_WhenPageEmptyAndSessionMissing() {
+        when(messageRepository.findBySessionIdOrderByCreatedAtAsc(eq(sessionId), anyLong(), anyInt())).thenReturn(Flux.empty());
+        when(messageRepository.countBySessionId(sessionId)).thenReturn(Mono.just(0L));
+        when(sessionRepository.existsById(sessionId)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(messageService.getMessagesBySessionId(sessionId, 0, 20))
+                .expectError(ChatSessionNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getMessagesBySessionId_ShouldSkipSessionLookup_WhenPageHasRows() {
+        when(messageRepository.findBySessionIdOrderByCreatedAtAsc(sessionId, 20L, 10)).thenReturn(Flux.just(message));
+        when(messageRepository.countBySessionId(sessionId)).thenReturn(Mono.just(21L));
+
+        StepVerifier.create(messageService.getMessagesBySessionId(sessionId, 2, 10))
+                .assertNext(page -> {
+                    assertEquals(1, page.getContent().size());
+                    assertEquals(21, page.getTotalElements());
+                })
+                .verifyComplete();
+
+        verify(sessionRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getHistoryVersion_ShouldDescribeHistory_WithoutSessionLookup() {
+        MessageHistoryVersion version = new MessageHistoryVersion(7, 0, OffsetDateTime.now());
+        when(messageRepository.findHistoryVersion(sessionId)).thenReturn(Mono.just(version));
+
+        StepVerifier.create(messageService.getHistoryVersion(sessionId))
+                .expectNext(version)
+                .verifyComplete();
+
+        verify(sessionRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getHistoryVersion_ShouldThrow_WhenSessionMissing() {
+        when(messageRepository.findHistoryVersion(sessionId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(messageService.getHistoryVersion(sessionId))
+                .expectError(ChatSessionNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getMessageContext_ShouldReturnContext_WithoutSessionLookup() {
+        UUID messageId = UUID.randomUUID();
+        MessageContextResponse context = new MessageContextResponse(messageId, sessionId, "{\"intent\":\"greeting\"}");
+        when(messageRepository.findContextByIdAndSessionId(messageId, sessionId)).thenReturn(Mono.just(context));
+
+        StepVerifier.create(messageService.getMessageContext(sessionId, messageId))
+                .expectNext(context)
+                .verifyComplete();
+
+        verify(sessionRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getMessageContext_ShouldThrowNotFound_WhenSessionHasNoSuchMessage() {
+        UUID messageId = UUID.randomUUID();
+        when(messageRepository.findContextByIdAndSessionId(messageId, sessionId)).thenReturn(Mono.empty());
+        when(sessionRepository.existsById(sessionId)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(messageService.getMessageContext(sessionId, messageId))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void searchMessages_ShouldReturnMatches() {
+        String filter = "$.intent == \"greeting\"";
+        when(messageRepository.searchByContext(eq(filter), eq(null), eq(sessionId), eq(null), eq(21), anyLong()))
+                .thenReturn(Flux.just(message));
+
+        StepVerifier.create(messageService.searchMessages(filter, null, sessionId, null, 20))
+                .assertNext(slice -> assertEquals(List.of(response), slice.getItems()))
+                .verifyComplete();
+    }
+
+    @Test
+    void searchMessages_ShouldThrowInvalidRequest_WhenDatabaseRejectsFilter() {
+        String filter = "$.intent ==";
+        when(messageRepository.searchByContext(eq(filter), eq(null), eq(sessionId), eq(null), eq(21), anyLong()))
+                .thenReturn(Flux.error(new BadSqlGrammarException("search", "select ...",
+                        new R2dbcBadGrammarException("syntax error at end of jsonpath input", "42601"))));
+
+        StepVerifier.create(messageService.searchMessages(filter, null, sessionId, null, 20))
+                .expectError(InvalidRequestException.class)
+                .verify();
+    }
+
+    @Test
+    void searchMessages_ShouldRequireUserOrSession() {
+        StepVerifier.create(messageService.searchMessages("$.intent == \"greeting\"", null, null, null, 20))
+                .expectErrorMessage("Search requires a userId or a sessionId")
+                .verify();
+
+        verify(messageRepository, never()).searchByContext(any(), any(), any(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void searchMessages_ShouldThrowInvalidRequest_WhenStatementTimesOut() {
+        String filter = "$.text like_regex \"(a+)+b\"";
+        when(messageRepository.searchByContext(eq(filter), eq("user123"), eq(null), eq(null), eq(21), anyLong()))
+                .thenReturn(Flux.error(new QueryTimeoutException("search",
+                        new R2dbcTimeoutException("canceling statement due to statement timeout", "57014"))));
+
+        StepVerifier.create(messageService.searchMessages(filter, "user123", null, null, 20))
+                .expectError(InvalidRequestException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,233 @@
+package com.rag.chatstorage.service.impl;
+
+import com.rag.chatstorage.dto.CreateSessionRequest;
+import com.rag.chatstorage.dto.RenameSessionRequest;
+import com.rag.chatstorage.dto.SessionResponse;
+import com.rag.chatstorage.dto.ToggleFavoriteRequest;
+import com.rag.chatstorage.entity.Session;
+import com.rag.chatstorage.exception.ChatSessionNotFoundException;
+import com.rag.chatstorage.exception.InvalidRequestException;
+import com.rag.chatstorage.exception.ResourceNotFoundException;
+import com.rag.chatstorage.mapper.SessionMapper;
+import com.rag.chatstorage.pagination.FavoriteFirstCursor;
+import com.rag.chatstorage.pagination.KeysetCursor;
+import com.rag.chatstorage.repository.ReactiveMessageRepository;
+import com.rag.chatstorage.repository.ReactiveSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveSessionServiceImplTest {
+
+    @Mock
+    private ReactiveSessionRepository sessionRepository;
+
+    @Mock
+    private ReactiveMessageRepository messageRepository;
+
+    @Mock
+    private SessionMapper sessionMapper;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @InjectMocks
+    private ReactiveSessionServiceImpl sessionService;
+
+    private UUID sessionId;
+    private Session session;
+    private SessionResponse response;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        // Run the wrapped pipeline as-is
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        sessionId = UUID.randomUUID();
+
+        session = new Session();
+        session.setId(sessionId);
+        session.setUserId("user123");
+        session.setTitle("My Chat");
+        session.setUpdatedAt(OffsetDateTime.now());
+
+        response = new SessionResponse();
+        response.setId(sessionId);
+        response.setUserId("user123");
+        response.setTitle("My Chat");
+
+        when(sessionMapper.toResponse(session)).thenReturn(response);
+    }
+
+    @Test
+    void createSession_ShouldAssignIdAndTimestampsBeforeInsert() {
+        CreateSessionRequest request = new CreateSessionRequest();
+        request.setUserId("user123");
+        request.setTitle("My Chat");
+
+        Session mapped = new Session();
+        mapped.setUserId("user123");
+        mapped.setTitle("My Chat");
+
+        when(sessionMapper.toEntity(request)).thenReturn(mapped);
+        when(sessionRepository.insert(mapped)).thenReturn(Mono.just(mapped));
+        when(sessionMapper.toResponse(mapped)).thenReturn(response);
+
+        StepVerifier.create(sessionService.createSession(request))
+                .expectNext(response)
+                .verifyComplete();
+
+        assertNotNull(mapped.getId());
+        assertNotNull(mapped.getCreatedAt());
+        assertEquals(mapped.getCreatedAt(), mapped.getUpdatedAt());
+    }
+
+    @Test
+    void renameSession_ShouldThrow_WhenNotFound() {
+        RenameSessionRequest request = new RenameSessionRequest();
+        request.setTitle("New Title");
+
+        when(sessionRepository.updateTitle(eq(sessionId), eq("New Title"), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(sessionService.renameSession(sessionId, request))
+                .expectError(ChatSessionNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void toggleFavorite_ShouldUpdateInPlace_WhenExists() {
+        ToggleFavoriteRequest request = new ToggleFavoriteRequest();
+        request.setFavorite(true);
+
+        when(sessionRepository.updateFavorite(eq(sessionId), eq(true), any())).thenReturn(Mono.just(session));
+
+        StepVerifier.create(sessionService.toggleFavorite(sessionId, request))
+                .expectNext(response)
+                .verifyComplete();
+
+        verify(sessionRepository, never()).findById(any());
+    }
+
+    @Test
+    void toggleFavorite_ShouldThrow_WhenNotFound() {
+        ToggleFavoriteRequest request = new ToggleFavoriteRequest();
+        request.setFavorite(true);
+
+        when(sessionRepository.updateFavorite(eq(sessionId), eq(true), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(sessionService.toggleFavorite(sessionId, request))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteSession_ShouldBulkDeleteMessagesThenSession_WhenExists() {
+        when(messageRepository.bulkDeleteBySessionId(sessionId)).thenReturn(Mono.just(3L));
+        when(sessionRepository.bulkDeleteById(sessionId)).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(sessionService.deleteSession(sessionId)).verifyComplete();
+
+        InOrder order = inOrder(messageRepository, sessionRepository);
+        order.verify(messageRepository).bulkDeleteBySessionId(sessionId);
+        order.verify(sessionRepository).bulkDeleteById(sessionId);
+    }
+
+    @Test
+    void deleteSession_ShouldThrow_WhenNotFound() {
+        when(messageRepository.bulkDeleteBySessionId(sessionId)).thenReturn(Mono.just(0L));
+        when(sessionRepository.bulkDeleteById(sessionId)).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(sessionService.deleteSession(sessionId))
+                .expectError(ChatSessionNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteSessionsForUser_ShouldReturnDeletedSessionCount() {
+        when(messageRepository.bulkDeleteByUserId("user123")).thenReturn(Mono.just(7L));
+        when(sessionRepository.bulkDeleteByUserId("user123")).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(sessionService.deleteSessionsForUser("user123"))
+                .expectNext(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void getSessionsForUserAfter_ShouldReturnFavoriteFirstCursor_WhenMoreRowsExist() {
+        Session next = new Session();
+        next.setId(UUID.randomUUID());
+        next.setUpdatedAt(OffsetDateTime.now().minusMinutes(1));
+
+        when(sessionRepository.findFirstSliceByUserId("user123", false, "%", 2)).thenReturn(Flux.just(session, next));
+
+        StepVerifier.create(sessionService.getSessionsForUser("user123", false, null, null, 1))
+                .assertNext(slice -> {
+                    assertEquals(1, slice.getItems().size());
+                    assertTrue(slice.isHasNext());
+                    FavoriteFirstCursor cursor = FavoriteFirstCursor.decode(slice.getNextCursor());
+                    assertEquals(sessionId, cursor.position().id());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllSessionsAfter_ShouldSeekPastCursor_WhenCursorGiven() {
+        KeysetCursor after = KeysetCursor.of(OffsetDateTime.now(), UUID.randomUUID());
+
+        when(sessionRepository.findSliceOrderByUpdatedAtDescAfter(after.timestamp(), after.id(), 11))
+                .thenReturn(Flux.just(session));
+
+        StepVerifier.create(sessionService.getAllSessions(after.encode(), 10))
+                .assertNext(slice -> {
+                    assertEquals(1, slice.getItems().size());
+                    assertNull(slice.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllSessionsAfter_ShouldSignalError_WhenSizeOutOfRange() {
+        StepVerifier.create(sessionService.getAllSessions(null, 0))
+                .expectError(InvalidRequestException.class)
+                .verify();
+
+        verify(sessionRepository, never()).findFirstSliceOrderByUpdatedAtDesc(anyInt());
+        verify(sessionRepository, never()).findFirstSliceByUserId(anyString(), anyBoolean(), anyString(), anyInt());
+    }
+
+    @Test
+    void getSessionById_ShouldThrow_WhenNotFound() {
+        when(sessionRepository.findById(sessionId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(sessionService.getSessionById(sessionId))
+                .expectError(ChatSessionNotFoundException.class)
+                .verify();
+    }
+}
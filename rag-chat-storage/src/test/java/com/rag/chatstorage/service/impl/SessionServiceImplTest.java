@@ -2,32 +2,45 @@ package com.rag.chatstorage.service.impl;
 
 
 import com.rag.chatstorage.dto.CreateSessionRequest;
+import com.rag.chatstorage.dto.CursorPageResponse;
 import com.rag.chatstorage.dto.RenameSessionRequest;
 import com.rag.chatstorage.dto.SessionResponse;
 import com.rag.chatstorage.dto.ToggleFavoriteRequest;
 import com.rag.chatstorage.entity.Session;
 import com.rag.chatstorage.exception.ChatSessionNotFoundException;
+import com.rag.chatstorage.exception.InvalidRequestException;
 import com.rag.chatstorage.exception.ResourceNotFoundException;
 import com.rag.chatstorage.mapper.SessionMapper;
+import com.rag.chatstorage.pagination.FavoriteFirstCursor;
+import com.rag.chatstorage.pagination.KeysetCursor;
+import com.rag.chatstorage.repository.MessageRepository;
 import com.rag.chatstorage.repository.SessionRepository;
-
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -37,9 +50,15 @@ class SessionServiceImplTest {
     @Mock
     private SessionRepository sessionRepository;
 
+    @Mock
+    private MessageRepository messageRepository;
+
     @Mock
     private SessionMapper sessionMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private SessionServiceImpl sessionService;
 
@@ -107,6 +126,8 @@ class SessionServiceImplTest {
     void renameSession_ShouldUpdateTitle_WhenExists() {
         RenameSessionRequest req = new RenameSessionRequest();
         req.setTitle("Updated Title");
+        OffsetDateTime previousUpdatedAt = OffsetDateTime.now().minusHours(1);
+        session.setUpdatedAt(previousUpdatedAt);
 
         saved.setTitle("Updated Title");
         response.setTitle("Updated Title");
@@ -118,6 +139,8 @@ class SessionServiceImplTest {
         SessionResponse result = sessionService.renameSession(sessionId, req);
 
         assertEquals("Updated Title", result.getTitle());
+        // The response cached by @CachePut must carry the new modification time
+        assertTrue(session.getUpdatedAt().isAfter(previousUpdatedAt));
         verify(sessionRepository).save(session);
     }
 
@@ -136,22 +159,40 @@ class SessionServiceImplTest {
     // deleteSession()
     // -----------------------------------------------------------
     @Test
-    void deleteSession_ShouldDelete_WhenExists() {
-        when(sessionRepository.existsById(sessionId)).thenReturn(true);
+    void deleteSession_ShouldBulkDeleteMessagesThenSession_WhenExists() {
+        when(messageRepository.bulkDeleteBySessionId(sessionId)).thenReturn(3);
+        when(sessionRepository.bulkDeleteById(sessionId)).thenReturn(1);
 
         sessionService.deleteSession(sessionId);
 
-        verify(sessionRepository).deleteById(sessionId);
+        InOrder inOrder = inOrder(messageRepository, sessionRepository);
+        inOrder.verify(messageRepository).bulkDeleteBySessionId(sessionId);
+        inOrder.verify(sessionRepository).bulkDeleteById(sessionId);
+        verify(sessionRepository, never()).deleteById(any());
     }
 
     @Test
     void deleteSession_ShouldThrow_WhenNotFound() {
-        when(sessionRepository.existsById(sessionId)).thenReturn(false);
+        when(sessionRepository.bulkDeleteById(sessionId)).thenReturn(0);
 
         assertThrows(ChatSessionNotFoundException.class,
                 () -> sessionService.deleteSession(sessionId));
+    }
 
-        verify(sessionRepository, never()).deleteById(any());
+    // -----------------------------------------------------------
+    // deleteSessionsForUser()
+    // -----------------------------------------------------------
+    @Test
+    void deleteSessionsForUser_ShouldBulkDeleteMessagesThenSessions() {
+        when(messageRepository.bulkDeleteByUserId("user123")).thenReturn(10);
+        when(sessionRepository.bulkDeleteByUserId("user123")).thenReturn(2);
+
+        int deleted = sessionService.deleteSessionsForUser("user123");
+
+        assertEquals(2, deleted);
+        InOrder inOrder = inOrder(messageRepository, sessionRepository);
+        inOrder.verify(messageRepository).bulkDeleteByUserId("user123");
+        inOrder.verify(sessionRepository).bulkDeleteByUserId("user123");
     }
 
     // -----------------------------------------------------------
@@ -202,6 +243,51 @@ class SessionServiceImplTest {
         assertEquals(1, result.size());
     }
 
+    // -----------------------------------------------------------
+    // getSessionsForUser(userId, favoritesOnly, title, cursor, size)
+    // -----------------------------------------------------------
+    @Test
+    void getSessionsForUserAfter_ShouldReturnFavoriteFirstCursor_WhenMoreRowsExist() {
+        saved.setFavorite(true);
+        Session older = new Session();
+        older.setId(UUID.randomUUID());
+        older.setUpdatedAt(saved.getUpdatedAt().minusMinutes(1));
+
+        when(sessionRepository.findFirstSliceByUserId("user123", false, "%", 2)).thenReturn(List.of(saved, older));
+        when(sessionMapper.toResponse(saved)).thenReturn(response);
+
+        CursorPageResponse<SessionResponse> result = sessionService.getSessionsForUser("user123", false, null, null, 1);
+
+        assertEquals(1, result.getItems().size());
+        assertTrue(result.isHasNext());
+        FavoriteFirstCursor next = FavoriteFirstCursor.decode(result.getNextCursor());
+        assertTrue(next.favorite());
+        assertEquals(sessionId, next.position().id());
+    }
+
+    @Test
+    void getSessionsForUserAfter_ShouldSeekPastCursorAndEscapeTitle() {
+        FavoriteFirstCursor cursor = new FavoriteFirstCursor(false, KeysetCursor.of(OffsetDateTime.now(), UUID.randomUUID()));
+
+        when(sessionRepository.findSliceByUserIdAfter(eq("user123"), eq(true), eq("%50\\%\\_off%"),
+                eq(false), any(OffsetDateTime.class), any(UUID.class), eq(11)))
+                .thenReturn(List.of(saved));
+        when(sessionMapper.toResponse(saved)).thenReturn(response);
+
+        CursorPageResponse<SessionResponse> result =
+                sessionService.getSessionsForUser("user123", true, " 50%_off ", cursor.encode(), 10);
+
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.isHasNext());
+        verify(sessionRepository, never()).findFirstSliceByUserId(any(), anyBoolean(), any(), anyInt());
+    }
+
+    @Test
+    void getSessionsForUserAfter_ShouldThrow_WhenCursorMalformed() {
+        assertThrows(InvalidRequestException.class,
+                () -> sessionService.getSessionsForUser("user123", false, null, "X-not-a-cursor", 10));
+    }
+
     // -----------------------------------------------------------
     // getAllSessions()
     // -----------------------------------------------------------
@@ -218,6 +304,68 @@ class SessionServiceImplTest {
         assertEquals(1, result.size());
     }
 
+    // -----------------------------------------------------------
+    // getAllSessions(cursor, size)
+    // -----------------------------------------------------------
+    @Test
+    void getAllSessionsAfter_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        Session older = new Session();
+        older.setId(UUID.randomUUID());
+        older.setUpdatedAt(saved.getUpdatedAt().minusMinutes(1));
+
+        when(sessionRepository.findFirstSliceOrderByUpdatedAtDesc(2)).thenReturn(List.of(saved, older));
+        when(sessionMapper.toResponse(saved)).thenReturn(response);
+
+        CursorPageResponse<SessionResponse> result = sessionService.getAllSessions(null, 1);
+
+        assertEquals(1, result.getItems().size());
+        assertTrue(result.isHasNext());
+        assertEquals(sessionId, KeysetCursor.decode(result.getNextCursor()).id());
+    }
+
+    @Test
+    void getAllSessionsAfter_ShouldSeekPastCursor_WhenCursorGiven() {
+        KeysetCursor cursor = KeysetCursor.of(OffsetDateTime.now(), UUID.randomUUID());
+
+        when(sessionRepository.findSliceOrderByUpdatedAtDescAfter(any(OffsetDateTime.class), any(UUID.class), anyInt()))
+                .thenReturn(List.of(saved));
+        when(sessionMapper.toResponse(saved)).thenReturn(response);
+
+        CursorPageResponse<SessionResponse> result = sessionService.getAllSessions(cursor.encode(), 10);
+
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.isHasNext());
+        verify(sessionRepository, never()).findFirstSliceOrderByUpdatedAtDesc(anyInt());
+    }
+
+    // -----------------------------------------------------------
+    // exportAllSessions()
+    // -----------------------------------------------------------
+    @Test
+    void exportAllSessions_ShouldStreamAndDetachEachSession() {
+        when(sessionRepository.streamAllByOrderByUpdatedAtDesc()).thenReturn(Stream.of(session, saved));
+        when(sessionMapper.toResponse(any(Session.class))).thenReturn(response);
+
+        List<SessionResponse> exported = new ArrayList<>();
+        sessionService.exportAllSessions(exported::add);
+
+        assertEquals(2, exported.size());
+        verify(entityManager).detach(session);
+        verify(entityManager).detach(saved);
+    }
+
+    @Test
+    void exportAllSessions_ShouldRethrow_WhenFailingMidStream() {
+        when(sessionRepository.streamAllByOrderByUpdatedAtDesc()).thenReturn(Stream.of(session, saved));
+        when(sessionMapper.toResponse(session)).thenReturn(response);
+        when(sessionMapper.toResponse(saved)).thenThrow(new IllegalStateException("connection lost"));
+
+        List<SessionResponse> exported = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> sessionService.exportAllSessions(exported::add));
+
+        assertEquals(1, exported.size());
+    }
+
     // -----------------------------------------------------------
     // getSessionById()
     // -----------------------------------------------------------
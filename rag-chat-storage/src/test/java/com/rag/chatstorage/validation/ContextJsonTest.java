@@ -0,0 +1,42 @@
+package com.rag.chatstorage.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContextJsonTest {
+
+    @Test
+    void isJson_ShouldAcceptSingleDocuments() {
+        assertTrue(ContextJson.isJson("{\"intent\": \"greeting\", \"docIds\": [\"d1\", \"d2\"]}"));
+        assertTrue(ContextJson.isJson("[1, 2]"));
+        assertTrue(ContextJson.isJson("\"plain string\""));
+    }
+
+    @Test
+    void isJson_ShouldRejectTextThatIsNotOneDocument() {
+        assertFalse(ContextJson.isJson(""));
+        assertFalse(ContextJson.isJson("greeting"));
+        assertFalse(ContextJson.isJson("{\"intent\": \"greeting\""));
+        assertFalse(ContextJson.isJson("{} {}"));
+    }
+
+    @Test
+    void toJson_ShouldKeepDocuments_AndNull() {
+        assertNull(ContextJson.toJson(null));
+        assertEquals("{\"intent\": \"greeting\"}", ContextJson.toJson("{\"intent\": \"greeting\"}"));
+        assertEquals("42", ContextJson.toJson("42"));
+    }
+
+    @Test
+    void toJson_ShouldWrapFreeText_AsJsonString() {
+        assertEquals("\"greeting\"", ContextJson.toJson("greeting"));
+        assertEquals("\"{} {}\"", ContextJson.toJson("{} {}"));
+        assertEquals("\"say \\\"hi\\\"\\nthen wait\"", ContextJson.toJson("say \"hi\"\nthen wait"));
+        // Idempotent: applying it again changes nothing
+        assertEquals("\"greeting\"", ContextJson.toJson(ContextJson.toJson("greeting")));
+    }
+}
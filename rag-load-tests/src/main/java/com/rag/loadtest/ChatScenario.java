@@ -0,0 +1,121 @@
+package com.rag.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What one chat user does, through the gateway: open a session, exchange messages, page back
+ * through the history, then list their sessions. Each virtual user repeats it until the run ends.
+ */
+final class ChatScenario {
+
+    static final String CREATE_SESSION = "POST /api/v1/sessions";
+    static final String ADD_MESSAGE = "POST /api/v1/sessions/{id}/messages";
+    static final String GET_MESSAGES = "GET /api/v1/sessions/{id}/messages";
+    static final String LIST_SESSIONS = "GET /api/v1/sessions/user/{userId}";
+
+    private static final String CONTEXT = "{\"retrieval\":{\"query\":\"quarterly report risks\",\"topK\":5,"
+            + "\"documents\":[{\"id\":\"doc-1\",\"score\":0.91},{\"id\":\"doc-2\",\"score\":0.87}]}}";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String apiKey;
+    private final LoadTestOptions options;
+
+    /** Insertion-ordered so the report lists endpoints in scenario order. */
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    ChatScenario(HttpClient client, String baseUrl, LoadTestOptions options) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.apiKey = options.apiKey();
+        this.options = options;
+        for (String endpoint : new String[]{CREATE_SESSION, ADD_MESSAGE, GET_MESSAGES, LIST_SESSIONS}) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    Map<String, EndpointStats> stats() {
+        return stats;
+    }
+
+    /**
+     * Runs the scenario once for {@code userId}. A failed call is recorded and ends the iteration
+     * early when the rest of it depends on the result.
+     */
+    void run(String userId, int iteration) throws InterruptedException {
+        String session = send(CREATE_SESSION, post("/api/v1/sessions",
+                json(Map.of("userId", userId, "title", "Load test " + iteration))));
+        if (session == null) {
+            return;
+        }
+        String sessionId;
+        try {
+            sessionId = OBJECT_MAPPER.readTree(session).path("id").asText();
+        } catch (IOException e) {
+            return;
+        }
+
+        String messages = "/api/v1/sessions/" + sessionId + "/messages";
+        for (int i = 0; i < options.messagesPerSession(); i++) {
+            String sender = i % 2 == 0 ? "user" : "assistant";
+            String content = "Message " + i + " of iteration " + iteration;
+            send(ADD_MESSAGE, post(messages, json(Map.of("sender", sender, "content", content, "context", CONTEXT))));
+        }
+
+        int pages = Math.max(1, (options.messagesPerSession() + options.pageSize() - 1) / options.pageSize());
+        for (int page = 0; page < pages; page++) {
+            send(GET_MESSAGES, get(messages + "?page=" + page + "&size=" + options.pageSize()));
+        }
+
+        send(LIST_SESSIONS, get("/api/v1/sessions/user/" + userId));
+    }
+
+    private String send(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() < 400;
+            stats.get(endpoint).record(System.nanoTime() - start, success);
+            return success ? response.body() : null;
+        } catch (IOException e) {
+            stats.get(endpoint).record(System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("X-API-KEY", apiKey);
+    }
+
+    private static String json(Map<String, String> body) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.rag.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds, 3 significant digits) and error count for one endpoint,
+ * safe to record into from every virtual user at once.
+ */
+final class EndpointStats {
+
+    private final String name;
+    private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        latencies.recordValue(Math.max(1, latencyNanos / 1_000));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /** Drops everything recorded so far; called when warm-up ends. */
+    void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+
+    Histogram snapshot() {
+        return latencies.copy();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
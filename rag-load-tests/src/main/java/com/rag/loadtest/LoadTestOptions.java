@@ -0,0 +1,89 @@
+package com.rag.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, given as {@code --name=value}. Every option has a default, so a bare
+ * {@code java -jar load-tests.jar} from the repository root runs the standard scenario.
+ *
+ * @param target gateway base URL to test; {@code null} starts a local stack instead.
+ * @param apiKey {@code X-API-KEY} sent to the gateway (and configured on the local one).
+ * @param users concurrent virtual users, each running the scenario in a loop.
+ * @param warmup time to run before measuring, so JIT, pools and caches settle.
+ * @param duration measured time.
+ * @param messagesPerSession messages each user appends to a session before reading it back.
+ * @param pageSize page size for history and session listing requests.
+ * @param rateLimit replenish rate of the local gateway's standard rate-limit tier; high by
+ *                  default so the limiter is exercised without becoming the bottleneck.
+ * @param projectDir repository root; the service jars and config repo are resolved against it.
+ * @param reportDir where the report, histograms and service logs are written.
+ */
+record LoadTestOptions(
+        String target,
+        String apiKey,
+        int users,
+        Duration warmup,
+        Duration duration,
+        int messagesPerSession,
+        int pageSize,
+        int rateLimit,
+        Path projectDir,
+        Path reportDir) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                values.remove("target"),
+                stringValue(values, "api-key", "load-test-key"),
+                intValue(values, "users", 32),
+                Duration.ofSeconds(intValue(values, "warmup-seconds", 15)),
+                Duration.ofSeconds(intValue(values, "duration-seconds", 60)),
+                intValue(values, "messages-per-session", 10),
+                intValue(values, "page-size", 20),
+                intValue(values, "rate-limit", 100_000),
+                Path.of(stringValue(values, "project-dir", ".")).toAbsolutePath().normalize(),
+                Path.of(stringValue(values, "report-dir", "load-test-results")).toAbsolutePath().normalize());
+
+        // Every recognised option has been removed above; anything left is a typo
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): " + values.keySet());
+        }
+        if (options.users() < 1 || options.messagesPerSession() < 1 || options.pageSize() < 1) {
+            throw new IllegalArgumentException("users, messages-per-session and page-size must be positive");
+        }
+        return options;
+    }
+
+    Path chatStorageJar() {
+        return projectDir.resolve("rag-chat-storage/target/rag-chat-storage-0.0.1-SNAPSHOT-exec.jar");
+    }
+
+    Path gatewayJar() {
+        return projectDir.resolve("rag-api-gateway/target/rag-api-gateway-0.0.1-SNAPSHOT-exec.jar");
+    }
+
+    Path configRepo() {
+        return projectDir.resolve("rag-config-repo");
+    }
+
+    private static String stringValue(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.remove(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,95 @@
+package com.rag.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+/**
+ * Per-endpoint throughput and latency percentiles for the measured window, printed as a table
+ * and written to {@code load-test-report.json}, plus each endpoint's full HdrHistogram
+ * percentile distribution ({@code .hgrm}, in milliseconds) for plotting.
+ */
+final class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadTestReport() {
+    }
+
+    static void write(LoadTestOptions options, String target, Duration measured,
+                      Collection<EndpointStats> endpoints, PrintStream out) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("timestamp", OffsetDateTime.now().toString());
+        report.put("target", target);
+        report.put("users", options.users());
+        report.put("measuredSeconds", measured.toMillis() / 1000.0);
+        report.put("messagesPerSession", options.messagesPerSession());
+        report.put("pageSize", options.pageSize());
+        ArrayNode results = report.putArray("endpoints");
+
+        double seconds = measured.toNanos() / 1e9;
+        out.printf("%n%-40s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (EndpointStats endpoint : endpoints) {
+            Histogram histogram = endpoint.snapshot();
+            long count = histogram.getTotalCount();
+            double throughput = count / seconds;
+
+            ObjectNode result = results.addObject();
+            result.put("endpoint", endpoint.name());
+            result.put("requests", count);
+            result.put("errors", endpoint.errors());
+            result.put("requestsPerSecond", round(throughput));
+            ObjectNode latency = result.putObject("latencyMs");
+            latency.put("mean", round(histogram.getMean() / 1000.0));
+
+            out.printf("%-40s %9d %7d %9.1f", endpoint.name(), count, endpoint.errors(), throughput);
+            for (double percentile : PERCENTILES) {
+                double millis = histogram.getValueAtPercentile(percentile) / 1000.0;
+                latency.put("p" + formatPercentile(percentile), round(millis));
+                out.printf(" %9.2f", millis);
+            }
+            double max = histogram.getMaxValue() / 1000.0;
+            latency.put("max", round(max));
+            out.printf(" %9.2f%n", max);
+
+            Path hgrm = options.reportDir().resolve(slug(endpoint.name()) + ".hgrm");
+            try (PrintStream file = new PrintStream(Files.newOutputStream(hgrm))) {
+                histogram.outputPercentileDistribution(file, 1000.0);
+            }
+        }
+
+        Path json = options.reportDir().resolve("load-test-report.json");
+        objectMapper.writeValue(json.toFile(), report);
+        out.printf("%nReport written to %s%n", json);
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((int) percentile)
+                : String.valueOf(percentile).replace('.', '_');
+    }
+
+    private static String slug(String endpoint) {
+        return endpoint.toLowerCase()
+                .replaceAll("[{}]", "")
+                .replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("(^-|-$)", "");
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
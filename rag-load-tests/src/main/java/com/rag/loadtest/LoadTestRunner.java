@@ -0,0 +1,78 @@
+package com.rag.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Entry point of {@code load-tests.jar}. Starts the local stack (unless {@code --target} points
+ * at a running gateway), runs {@link ChatScenario} from {@code --users} virtual users for the
+ * warm-up and then the measured window, and writes {@link LoadTestReport}.
+ * <p>
+ * This is a closed-loop test: each user waits for a response before sending the next request,
+ * so throughput is what the stack sustains at that concurrency and latencies do not include
+ * queueing time a fixed-rate load would add once the stack saturates.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Files.createDirectories(options.reportDir());
+
+        if (options.target() != null) {
+            run(options, options.target());
+            return;
+        }
+        try (LocalStack stack = LocalStack.start(options)) {
+            run(options, stack.gatewayUrl());
+        }
+    }
+
+    private static void run(LoadTestOptions options, String target) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ChatScenario scenario = new ChatScenario(client, target, options);
+
+        System.out.printf("Running %d users against %s: %ds warm-up, %ds measured%n",
+                options.users(), target, options.warmup().toSeconds(), options.duration().toSeconds());
+
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int u = 0; u < options.users(); u++) {
+                String userId = "load-user-" + u;
+                running.add(users.submit(() -> {
+                    int iteration = 0;
+                    while (System.nanoTime() < end) {
+                        scenario.run(userId, iteration++);
+                    }
+                    return null;
+                }));
+            }
+
+            Thread.sleep(Duration.ofNanos(Math.max(0, measureFrom - System.nanoTime())));
+            scenario.stats().values().forEach(EndpointStats::reset);
+            long measuredStart = System.nanoTime();
+
+            for (Future<?> user : running) {
+                user.get();
+            }
+            Duration measured = Duration.ofNanos(System.nanoTime() - measuredStart);
+
+            LoadTestReport.write(options, target, measured, scenario.stats().values(), System.out);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.rag.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+
+/**
+ * The {@code docker-compose.yml} topology without Docker: embedded Postgres and Redis in this
+ * JVM, chat-storage and the gateway as child processes configured from {@code rag-config-repo}
+ * (the same files the config server serves), with only hosts, ports and keys overridden.
+ */
+final class LocalStack implements AutoCloseable {
+
+    private static final String INTERNAL_KEY = "load-test-internal-key";
+
+    private EmbeddedPostgres postgres;
+    private RedisServer redis;
+    private ServiceProcess chatStorage;
+    private ServiceProcess gateway;
+    private int gatewayPort;
+
+    static LocalStack start(LoadTestOptions options) throws Exception {
+        LocalStack stack = new LocalStack();
+        try {
+            stack.startAll(options);
+            return stack;
+        } catch (Exception e) {
+            stack.close();
+            throw e;
+        }
+    }
+
+    String gatewayUrl() {
+        return "http://localhost:" + gatewayPort;
+    }
+
+    private void startAll(LoadTestOptions options) throws Exception {
+        postgres = EmbeddedPostgres.start();
+
+        int redisPort = freePort();
+        redis = new RedisServer(redisPort);
+        redis.start();
+
+        int chatStoragePort = freePort();
+        System.out.println("Starting rag-chat-storage on port " + chatStoragePort);
+        chatStorage = ServiceProcess.start("rag-chat-storage", options.chatStorageJar(), options.reportDir(), List.of(
+                "--server.port=" + chatStoragePort,
+                "--spring.config.additional-location=file:" + options.configRepo().resolve("rag-chat-storage.yml"),
+                "--spring.profiles.active=local",
+                "--spring.cloud.config.enabled=false",
+                "--eureka.client.enabled=false",
+                "--logging.level.root=INFO",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--APP_INTERNAL_SERVICE_KEY=" + INTERNAL_KEY));
+        chatStorage.awaitHealthy(chatStoragePort);
+
+        gatewayPort = freePort();
+        System.out.println("Starting rag-api-gateway on port " + gatewayPort);
+        gateway = ServiceProcess.start("rag-api-gateway", options.gatewayJar(), options.reportDir(), List.of(
+                "--server.port=" + gatewayPort,
+                "--spring.config.additional-location=file:" + options.configRepo().resolve("rag-api-gateway.yml"),
+                "--spring.profiles.active=local",
+                "--spring.cloud.config.enabled=false",
+                "--eureka.client.enabled=false",
+                "--logging.level.root=INFO",
+                "--spring.data.redis.host=localhost",
+                "--spring.data.redis.port=" + redisPort,
+                "--GATEWAY_API_KEY=" + options.apiKey(),
+                "--APP_INTERNAL_SERVICE_KEY=" + INTERNAL_KEY,
+                // Replaces the configured route list: same route, pointed at the local chat-storage
+                "--spring.cloud.gateway.routes[0].id=chat-storage",
+                "--spring.cloud.gateway.routes[0].uri=http://localhost:" + chatStoragePort,
+                "--spring.cloud.gateway.routes[0].predicates[0]=Path=/api/v1/**",
+                "--app.rate-limit.tiers.standard.replenish-rate=" + options.rateLimit(),
+                "--app.rate-limit.tiers.standard.burst-capacity=" + options.rateLimit() * 2));
+        gateway.awaitHealthy(gatewayPort);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (gateway != null) {
+            gateway.close();
+        }
+        if (chatStorage != null) {
+            chatStorage.close();
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}